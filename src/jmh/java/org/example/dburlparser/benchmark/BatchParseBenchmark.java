@@ -0,0 +1,58 @@
+package org.example.dburlparser.benchmark;
+
+import org.example.dburlparser.BatchParseResult;
+import org.example.dburlparser.BatchUrlParser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Scaling of {@link BatchUrlParser#parseAll(List, ForkJoinPool)} with the pool parallelism,
+ * over a mixed corpus of 100k URLs.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Dorg.slf4j.simpleLogger.defaultLogLevel=warn")
+@State(Scope.Benchmark)
+public class BatchParseBenchmark {
+    private static final int CORPUS_SIZE = 100_000;
+
+    @Param({"1", "2", "4", "8"})
+    public int parallelism;
+
+    private List<String> urls;
+    private ForkJoinPool pool;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        urls = Arrays.asList(UrlCorpus.generateMixed(CORPUS_SIZE, 11L));
+        pool = new ForkJoinPool(parallelism);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    public List<BatchParseResult> parseAll() {
+        return BatchUrlParser.parseAll(urls, pool);
+    }
+}
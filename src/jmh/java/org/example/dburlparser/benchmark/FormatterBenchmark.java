@@ -0,0 +1,97 @@
+package org.example.dburlparser.benchmark;
+
+import org.example.dburlparser.DbUrlParserFactory;
+import org.example.dburlparser.io.UrlFormatter;
+import org.example.dburlparser.model.DbConnectionInfo;
+import org.example.dburlparser.model.UrlFormat;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of writing one URL with {@link UrlFormatter}, as a config generator emitting millions of them does:
+ * into a {@code String}, a {@code byte[]} and a reused direct buffer, against {@link DbConnectionInfo#canonicalUrl()}
+ * as the {@code StringBuilder} baseline. Each invocation writes the 1024 URLs of the corpus, parsed beforehand.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Dorg.slf4j.simpleLogger.defaultLogLevel=warn")
+@State(Scope.Benchmark)
+public class FormatterBenchmark {
+    private static final int URLS = 1024;
+
+    @Param({"MYSQL", "SQLSERVER", "ORACLE_SERVICE_NAME", "ORACLE_TNS"})
+    public UrlShape shape;
+
+    @Param({"3"})
+    public int hosts;
+
+    @Param({"5"})
+    public int params;
+
+    private DbConnectionInfo[] infos;
+    private UrlFormat format;
+    private ByteBuffer buffer;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        String[] urls = UrlCorpus.generate(shape, Math.min(hosts, shape.maxHosts()), params, URLS, 42L);
+        infos = new DbConnectionInfo[URLS];
+        for (int i = 0; i < URLS; i++) {
+            infos[i] = DbUrlParserFactory.parse(urls[i]);
+        }
+        format = shape == UrlShape.ORACLE_TNS ? UrlFormat.ORACLE_TNS : UrlFormatter.defaultFormat(shape.getType());
+        buffer = ByteBuffer.allocateDirect(1 << 16);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(URLS)
+    public void formatString(Blackhole blackhole) {
+        for (DbConnectionInfo info : infos) {
+            blackhole.consume(UrlFormatter.format(info, format));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(URLS)
+    public void formatBytes(Blackhole blackhole) {
+        for (DbConnectionInfo info : infos) {
+            blackhole.consume(UrlFormatter.formatBytes(info, format));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(URLS)
+    public int formatToDirectBuffer() {
+        int written = 0;
+        for (DbConnectionInfo info : infos) {
+            buffer.clear();
+            written += UrlFormatter.formatTo(buffer, info, format);
+        }
+        return written;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(URLS)
+    public void canonicalUrl(Blackhole blackhole) {
+        for (DbConnectionInfo info : infos) {
+            blackhole.consume(info.canonicalUrl());
+        }
+    }
+}
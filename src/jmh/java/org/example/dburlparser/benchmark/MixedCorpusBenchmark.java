@@ -0,0 +1,72 @@
+package org.example.dburlparser.benchmark;
+
+import org.example.dburlparser.DbUrlParserFactory;
+import org.example.dburlparser.metrics.ParseInstrumentation;
+import org.example.dburlparser.metrics.ParseMetricsRegistry;
+import org.example.dburlparser.model.DbConnectionInfo;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-to-end factory dispatch and parse over a randomised corpus that mixes every URL shape,
+ * with 1&ndash;50 hosts and 0&ndash;40 query parameters per URL.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Dorg.slf4j.simpleLogger.defaultLogLevel=warn")
+@State(Scope.Thread)
+public class MixedCorpusBenchmark {
+    private static final int CORPUS_SIZE = 4096;
+
+    /**
+     * Whether a {@link ParseMetricsRegistry} is attached, to measure the instrumentation overhead.
+     */
+    @Param({"false", "true"})
+    public boolean metrics;
+
+    private String[] urls;
+    private int cursor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        urls = UrlCorpus.generateMixed(CORPUS_SIZE, 7L);
+        ParseInstrumentation.setListener(metrics ? new ParseMetricsRegistry() : null);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        ParseInstrumentation.setListener(null);
+    }
+
+    private String nextUrl() {
+        String url = urls[cursor];
+        cursor = (cursor + 1) & (CORPUS_SIZE - 1);
+        return url;
+    }
+
+    @Benchmark
+    public DbConnectionInfo factoryGetParserAndParse() {
+        String url = nextUrl();
+        return DbUrlParserFactory.getParser(url).parse(url);
+    }
+
+    @Benchmark
+    public DbConnectionInfo factoryParse() {
+        return DbUrlParserFactory.parse(nextUrl());
+    }
+}
@@ -0,0 +1,118 @@
+package org.example.dburlparser.benchmark;
+
+import org.example.dburlparser.DbUrlParserFactory;
+import org.example.dburlparser.model.DbConnectionInfo;
+import org.example.dburlparser.model.WellKnownProperty;
+import org.example.dburlparser.parser.DbUrlParser;
+import org.example.dburlparser.parser.ParseResult;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-shape parse cost: every parser and every Oracle format, for a grid of host and parameter counts.
+ * <p>
+ * Run with {@code java -jar target/benchmarks.jar ParserBenchmark -prof gc} to get
+ * {@code gc.alloc.rate.norm} (bytes/op) next to throughput and average latency.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Dorg.slf4j.simpleLogger.defaultLogLevel=warn")
+@State(Scope.Thread)
+public class ParserBenchmark {
+    private static final int CORPUS_SIZE = 1024;
+
+    @Param({"MYSQL", "CASSANDRA", "ORACLE_SID", "ORACLE_SERVICE_NAME", "ORACLE_TNS"})
+    public UrlShape shape;
+
+    @Param({"1", "8", "50"})
+    public int hosts;
+
+    @Param({"0", "10", "40"})
+    public int params;
+
+    private DbUrlParser parser;
+    private String[] urls;
+    private byte[][] asciiUrls;
+    private int cursor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        parser = shape.newParser();
+        urls = UrlCorpus.generate(shape, hosts, params, CORPUS_SIZE, 42L);
+        asciiUrls = new byte[CORPUS_SIZE][];
+        for (int i = 0; i < CORPUS_SIZE; i++) {
+            asciiUrls[i] = urls[i].getBytes(StandardCharsets.US_ASCII);
+        }
+    }
+
+    private String nextUrl() {
+        String url = urls[cursor];
+        cursor = (cursor + 1) & (CORPUS_SIZE - 1);
+        return url;
+    }
+
+    @Benchmark
+    public DbConnectionInfo parse() {
+        return parser.parse(nextUrl());
+    }
+
+    @Benchmark
+    public ParseResult tryParse() {
+        return parser.tryParse(nextUrl());
+    }
+
+    /**
+     * Parses straight from ASCII bytes, as read from a network frame or record payload.
+     */
+    @Benchmark
+    public DbConnectionInfo parseAsciiBytes() {
+        byte[] url = asciiUrls[cursor];
+        cursor = (cursor + 1) & (CORPUS_SIZE - 1);
+        return parser.parse(url, 0, url.length);
+    }
+
+    /**
+     * Parses and reads the properties the way a pool does at setup: forces the map and reads typed values.
+     */
+    @Benchmark
+    public int parseAndReadProperties() {
+        DbConnectionInfo info = parser.parse(nextUrl());
+        return info.properties().size()
+                + (info.getBoolean(WellKnownProperty.USE_SSL, false) ? 1 : 0)
+                + info.getInt(WellKnownProperty.DEFAULT_ROW_PREFETCH, 0);
+    }
+
+    /**
+     * Parse plus 64-bit fingerprint, the per-URL cost of building a dedup index.
+     */
+    @Benchmark
+    public long parseAndFingerprint() {
+        return parser.parse(nextUrl()).fingerprint();
+    }
+
+    @Benchmark
+    public DbConnectionInfo factoryGetParserAndParse() {
+        String url = nextUrl();
+        return DbUrlParserFactory.getParser(url).parse(url);
+    }
+
+    @Benchmark
+    public DbConnectionInfo factoryParse() {
+        return DbUrlParserFactory.parse(nextUrl());
+    }
+}
@@ -0,0 +1,66 @@
+package org.example.dburlparser.benchmark;
+
+import org.example.dburlparser.DbUrlParserFactory;
+import org.example.dburlparser.IncrementalParser;
+import org.example.dburlparser.ParsedUrl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of a configuration reload of a fleet of 10k MySQL URLs with 8 hosts and 10 parameters when
+ * {@code changedPercent} of them gained a property, as when a timeout is tuned:
+ * {@link IncrementalParser#reload} against parsing every URL again.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Dorg.slf4j.simpleLogger.defaultLogLevel=warn")
+@State(Scope.Benchmark)
+public class ReloadBenchmark {
+    private static final int FLEET_SIZE = 10_000;
+
+    @Param({"0", "1", "10"})
+    public int changedPercent;
+
+    private Map<Integer, ParsedUrl> previous;
+    private Map<Integer, String> next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        String[] fleet = UrlCorpus.generate(UrlShape.MYSQL, 8, 10, FLEET_SIZE, 17L);
+        previous = new HashMap<>();
+        next = new HashMap<>();
+        int changed = FLEET_SIZE * changedPercent / 100;
+        for (int i = 0; i < FLEET_SIZE; i++) {
+            previous.put(i, ParsedUrl.parse(fleet[i]));
+            // Copies, so that unchanged URLs are compared by content rather than found identical.
+            next.put(i, i < changed ? fleet[i] + "&connectTimeout=5000" : new String(fleet[i]));
+        }
+    }
+
+    @Benchmark
+    public IncrementalParser.Reload<Integer> reload() {
+        return IncrementalParser.reload(previous, next);
+    }
+
+    @Benchmark
+    public void parseAll(Blackhole blackhole) {
+        next.forEach((name, url) -> blackhole.consume(DbUrlParserFactory.tryParse(url)));
+    }
+}
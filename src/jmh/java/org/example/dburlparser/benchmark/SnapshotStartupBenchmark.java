@@ -0,0 +1,115 @@
+package org.example.dburlparser.benchmark;
+
+import org.example.dburlparser.DbUrlParserFactory;
+import org.example.dburlparser.io.ParseSnapshot;
+import org.example.dburlparser.model.DbConnectionInfo;
+import org.example.dburlparser.model.HostInfo;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Startup cost of resolving a service's 5000 datasource URLs: parsing every one of them against
+ * {@link ParseSnapshot#warmStart} with a snapshot from the previous run, which reads the file and decodes the
+ * stored results. {@code datasource} URLs have 2 MySQL hosts and 8 parameters; {@code mixed} is the
+ * 1&ndash;50 host, 0&ndash;40 parameter corpus of every shape.
+ * <p>
+ * By default each fork times a single call, as a restarted process makes it: the snapshot is written by a
+ * separate JVM so that nothing is compiled before the measurement. For the steady-state cost instead, run with
+ * {@code -bm avgt -wi 5 -i 5}.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Fork(value = 10, jvmArgsAppend = "-Dorg.slf4j.simpleLogger.defaultLogLevel=warn")
+@State(Scope.Benchmark)
+public class SnapshotStartupBenchmark {
+    private static final int FLEET_SIZE = 5_000;
+
+    @Param({"datasource", "mixed"})
+    public String corpus;
+
+    private List<String> urls;
+    private Path directory;
+    private Path snapshot;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException, InterruptedException {
+        urls = fleet(corpus);
+        directory = Files.createTempDirectory("snapshot-benchmark");
+        snapshot = directory.resolve("urls.snapshot");
+        Process writer = new ProcessBuilder(Path.of(System.getProperty("java.home"), "bin", "java").toString(),
+                "-cp", System.getProperty("java.class.path"), SnapshotStartupBenchmark.class.getName(),
+                corpus, snapshot.toString())
+                .inheritIO()
+                .start();
+        if (writer.waitFor() != 0 || !Files.exists(snapshot)) {
+            throw new IllegalStateException("Could not write " + snapshot);
+        }
+    }
+
+    /**
+     * Writes the snapshot of {@code args[0]}'s fleet to {@code args[1]}: the previous run of the service.
+     */
+    public static void main(String[] args) throws IOException {
+        ParseSnapshot.warmStart(Path.of(args[1]), fleet(args[0]));
+    }
+
+    private static List<String> fleet(String corpus) {
+        return List.of(corpus.equals("mixed") ? UrlCorpus.generateMixed(FLEET_SIZE, 7L)
+                : UrlCorpus.generate(UrlShape.MYSQL, 2, 8, FLEET_SIZE, 7L));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(snapshot);
+        Files.deleteIfExists(directory);
+    }
+
+    @Benchmark
+    public void coldParse(Blackhole blackhole) {
+        Map<String, DbConnectionInfo> results = new LinkedHashMap<>(FLEET_SIZE * 4 / 3 + 1);
+        for (String url : urls) {
+            results.put(url, DbUrlParserFactory.parse(url));
+        }
+        configurePools(results, blackhole);
+    }
+
+    @Benchmark
+    public void snapshotLoad(Blackhole blackhole) throws IOException {
+        configurePools(ParseSnapshot.warmStart(snapshot, urls), blackhole);
+    }
+
+    /**
+     * Reads every host and property, as creating the connection pools does; the parsers' lazy host and
+     * property views are only decoded here.
+     */
+    private static void configurePools(Map<String, DbConnectionInfo> results, Blackhole blackhole) {
+        for (DbConnectionInfo info : results.values()) {
+            for (HostInfo host : info.hosts()) {
+                blackhole.consume(host.port());
+            }
+            info.properties().forEach((key, value) -> blackhole.consume(value));
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package org.example.dburlparser.benchmark;
+
+import org.example.dburlparser.DbUrlParserFactory;
+import org.example.dburlparser.UrlTemplate;
+import org.example.dburlparser.model.DbConnectionInfo;
+import org.example.dburlparser.model.HostInfo;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of deriving one tenant's connection from a URL template: {@link UrlTemplate#bind} against rendering the
+ * URL and parsing it. {@code tenant} is {@code jdbc:mysql://${shard}.db:3306/${tenant}?useSSL=true}; {@code wide}
+ * adds 8 static hosts and 10 static parameters around the same two placeholders. Both read every host and
+ * property, as creating the tenant's connection pool does.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Dorg.slf4j.simpleLogger.defaultLogLevel=warn")
+@State(Scope.Benchmark)
+public class TemplateBenchmark {
+    private static final int TENANTS = 1024;
+
+    @Param({"tenant", "wide"})
+    public String shape;
+
+    private UrlTemplate template;
+    private String[][] values;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        String text = "jdbc:mysql://${shard}.db:3306/${tenant}?useSSL=true";
+        if (shape.equals("wide")) {
+            String wide = UrlCorpus.generate(UrlShape.MYSQL, 8, 10, 1, 3L)[0];
+            int query = wide.indexOf('?');
+            int database = wide.indexOf('/', UrlShape.MYSQL.getType().getPrefix().length());
+            text = wide.substring(0, database) + ",${shard}.db:3306/${tenant}?" + wide.substring(query + 1)
+                    + "&useSSL=true";
+        }
+        template = UrlTemplate.compile(text);
+        values = new String[TENANTS][];
+        for (int i = 0; i < TENANTS; i++) {
+            values[i] = new String[]{"shard" + i % 16, "tenant_" + i};
+        }
+    }
+
+    @Benchmark
+    public void renderAndParse(Blackhole blackhole) {
+        configurePool(DbUrlParserFactory.parse(template.url(nextValues())), blackhole);
+    }
+
+    @Benchmark
+    public void bind(Blackhole blackhole) {
+        configurePool(template.bind(nextValues()), blackhole);
+    }
+
+    private String[] nextValues() {
+        return values[next++ & (TENANTS - 1)];
+    }
+
+    private static void configurePool(DbConnectionInfo info, Blackhole blackhole) {
+        for (HostInfo host : info.hosts()) {
+            blackhole.consume(host.host());
+        }
+        blackhole.consume(info.database());
+        info.properties().forEach((key, value) -> blackhole.consume(value));
+    }
+}
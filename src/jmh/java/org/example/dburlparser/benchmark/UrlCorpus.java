@@ -0,0 +1,141 @@
+package org.example.dburlparser.benchmark;
+
+import java.util.SplittableRandom;
+
+/**
+ * Deterministic generator of realistic database URLs for the benchmarks.
+ */
+public final class UrlCorpus {
+    public static final int MIN_HOSTS = 1;
+    public static final int MAX_HOSTS = 50;
+    public static final int MIN_PARAMS = 0;
+    public static final int MAX_PARAMS = 40;
+
+    private static final String[] PARAM_KEYS = {
+            "user", "password", "useSSL", "requireSSL", "serverTimezone", "characterEncoding",
+            "autoReconnect", "connectTimeout", "socketTimeout", "rewriteBatchedStatements",
+            "cachePrepStmts", "prepStmtCacheSize", "prepStmtCacheSqlLimit", "useServerPrepStmts",
+            "consistency", "localDatacenter", "loadBalancing", "readTimeoutMillis", "compression",
+            "fetchSize", "ReadTimeout", "V8Compatible", "oracle.net.CONNECT_TIMEOUT", "TcpNoDelay",
+            "defaultRowPrefetch", "autoCommitSpecCompliant", "useFetchSizeWithLongColumn",
+            "loadBalanceHosts", "loadBalanceStrategy", "zeroDateTimeBehavior"
+    };
+    private static final String[] PARAM_VALUES = {
+            "true", "false", "UTC", "UTF-8", "5000", "30000", "QUORUM", "LOCAL_ONE", "RoundRobin",
+            "datacenter1", "snappy", "random", "CONVERT_TO_NULL", "250", "2048"
+    };
+
+    private UrlCorpus() {
+    }
+
+    /**
+     * Generates {@code count} distinct URLs of the given shape, each with exactly
+     * {@code hosts} hosts (capped by the shape) and {@code params} query parameters.
+     */
+    public static String[] generate(UrlShape shape, int hosts, int params, int count, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        String[] urls = new String[count];
+        for (int i = 0; i < count; i++) {
+            urls[i] = url(shape, Math.min(hosts, shape.maxHosts()), params, random);
+        }
+        return urls;
+    }
+
+    /**
+     * Generates a mixed corpus across every shape with 1&ndash;50 hosts and 0&ndash;40 parameters per URL.
+     */
+    public static String[] generateMixed(int count, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        UrlShape[] shapes = UrlShape.values();
+        String[] urls = new String[count];
+        for (int i = 0; i < count; i++) {
+            UrlShape shape = shapes[random.nextInt(shapes.length)];
+            int hosts = Math.min(random.nextInt(MIN_HOSTS, MAX_HOSTS + 1), shape.maxHosts());
+            int params = random.nextInt(MIN_PARAMS, MAX_PARAMS + 1);
+            urls[i] = url(shape, hosts, params, random);
+        }
+        return urls;
+    }
+
+    public static String url(UrlShape shape, int hosts, int params, SplittableRandom random) {
+        StringBuilder sb = new StringBuilder(64 + hosts * 32 + params * 24);
+        sb.append(shape.getType().getPrefix());
+        switch (shape) {
+            case MYSQL, CASSANDRA, POSTGRESQL, MONGODB -> {
+                appendHostList(sb, hosts, random);
+                sb.append('/').append(databaseName(random));
+            }
+            case SQLSERVER -> {
+                appendHostList(sb, hosts, random);
+                sb.append(";databaseName=").append(databaseName(random));
+                appendProperties(sb, params, ';', ';', random);
+                return sb.toString();
+            }
+            case ORACLE_SID -> {
+                appendHostName(sb, random);
+                sb.append(':').append(port(random)).append(':').append(databaseName(random));
+            }
+            case ORACLE_SERVICE_NAME -> {
+                sb.append("//");
+                appendHostList(sb, hosts, random);
+                sb.append('/').append(databaseName(random));
+            }
+            case ORACLE_TNS -> appendTnsDescriptor(sb, hosts, random);
+        }
+        appendProperties(sb, params, '?', '&', random);
+        return sb.toString();
+    }
+
+    private static void appendHostList(StringBuilder sb, int hosts, SplittableRandom random) {
+        for (int i = 0; i < hosts; i++) {
+            if (i > 0) {
+                sb.append(',');
+            }
+            appendHostName(sb, random);
+            // Roughly a quarter of the hosts rely on the default port.
+            if (random.nextInt(4) != 0) {
+                sb.append(':').append(port(random));
+            }
+        }
+    }
+
+    private static void appendTnsDescriptor(StringBuilder sb, int hosts, SplittableRandom random) {
+        sb.append("(DESCRIPTION=");
+        if (hosts > 1) {
+            sb.append("(FAILOVER=on)(LOAD_BALANCE=on)(ADDRESS_LIST=");
+        }
+        for (int i = 0; i < hosts; i++) {
+            sb.append("(ADDRESS=(PROTOCOL=TCP)(HOST=");
+            appendHostName(sb, random);
+            sb.append(")(PORT=").append(port(random)).append("))");
+        }
+        if (hosts > 1) {
+            sb.append(')');
+        }
+        sb.append("(CONNECT_DATA=(SERVICE_NAME=").append(databaseName(random)).append(")))");
+    }
+
+    private static void appendProperties(StringBuilder sb, int params, char start, char separator,
+                                         SplittableRandom random) {
+        for (int i = 0; i < params; i++) {
+            sb.append(i == 0 ? start : separator)
+                    .append(PARAM_KEYS[i % PARAM_KEYS.length]);
+            if (i >= PARAM_KEYS.length) {
+                sb.append(i / PARAM_KEYS.length);
+            }
+            sb.append('=').append(PARAM_VALUES[random.nextInt(PARAM_VALUES.length)]);
+        }
+    }
+
+    private static void appendHostName(StringBuilder sb, SplittableRandom random) {
+        sb.append("db-").append(random.nextInt(1000)).append(".prod.example.com");
+    }
+
+    private static int port(SplittableRandom random) {
+        return 1024 + random.nextInt(64_000);
+    }
+
+    private static String databaseName(SplittableRandom random) {
+        return "db_" + random.nextInt(10_000);
+    }
+}
@@ -0,0 +1,48 @@
+package org.example.dburlparser.benchmark;
+
+import org.example.dburlparser.model.DbType;
+import org.example.dburlparser.parser.DbUrlParser;
+import org.example.dburlparser.parser.grammar.Dialects;
+import org.example.dburlparser.parser.grammar.GrammarUrlParser;
+import org.example.dburlparser.parser.impl.nosql.CassandraUrlParser;
+import org.example.dburlparser.parser.impl.sql.BaseUrlParser;
+import org.example.dburlparser.parser.impl.sql.OracleUrlParser;
+
+import java.util.function.Supplier;
+
+/**
+ * URL layouts covered by the benchmarks, one per parser code path.
+ */
+public enum UrlShape {
+    MYSQL(DbType.MYSQL, BaseUrlParser::new),
+    CASSANDRA(DbType.CASSANDRA, CassandraUrlParser::new),
+    ORACLE_SID(DbType.ORACLE, OracleUrlParser::new),
+    ORACLE_SERVICE_NAME(DbType.ORACLE, OracleUrlParser::new),
+    ORACLE_TNS(DbType.ORACLE, OracleUrlParser::new),
+    POSTGRESQL(DbType.POSTGRESQL, () -> new GrammarUrlParser(Dialects.POSTGRESQL)),
+    SQLSERVER(DbType.SQLSERVER, () -> new GrammarUrlParser(Dialects.SQLSERVER)),
+    MONGODB(DbType.MONGODB, () -> new GrammarUrlParser(Dialects.MONGODB));
+
+    private final DbType type;
+    private final Supplier<DbUrlParser> parserSupplier;
+
+    UrlShape(DbType type, Supplier<DbUrlParser> parserSupplier) {
+        this.type = type;
+        this.parserSupplier = parserSupplier;
+    }
+
+    public DbType getType() {
+        return type;
+    }
+
+    public DbUrlParser newParser() {
+        return parserSupplier.get();
+    }
+
+    /**
+     * The Oracle SID and SQL Server formats only carry a single host, every other shape accepts a host list.
+     */
+    public int maxHosts() {
+        return this == ORACLE_SID || this == SQLSERVER ? 1 : Integer.MAX_VALUE;
+    }
+}
@@ -0,0 +1,36 @@
+package org.example.dburlparser;
+
+import org.example.dburlparser.model.DbConnectionInfo;
+import org.example.dburlparser.parser.ParseResult;
+
+/**
+ * Outcome of parsing one URL of a batch: the {@link ParseResult} of {@code url}, so that a failure keeps its
+ * {@link org.example.dburlparser.model.ParseErrorCode} and offset.
+ */
+public record BatchParseResult(String url, ParseResult result) {
+
+    public boolean isSuccess() {
+        return result.isSuccess();
+    }
+
+    /**
+     * Returns the parsed info, or {@code null} if the URL was rejected.
+     */
+    public DbConnectionInfo info() {
+        return result instanceof ParseResult.Success success ? success.info() : null;
+    }
+
+    /**
+     * Returns why the URL was rejected, or {@code null} if it was parsed.
+     */
+    public ParseResult.Failure failure() {
+        return result instanceof ParseResult.Failure failure ? failure : null;
+    }
+
+    /**
+     * Returns the failure message, or {@code null} if the URL was parsed.
+     */
+    public String error() {
+        return result instanceof ParseResult.Failure failure ? failure.message() : null;
+    }
+}
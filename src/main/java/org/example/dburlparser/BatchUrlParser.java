@@ -0,0 +1,85 @@
+package org.example.dburlparser;
+
+import org.example.dburlparser.model.ParseErrorCode;
+import org.example.dburlparser.parser.ParseResult;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.stream.Stream;
+
+/**
+ * Parses large URL inventories in parallel on top of {@link DbUrlParserFactory}.
+ * <p>
+ * Results keep the input order and a URL that fails to parse produces a failed {@link BatchParseResult}
+ * instead of aborting the batch.
+ */
+public class BatchUrlParser {
+    private static final int SEQUENTIAL_THRESHOLD = 512;
+
+    private BatchUrlParser() {
+    }
+
+    /**
+     * Parses {@code urls} on the common {@link ForkJoinPool}.
+     */
+    public static List<BatchParseResult> parseAll(List<String> urls) {
+        return parseAll(urls, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Parses {@code urls} on {@code pool}, splitting the list into index ranges that are parsed in place.
+     */
+    public static List<BatchParseResult> parseAll(List<String> urls, ForkJoinPool pool) {
+        String[] input = urls.toArray(new String[0]);
+        BatchParseResult[] results = new BatchParseResult[input.length];
+        pool.invoke(new ParseRange(input, results, 0, input.length));
+        return Collections.unmodifiableList(Arrays.asList(results));
+    }
+
+    /**
+     * Parses {@code urls} lazily as a parallel stream. Encounter order is preserved for ordered sources
+     * and terminal operations such as {@code toList()} or {@code forEachOrdered}.
+     */
+    public static Stream<BatchParseResult> parseAll(Stream<String> urls) {
+        return urls.parallel().map(BatchUrlParser::parseOne);
+    }
+
+    static BatchParseResult parseOne(String url) {
+        try {
+            return new BatchParseResult(url, DbUrlParserFactory.tryParse(url));
+        } catch (RuntimeException e) {
+            // Not a parse failure, e.g. a null URL.
+            return new BatchParseResult(url,
+                    ParseResult.failure(ParseErrorCode.UNKNOWN, String.valueOf(e.getMessage()), 0));
+        }
+    }
+
+    private static final class ParseRange extends RecursiveAction {
+        private final String[] input;
+        private final BatchParseResult[] results;
+        private final int from;
+        private final int to;
+
+        private ParseRange(String[] input, BatchParseResult[] results, int from, int to) {
+            this.input = input;
+            this.results = results;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= SEQUENTIAL_THRESHOLD) {
+                for (int i = from; i < to; i++) {
+                    results[i] = parseOne(input[i]);
+                }
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new ParseRange(input, results, from, middle), new ParseRange(input, results, middle, to));
+        }
+    }
+}
@@ -1,18 +1,109 @@
 package org.example.dburlparser;
 
+import org.example.dburlparser.metrics.ParseInstrumentation;
+import org.example.dburlparser.metrics.ParseListener;
+import org.example.dburlparser.model.DbConnectionInfo;
 import org.example.dburlparser.model.DbType;
-import org.example.dburlparser.parser.impl.nosql.CassandraUrlParser;
+import org.example.dburlparser.model.ParseErrorCode;
+import org.example.dburlparser.model.UrlFormat;
+import org.example.dburlparser.parser.AsciiSequence;
 import org.example.dburlparser.parser.DbUrlParser;
+import org.example.dburlparser.parser.ParseResult;
+import org.example.dburlparser.parser.grammar.Dialects;
+import org.example.dburlparser.parser.grammar.GrammarUrlParser;
+import org.example.dburlparser.parser.grammar.UrlGrammar;
+import org.example.dburlparser.parser.impl.nosql.CassandraUrlParser;
 import org.example.dburlparser.parser.impl.sql.BaseUrlParser;
 import org.example.dburlparser.parser.impl.sql.OracleUrlParser;
 
+import java.nio.ByteBuffer;
+
 public class DbUrlParserFactory {
-    public static DbUrlParser getParser(String url) {
-        return switch (DbType.getDbType(url)) {
-            case MYSQL -> new BaseUrlParser();
-            case CASSANDRA -> new CassandraUrlParser();
-            case ORACLE -> new OracleUrlParser();
-            default -> throw new IllegalArgumentException("Unsupported database type.");
-        };
+    private static final String UNSUPPORTED_TYPE_MESSAGE = "Unsupported database type.";
+    private static final ParseResult.Failure UNSUPPORTED_TYPE =
+            ParseResult.failure(ParseErrorCode.UNSUPPORTED_TYPE, UNSUPPORTED_TYPE_MESSAGE, 0);
+
+    // Parsers are stateless, so one shared instance per type serves every caller and thread.
+    private static final DbUrlParser[] PARSERS = new DbUrlParser[DbType.values().length];
+
+    static {
+        for (UrlGrammar grammar : Dialects.all()) {
+            PARSERS[grammar.type().ordinal()] = new GrammarUrlParser(grammar);
+        }
+        // The dialects that had their own parser class keep returning it.
+        PARSERS[DbType.MYSQL.ordinal()] = new BaseUrlParser();
+        PARSERS[DbType.CASSANDRA.ordinal()] = new CassandraUrlParser();
+        // Aliases resolve through $TNS_ADMIN/tnsnames.ora, as the Oracle driver does, when one is configured;
+        // the file is only read on the first URL that could be an alias.
+        PARSERS[DbType.ORACLE.ordinal()] = OracleUrlParser.fromTnsAdmin();
+    }
+
+    public static DbUrlParser getParser(CharSequence url) {
+        return getParser(DbType.getDbType(url));
+    }
+
+    public static DbUrlParser getParser(DbType type) {
+        DbUrlParser parser = PARSERS[type.ordinal()];
+        if (parser == null) {
+            throw UNSUPPORTED_TYPE.toException();
+        }
+        return parser;
+    }
+
+    /**
+     * Detects the database type of {@code url} and parses it with the shared parser for that type.
+     *
+     * @throws IllegalArgumentException if the type is unsupported or the URL is malformed
+     */
+    public static DbConnectionInfo parse(CharSequence url) {
+        return tryParse(url).orElseThrow();
+    }
+
+    /**
+     * {@link #parse(CharSequence)} over the ASCII bytes {@code ascii[off, off + len)} without decoding them.
+     */
+    public static DbConnectionInfo parse(byte[] ascii, int off, int len) {
+        return tryParse(ascii, off, len).orElseThrow();
+    }
+
+    /**
+     * {@link #parse(CharSequence)} over the ASCII bytes between the buffer's position and limit.
+     */
+    public static DbConnectionInfo parse(ByteBuffer ascii) {
+        return tryParse(ascii).orElseThrow();
+    }
+
+    /**
+     * Like {@link #parse(CharSequence)}, but reports an unsupported type or malformed URL as a
+     * {@link ParseResult.Failure} instead of throwing.
+     */
+    public static ParseResult tryParse(CharSequence url) {
+        DbType type = DbType.getDbType(url);
+        if (type == DbType.UNKNOWN) {
+            ParseListener listener = ParseInstrumentation.listener();
+            if (listener != null) {
+                ParseInstrumentation.reject(listener, type, UrlFormat.STANDARD, url, UNSUPPORTED_TYPE);
+            }
+            return UNSUPPORTED_TYPE;
+        }
+        return getParser(type).tryParse(url);
+    }
+
+    public static ParseResult tryParse(byte[] ascii, int off, int len) {
+        return tryParse(AsciiSequence.of(ascii, off, len));
+    }
+
+    public static ParseResult tryParse(ByteBuffer ascii) {
+        return tryParse(AsciiSequence.of(ascii));
+    }
+
+    /**
+     * Parses {@code url} and returns its {@link DbConnectionInfo#fingerprint() fingerprint}, which is equal for
+     * URLs that differ only in host or parameter order or in spelling out the default port.
+     *
+     * @throws IllegalArgumentException if the type is unsupported or the URL is malformed
+     */
+    public static long fingerprint(CharSequence url) {
+        return parse(url).fingerprint();
     }
 }
@@ -0,0 +1,130 @@
+package org.example.dburlparser;
+
+import org.example.dburlparser.model.ConnectionDiff;
+import org.example.dburlparser.model.DbConnectionInfo;
+import org.example.dburlparser.parser.ParseResult;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Re-parses URLs on configuration reload and reports what changed as a {@link ConnectionDiff}, so that
+ * connection pools can apply the changes instead of being rebuilt.
+ * <p>
+ * A URL whose text is unchanged is not parsed at all. A changed URL is parsed and compared with the previous
+ * result; hosts, database and properties that did not change are taken over from the previous result, so
+ * they stay the same instances (and a URL that changed only textually yields the previous
+ * {@link DbConnectionInfo} itself). A {@link #reload} of a fleet therefore costs one string comparison per
+ * unchanged URL plus a parse and diff per changed one.
+ */
+public final class IncrementalParser {
+
+    private IncrementalParser() {
+    }
+
+    /**
+     * Parses {@code url} and compares it with {@code previous}.
+     *
+     * @throws IllegalArgumentException if {@code url} is invalid, as {@link DbUrlParserFactory#parse} does
+     */
+    public static Reparse reparse(ParsedUrl previous, String url) {
+        if (previous.url().equals(url)) {
+            return new Reparse(previous, ConnectionDiff.NONE);
+        }
+        return reparse(previous.info(), url);
+    }
+
+    /**
+     * Parses {@code url} and compares it with {@code previous}, for callers that kept only the parsed result.
+     *
+     * @throws IllegalArgumentException if {@code url} is invalid, as {@link DbUrlParserFactory#parse} does
+     */
+    public static Reparse reparse(DbConnectionInfo previous, String url) {
+        return diff(previous, url, DbUrlParserFactory.parse(url));
+    }
+
+    /**
+     * Applies a new set of named URLs, e.g. datasource name to URL, to the state of the previous reload.
+     * A name whose URL fails to parse keeps its previous state, if it had one, and is reported in
+     * {@link Reload#failed()}; it is neither added nor changed.
+     */
+    public static <K> Reload<K> reload(Map<K, ParsedUrl> previous, Map<K, String> urls) {
+        Map<K, ParsedUrl> current = new LinkedHashMap<>(Math.max(16, urls.size() * 4 / 3 + 1));
+        Map<K, ConnectionDiff> changed = new LinkedHashMap<>();
+        Set<K> added = new LinkedHashSet<>();
+        Map<K, ParseResult.Failure> failed = new LinkedHashMap<>();
+        urls.forEach((name, url) -> {
+            ParsedUrl before = previous.get(name);
+            if (before != null && before.url().equals(url)) {
+                current.put(name, before);
+                return;
+            }
+            switch (DbUrlParserFactory.tryParse(url)) {
+                case ParseResult.Success success -> {
+                    if (before == null) {
+                        current.put(name, new ParsedUrl(url, success.info()));
+                        added.add(name);
+                        return;
+                    }
+                    Reparse reparse = diff(before.info(), url, success.info());
+                    current.put(name, reparse.current());
+                    if (!reparse.diff().isEmpty()) {
+                        changed.put(name, reparse.diff());
+                    }
+                }
+                case ParseResult.Failure failure -> {
+                    failed.put(name, failure);
+                    if (before != null) {
+                        current.put(name, before);
+                    }
+                }
+            }
+        });
+        Set<K> removed = new LinkedHashSet<>();
+        for (K name : previous.keySet()) {
+            if (!urls.containsKey(name)) {
+                removed.add(name);
+            }
+        }
+        return new Reload<>(Collections.unmodifiableMap(current), Collections.unmodifiableMap(changed),
+                Collections.unmodifiableSet(added), Collections.unmodifiableSet(removed),
+                Collections.unmodifiableMap(failed));
+    }
+
+    private static Reparse diff(DbConnectionInfo previous, String url, DbConnectionInfo parsed) {
+        ConnectionDiff diff = ConnectionDiff.between(previous, parsed);
+        if (diff.isEmpty()) {
+            return new Reparse(new ParsedUrl(url, previous), diff);
+        }
+        DbConnectionInfo merged = new DbConnectionInfo(parsed.type(),
+                diff.hostsChanged() ? parsed.hosts() : previous.hosts(),
+                diff.databaseChanged() ? parsed.database() : previous.database(),
+                diff.propertiesChanged() ? parsed.properties() : previous.properties());
+        return new Reparse(new ParsedUrl(url, merged), diff);
+    }
+
+    /**
+     * The state after re-parsing one URL and its changes relative to the previous state.
+     */
+    public record Reparse(ParsedUrl current, ConnectionDiff diff) {
+    }
+
+    /**
+     * Outcome of {@link #reload}. {@code current} is the state to pass to the next reload; {@code changed} holds
+     * a non-empty diff for every name whose connection changed. Names only in {@code added} or {@code removed}
+     * have no diff.
+     */
+    public record Reload<K>(Map<K, ParsedUrl> current,
+                            Map<K, ConnectionDiff> changed,
+                            Set<K> added,
+                            Set<K> removed,
+                            Map<K, ParseResult.Failure> failed) {
+
+        public boolean isEmpty() {
+            return changed.isEmpty() && added.isEmpty() && removed.isEmpty() && failed.isEmpty();
+        }
+    }
+}
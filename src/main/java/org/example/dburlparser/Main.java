@@ -1,14 +1,45 @@
 package org.example.dburlparser;
 
+import org.example.dburlparser.io.ConfigScanner;
+import org.example.dburlparser.io.OutputFormat;
+import org.example.dburlparser.io.UrlFileParser;
 import org.example.dburlparser.model.DbConnectionInfo;
-import org.example.dburlparser.parser.DbUrlParser;
+import org.example.dburlparser.server.ParseServer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Locale;
+
 public class Main {
     private static final Logger LOGGER = LoggerFactory.getLogger(Main.class);
 
+    // Exit statuses: a usage error, as getopt-style tools report it, and a file or server failure.
+    private static final int EXIT_USAGE = 2;
+    private static final int EXIT_FAILURE = 1;
+
+    private static final String USAGE =
+            "Usage: Main [--file <urls.txt> [--format ndjson|csv] [--output <file>] | --scan <dir> [--output <file>]"
+                    + " | --serve <port>]";
+
     public static void main(String[] args) {
+        if (args.length > 0) {
+            int status = switch (args[0]) {
+                case "--serve" -> runServerMode(args);
+                case "--scan" -> runScanMode(args);
+                default -> runFileMode(args);
+            };
+            if (status != 0) {
+                System.exit(status);
+            }
+            return;
+        }
+
         String mysqlUrl = "jdbc:mysql://db1.example.com:3306,db2.example.com:3307/mydb?useSSL=true&serverTimezone=UTC&autoReconnect=true";
         String oracleUrl = "jdbc:oracle:thin:@(DESCRIPTION=(ADDRESS_LIST=(ADDRESS=(PROTOCOL=TCP)(HOST=host1)(PORT=1521))(ADDRESS=(PROTOCOL=TCP)(HOST=host2)(PORT=1521)))(CONNECT_DATA=(SERVICE_NAME=myservice)))?user=myuser&password=mypassword&ReadTimeout=30000&V8Compatible=true&oracle.net.CONNECT_TIMEOUT=5000&TcpNoDelay=true&useFetchSizeWithLongColumn=true&autoCommitSpecCompliant=false&defaultRowPrefetch=100";
         String cassandraUrl = "jdbc:cassandra://node1.example.com,node2.example.com:9043/keyspace1?consistency=QUORUM&loadBalancing=RoundRobin";
@@ -18,10 +49,109 @@ public class Main {
         parse(cassandraUrl);
     }
 
+    private static int runFileMode(String[] args) {
+        Path input = null;
+        Path output = null;
+        OutputFormat format = OutputFormat.NDJSON;
+        for (int i = 0; i < args.length; i++) {
+            String option = args[i];
+            if (i + 1 >= args.length) {
+                System.err.println(USAGE);
+                return EXIT_USAGE;
+            }
+            String value = args[++i];
+            switch (option) {
+                case "--file" -> input = Path.of(value);
+                case "--output" -> output = Path.of(value);
+                case "--format" -> format = switch (value.toLowerCase(Locale.ROOT)) {
+                    case "ndjson" -> OutputFormat.NDJSON;
+                    case "csv" -> OutputFormat.CSV;
+                    default -> null;
+                };
+                default -> {
+                    System.err.println(USAGE);
+                    return EXIT_USAGE;
+                }
+            }
+        }
+        if (input == null || format == null) {
+            System.err.println(USAGE);
+            return EXIT_USAGE;
+        }
+
+        try {
+            UrlFileParser.Summary summary;
+            if (output == null) {
+                summary = UrlFileParser.parse(input, format, Channels.newChannel(System.out));
+            } else {
+                try (FileChannel channel = FileChannel.open(output, StandardOpenOption.CREATE,
+                        StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                    summary = UrlFileParser.parse(input, format, channel);
+                }
+            }
+            System.err.println(summary);
+            return 0;
+        } catch (IOException e) {
+            System.err.println(e.getMessage());
+            LOGGER.error("Failed to parse URL file", e);
+            return EXIT_FAILURE;
+        }
+    }
+
+    private static int runScanMode(String[] args) {
+        if (args.length != 2 && !(args.length == 4 && args[2].equals("--output"))) {
+            System.err.println(USAGE);
+            return EXIT_USAGE;
+        }
+        Path root = Path.of(args[1]);
+        try {
+            ConfigScanner.Summary summary;
+            if (args.length == 2) {
+                summary = ConfigScanner.report(root, Channels.newChannel(System.out));
+            } else {
+                try (FileChannel channel = FileChannel.open(Path.of(args[3]), StandardOpenOption.CREATE,
+                        StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                    summary = ConfigScanner.report(root, channel);
+                }
+            }
+            System.err.println(summary);
+            return 0;
+        } catch (IOException e) {
+            System.err.println(e.getMessage());
+            LOGGER.error("Failed to scan configuration files", e);
+            return EXIT_FAILURE;
+        }
+    }
+
+    private static int runServerMode(String[] args) {
+        int port;
+        try {
+            port = args.length == 2 ? Integer.parseInt(args[1]) : -1;
+        } catch (NumberFormatException e) {
+            port = -1;
+        }
+        if (port < 0 || port > 65535) {
+            System.err.println(USAGE);
+            return EXIT_USAGE;
+        }
+
+        // Responses are flushed in two writes; without TCP_NODELAY each one waits for the client's delayed ACK.
+        System.getProperties().putIfAbsent("sun.net.httpserver.nodelay", "true");
+        try {
+            ParseServer server = ParseServer.start(new InetSocketAddress(port));
+            Runtime.getRuntime().addShutdownHook(new Thread(server::close));
+            System.err.println("Listening on port " + server.port() + ": GET /parse?url=..., POST /parse, POST /batch");
+            return 0;
+        } catch (IOException e) {
+            System.err.println(e.getMessage());
+            LOGGER.error("Failed to start server", e);
+            return EXIT_FAILURE;
+        }
+    }
+
     private static void parse(String url) {
         try {
-            DbUrlParser parser = DbUrlParserFactory.getParser(url);
-            DbConnectionInfo connectionInfo = parser.parse(url);
+            DbConnectionInfo connectionInfo = DbUrlParserFactory.parse(url);
             System.out.println(connectionInfo);
         } catch (Exception e) {
             System.out.println(e.getMessage());
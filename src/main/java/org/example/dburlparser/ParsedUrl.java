@@ -0,0 +1,24 @@
+package org.example.dburlparser;
+
+import org.example.dburlparser.model.DbConnectionInfo;
+
+import java.util.Objects;
+
+/**
+ * A URL together with what it parsed to: the state {@link IncrementalParser} keeps between reloads, so an
+ * unchanged URL is recognised from its text without being parsed again.
+ */
+public record ParsedUrl(String url, DbConnectionInfo info) {
+
+    public ParsedUrl {
+        Objects.requireNonNull(url);
+        Objects.requireNonNull(info);
+    }
+
+    /**
+     * @throws IllegalArgumentException if {@code url} is invalid, as {@link DbUrlParserFactory#parse} does
+     */
+    public static ParsedUrl parse(String url) {
+        return new ParsedUrl(url, DbUrlParserFactory.parse(url));
+    }
+}
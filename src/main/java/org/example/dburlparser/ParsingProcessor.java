@@ -0,0 +1,237 @@
+package org.example.dburlparser;
+
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * {@link Flow.Processor} that parses a stream of URLs into {@link BatchParseResult}s, for pipelines where URLs
+ * arrive over time and a slow consumer has to be able to throttle the producer.
+ * <p>
+ * At most {@code window} URLs are requested from upstream beyond what the subscriber has received, so a
+ * subscriber that stops requesting stops the producer once the window is full. Results are delivered in
+ * input order and never beyond the subscriber's demand. A URL that fails to parse produces a failed result
+ * like {@link BatchUrlParser} does; the stream itself only fails if upstream does, after the results before
+ * the error are delivered.
+ * <p>
+ * Without an executor URLs are parsed on the thread calling {@link #onNext}. With one, each URL is parsed as
+ * a separate task, so up to {@code window} URLs are parsed concurrently and results are re-ordered in a ring
+ * of {@code window} slots. A task the executor rejects is parsed on the calling thread instead.
+ * <p>
+ * The processor accepts a single subscriber, and is meant to be subscribed to a single upstream publisher.
+ */
+public class ParsingProcessor implements Flow.Processor<String, BatchParseResult> {
+    private static final Flow.Subscription CANCELLED = new Flow.Subscription() {
+        @Override
+        public void request(long n) {
+        }
+
+        @Override
+        public void cancel() {
+        }
+    };
+
+    private final Executor executor;
+    private final int window;
+    private final int replenish;
+    private final AtomicReferenceArray<BatchParseResult> slots;
+    private final AtomicLong demand = new AtomicLong();
+    private final AtomicInteger wip = new AtomicInteger();
+
+    private volatile Flow.Subscription upstream;
+    private volatile Flow.Subscriber<? super BatchParseResult> downstream;
+    private volatile boolean cancelled;
+    private volatile boolean done;
+    private volatile Throwable error;
+    private volatile Throwable invalidRequest;
+    private volatile long received;
+
+    // Only accessed by the thread that holds the drain loop.
+    private long emitted;
+    private long requested;
+    private boolean terminated;
+
+    /**
+     * Parses on the upstream thread with a window of {@link Flow#defaultBufferSize()}.
+     */
+    public ParsingProcessor() {
+        this(null, Flow.defaultBufferSize());
+    }
+
+    /**
+     * @param executor runs one parse task per URL, or {@code null} to parse on the upstream thread
+     * @param window   maximum number of URLs requested from upstream and not yet delivered downstream
+     */
+    public ParsingProcessor(Executor executor, int window) {
+        if (window <= 0) {
+            throw new IllegalArgumentException("Window must be positive: " + window);
+        }
+        this.executor = executor;
+        this.window = window;
+        this.replenish = Math.max(1, window / 2);
+        this.slots = new AtomicReferenceArray<>(window);
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super BatchParseResult> subscriber) {
+        Objects.requireNonNull(subscriber);
+        boolean first;
+        synchronized (this) {
+            first = downstream == null;
+            if (first) {
+                downstream = subscriber;
+            }
+        }
+        if (first) {
+            subscriber.onSubscribe(new Downstream());
+            drain();
+            return;
+        }
+        subscriber.onSubscribe(CANCELLED);
+        subscriber.onError(new IllegalStateException("ParsingProcessor allows only one subscriber"));
+    }
+
+    @Override
+    public void onSubscribe(Flow.Subscription subscription) {
+        Objects.requireNonNull(subscription);
+        if (upstream != null) {
+            subscription.cancel();
+            return;
+        }
+        upstream = subscription;
+        if (cancelled) {
+            subscription.cancel();
+            return;
+        }
+        drain();
+    }
+
+    @Override
+    public void onNext(String url) {
+        Objects.requireNonNull(url);
+        if (done || cancelled) {
+            return;
+        }
+        long index = received;
+        received = index + 1;
+        int slot = (int) (index % window);
+        if (executor == null) {
+            complete(slot, url);
+            return;
+        }
+        try {
+            executor.execute(() -> complete(slot, url));
+        } catch (RejectedExecutionException e) {
+            complete(slot, url);
+        }
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        Objects.requireNonNull(throwable);
+        error = throwable;
+        done = true;
+        drain();
+    }
+
+    @Override
+    public void onComplete() {
+        done = true;
+        drain();
+    }
+
+    private void complete(int slot, String url) {
+        slots.set(slot, BatchUrlParser.parseOne(url));
+        drain();
+    }
+
+    /**
+     * Delivers ready results in order up to the subscriber's demand, tops up the upstream request and signals
+     * completion. Runs on whichever thread gets there first; concurrent calls are folded into another pass.
+     */
+    private void drain() {
+        if (wip.getAndIncrement() != 0) {
+            return;
+        }
+        int missed = 1;
+        do {
+            Flow.Subscriber<? super BatchParseResult> subscriber = downstream;
+            Flow.Subscription subscription = upstream;
+            if (invalidRequest != null && !terminated) {
+                terminated = true;
+                subscriber.onError(invalidRequest);
+            }
+            if (cancelled) {
+                for (int i = 0; i < window; i++) {
+                    slots.set(i, null);
+                }
+            } else if (subscriber != null && !terminated) {
+                long wanted = demand.get();
+                long delivered = 0;
+                while (delivered != wanted && !cancelled) {
+                    int slot = (int) (emitted % window);
+                    BatchParseResult result = slots.get(slot);
+                    if (result == null) {
+                        break;
+                    }
+                    slots.set(slot, null);
+                    emitted++;
+                    delivered++;
+                    subscriber.onNext(result);
+                }
+                if (delivered != 0 && wanted != Long.MAX_VALUE) {
+                    demand.addAndGet(-delivered);
+                }
+
+                boolean upstreamDone = done;
+                if (upstreamDone && emitted == received && !cancelled) {
+                    terminated = true;
+                    Throwable failure = error;
+                    if (failure != null) {
+                        subscriber.onError(failure);
+                    } else {
+                        subscriber.onComplete();
+                    }
+                } else if (!upstreamDone && subscription != null) {
+                    long free = window - (requested - emitted);
+                    if (free >= replenish) {
+                        requested += free;
+                        subscription.request(free);
+                    }
+                }
+            }
+            missed = wip.addAndGet(-missed);
+        } while (missed != 0);
+    }
+
+    private final class Downstream implements Flow.Subscription {
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                // Rule 3.9: signalled from the drain loop, so that it cannot overlap an onNext.
+                invalidRequest = new IllegalArgumentException("Non-positive request: " + n);
+                cancel();
+                return;
+            }
+            demand.getAndAccumulate(n, (current, add) -> current + add < 0 ? Long.MAX_VALUE : current + add);
+            drain();
+        }
+
+        @Override
+        public void cancel() {
+            if (cancelled) {
+                return;
+            }
+            cancelled = true;
+            Flow.Subscription subscription = upstream;
+            if (subscription != null) {
+                subscription.cancel();
+            }
+            drain();
+        }
+    }
+}
@@ -0,0 +1,349 @@
+package org.example.dburlparser;
+
+import org.example.dburlparser.model.DbConnectionInfo;
+import org.example.dburlparser.model.DbType;
+import org.example.dburlparser.model.HostInfo;
+import org.example.dburlparser.model.PropertyMap;
+import org.example.dburlparser.parser.DbUrlParser;
+import org.example.dburlparser.parser.ParseResult;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A URL with {@code ${name}} placeholders, such as {@code jdbc:mysql://${shard}.db:3306/${tenant}?useSSL=true},
+ * parsed once so that binding values yields the {@link DbConnectionInfo} of the resulting URL without parsing it.
+ * <p>
+ * {@link #compile} parses the template with every placeholder standing in for a character of its own, then
+ * splits each host name, the database and each property key and value that contains one into literal and
+ * placeholder segments. Hosts and properties without placeholders are shared by every bound result, so binding
+ * concatenates the dynamic fields and nothing else. Placeholders may therefore stand for (parts of) host names,
+ * the database and property keys or values, but not for ports, the prefix or separators.
+ * <p>
+ * A bound result is always equal to parsing {@link #url the bound URL}: a value that is empty or contains a
+ * character the URL grammars treat specially ({@code , / ? & ; : @ = ( )} or whitespace), and so could change
+ * the URL's structure, is bound by rendering and parsing the URL instead.
+ */
+public final class UrlTemplate {
+    // Placeholders stand in for private use characters while the template is parsed.
+    private static final char FIRST_MARKER = '\uE000';
+    private static final int MAX_PLACEHOLDERS = 0x1000;
+    private static final boolean[] STRUCTURAL = new boolean[128];
+
+    static {
+        for (int c = 0; c <= ' '; c++) {
+            STRUCTURAL[c] = true;
+        }
+        for (char c : ",/?&;:@=()".toCharArray()) {
+            STRUCTURAL[c] = true;
+        }
+    }
+
+    private final String template;
+    private final DbType type;
+    private final DbUrlParser parser;
+    private final List<String> placeholders;
+    private final Segments url;
+    // The template's hosts; those with a placeholder in their name are listed in hostNames.
+    private final HostInfo[] hostArray;
+    private final List<HostInfo> hosts;
+    private final Segments[] hostNames;
+    private final String database;
+    private final Segments databaseName;
+    // key0, value0, key1, value1, ...; the pairs with a placeholder are listed in pairSegments.
+    private final String[] pairs;
+    private final PropertyMap properties;
+    private final Segments[] pairSegments;
+
+    private UrlTemplate(String template, List<String> placeholders, Segments url, DbConnectionInfo info) {
+        this.template = template;
+        this.type = info.type();
+        this.parser = DbUrlParserFactory.getParser(type);
+        this.placeholders = placeholders;
+        this.url = url;
+
+        List<HostInfo> parsedHosts = info.hosts();
+        hostArray = parsedHosts.toArray(new HostInfo[0]);
+        hosts = List.of(hostArray);
+        Segments[] names = new Segments[hostArray.length];
+        boolean dynamicHosts = false;
+        for (int i = 0; i < hostArray.length; i++) {
+            names[i] = Segments.of(hostArray[i].host(), placeholders.size());
+            dynamicHosts |= names[i] != null;
+        }
+        hostNames = dynamicHosts ? names : null;
+
+        database = info.database();
+        databaseName = Segments.of(database, placeholders.size());
+
+        properties = PropertyMap.copyOf(info.properties());
+        pairs = new String[properties.size() * 2];
+        Segments[] segments = new Segments[pairs.length];
+        boolean dynamicProperties = false;
+        int i = 0;
+        for (Map.Entry<String, String> property : properties.entrySet()) {
+            pairs[i] = property.getKey();
+            pairs[i + 1] = property.getValue();
+            segments[i] = Segments.of(pairs[i], placeholders.size());
+            segments[i + 1] = Segments.of(pairs[i + 1], placeholders.size());
+            dynamicProperties |= segments[i] != null || segments[i + 1] != null;
+            i += 2;
+        }
+        pairSegments = dynamicProperties ? segments : null;
+    }
+
+    /**
+     * Parses {@code template} for binding.
+     *
+     * @throws IllegalArgumentException if a placeholder is malformed or stands for something other than a host
+     *                                  name, the database or a property key or value, or the URL is invalid
+     */
+    public static UrlTemplate compile(String template) {
+        List<String> placeholders = new ArrayList<>();
+        List<String> literals = new ArrayList<>();
+        List<Integer> slots = new ArrayList<>();
+        StringBuilder marked = new StringBuilder(template.length());
+        int literalStart = 0;
+        for (int i = 0; i < template.length(); i++) {
+            char c = template.charAt(i);
+            if (c >= FIRST_MARKER && c < FIRST_MARKER + MAX_PLACEHOLDERS) {
+                throw new IllegalArgumentException("Unsupported character at offset " + i + " of URL template "
+                        + template);
+            }
+            if (c != '$' || i + 1 == template.length() || template.charAt(i + 1) != '{') {
+                marked.append(c);
+                continue;
+            }
+            int close = template.indexOf('}', i + 2);
+            if (close < 0) {
+                throw new IllegalArgumentException("Unclosed placeholder at offset " + i + " of URL template "
+                        + template);
+            }
+            String name = template.substring(i + 2, close);
+            if (name.isBlank()) {
+                throw new IllegalArgumentException("Empty placeholder at offset " + i + " of URL template "
+                        + template);
+            }
+            int slot = placeholders.indexOf(name);
+            if (slot < 0) {
+                if (placeholders.size() == MAX_PLACEHOLDERS) {
+                    throw new IllegalArgumentException("More than " + MAX_PLACEHOLDERS + " placeholders in URL "
+                            + "template " + template);
+                }
+                slot = placeholders.size();
+                placeholders.add(name);
+            }
+            literals.add(template.substring(literalStart, i));
+            slots.add(slot);
+            marked.append((char) (FIRST_MARKER + slot));
+            i = close;
+            literalStart = close + 1;
+        }
+        literals.add(template.substring(literalStart));
+
+        ParseResult result = DbUrlParserFactory.tryParse(marked.toString());
+        if (result instanceof ParseResult.Failure failure) {
+            throw new IllegalArgumentException("Invalid URL template " + template + " (" + failure.code()
+                    + "): placeholders can only stand for host names, the database and property keys or values");
+        }
+        return new UrlTemplate(template, List.copyOf(placeholders), new Segments(literals, slots),
+                result.orElseThrow());
+    }
+
+    public DbType type() {
+        return type;
+    }
+
+    /**
+     * The placeholder names in order of first appearance, which is the order {@link #bind(String...)} takes
+     * their values in.
+     */
+    public List<String> placeholders() {
+        return placeholders;
+    }
+
+    /**
+     * The connection the URL with {@code values} in place of {@link #placeholders()} names.
+     *
+     * @throws IllegalArgumentException if the number of values is wrong, or the bound URL is invalid as
+     *                                  {@link DbUrlParser#parse} reports it
+     */
+    public DbConnectionInfo bind(String... values) {
+        return tryBind(values).orElseThrow();
+    }
+
+    /**
+     * {@link #bind(String...)} with each placeholder's value looked up by name.
+     *
+     * @throws IllegalArgumentException if a placeholder has no value, or the bound URL is invalid
+     */
+    public DbConnectionInfo bind(Map<String, String> values) {
+        return bind(values(values));
+    }
+
+    /**
+     * Like {@link #bind(String...)}, but reports a bound URL that does not parse as a {@link ParseResult.Failure}.
+     * Its offset is in the bound URL.
+     *
+     * @throws IllegalArgumentException if the number of values is wrong
+     */
+    public ParseResult tryBind(String... values) {
+        checkCount(values);
+        for (String value : values) {
+            if (!isPlain(value)) {
+                return parser.tryParse(url.bind(values));
+            }
+        }
+
+        List<HostInfo> boundHosts = hosts;
+        if (hostNames != null) {
+            HostInfo[] bound = hostArray.clone();
+            for (int i = 0; i < bound.length; i++) {
+                if (hostNames[i] != null) {
+                    bound[i] = new HostInfo(hostNames[i].bind(values), bound[i].port());
+                }
+            }
+            boundHosts = List.of(bound);
+        }
+
+        PropertyMap boundProperties = properties;
+        if (pairSegments != null) {
+            PropertyMap.Builder builder = new PropertyMap.Builder(properties.size());
+            for (int i = 0; i < pairs.length; i += 2) {
+                builder.put(bind(pairs, pairSegments, i, values), bind(pairs, pairSegments, i + 1, values));
+            }
+            boundProperties = builder.build();
+            if (boundProperties.size() != properties.size()) {
+                // A bound key repeats another one: which value wins depends on their order in the URL.
+                return parser.tryParse(url.bind(values));
+            }
+        }
+
+        String boundDatabase = databaseName == null ? database : databaseName.bind(values);
+        return ParseResult.success(new DbConnectionInfo(type, boundHosts, boundDatabase, boundProperties));
+    }
+
+    /**
+     * The URL with {@code values} in place of {@link #placeholders()}, built in a buffer of its exact length.
+     *
+     * @throws IllegalArgumentException if the number of values is wrong
+     */
+    public String url(String... values) {
+        checkCount(values);
+        return url.bind(values);
+    }
+
+    /**
+     * @throws IllegalArgumentException if a placeholder has no value
+     */
+    public String url(Map<String, String> values) {
+        return url(values(values));
+    }
+
+    @Override
+    public String toString() {
+        return template;
+    }
+
+    private static String bind(String[] texts, Segments[] segments, int i, String[] values) {
+        return segments[i] == null ? texts[i] : segments[i].bind(values);
+    }
+
+    private String[] values(Map<String, String> values) {
+        String[] ordered = new String[placeholders.size()];
+        for (int i = 0; i < ordered.length; i++) {
+            ordered[i] = values.get(placeholders.get(i));
+            if (ordered[i] == null) {
+                throw new IllegalArgumentException("No value for placeholder ${" + placeholders.get(i) + "}");
+            }
+        }
+        return ordered;
+    }
+
+    private void checkCount(String[] values) {
+        if (values.length != placeholders.size()) {
+            throw new IllegalArgumentException("Expected " + placeholders.size() + " values for " + placeholders
+                    + ", got " + values.length);
+        }
+    }
+
+    /**
+     * Whether {@code value} can replace a placeholder without changing how the URL around it parses.
+     */
+    private static boolean isPlain(String value) {
+        if (value.isEmpty()) {
+            return false;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c < 128 && STRUCTURAL[c]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Text made of literals with a placeholder between each two: {@code literals[0] slot[0] literals[1] ...}.
+     */
+    private static final class Segments {
+        private final String[] literals;
+        private final int[] slots;
+        private final int literalLength;
+
+        Segments(List<String> literals, List<Integer> slots) {
+            this.literals = literals.toArray(new String[0]);
+            this.slots = slots.stream().mapToInt(Integer::intValue).toArray();
+            int length = 0;
+            for (String literal : this.literals) {
+                length += literal.length();
+            }
+            this.literalLength = length;
+        }
+
+        /**
+         * Splits {@code text} at its placeholder markers, or returns {@code null} if it has none.
+         */
+        static Segments of(String text, int placeholders) {
+            if (text == null) {
+                return null;
+            }
+            List<String> literals = null;
+            List<Integer> slots = null;
+            int literalStart = 0;
+            for (int i = 0; i < text.length(); i++) {
+                int slot = text.charAt(i) - FIRST_MARKER;
+                if (slot >= 0 && slot < placeholders) {
+                    if (literals == null) {
+                        literals = new ArrayList<>();
+                        slots = new ArrayList<>();
+                    }
+                    literals.add(text.substring(literalStart, i));
+                    slots.add(slot);
+                    literalStart = i + 1;
+                }
+            }
+            if (literals == null) {
+                return null;
+            }
+            literals.add(text.substring(literalStart));
+            return new Segments(literals, slots);
+        }
+
+        String bind(String[] values) {
+            if (slots.length == 1 && literalLength == 0) {
+                return values[slots[0]];
+            }
+            int length = literalLength;
+            for (int slot : slots) {
+                length += values[slot].length();
+            }
+            StringBuilder sb = new StringBuilder(length);
+            for (int i = 0; i < slots.length; i++) {
+                sb.append(literals[i]).append(values[slots[i]]);
+            }
+            return sb.append(literals[slots.length]).toString();
+        }
+    }
+}
@@ -0,0 +1,280 @@
+package org.example.dburlparser.io;
+
+import org.example.dburlparser.model.DbConnectionInfo;
+import org.example.dburlparser.model.DbType;
+import org.example.dburlparser.model.HostInfo;
+import org.example.dburlparser.model.PropertyMap;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Compact binary form of {@link DbConnectionInfo}. Every integer is an unsigned LEB128 varint, so ports and
+ * counts take one to three bytes, and every string is an index into a table of distinct UTF-8 strings, so a
+ * host name or property key shared by many hosts or results is stored once. A record is:
+ * <pre>
+ * type     DbType ordinal
+ * database string index + 1, 0 for none
+ * hosts    count, then name index and port per host
+ * props    count, then key index and value index per property, in map order
+ * </pre>
+ * {@link #encode} writes one record after its own string table; {@link ParseSnapshot} shares one table
+ * between all of its records. Decoded results carry plain lists and {@link PropertyMap}s that are equal to
+ * what the parser returned, and strings are shared between all records decoded against the same table.
+ */
+public final class BinaryEncoding {
+    private static final DbType[] TYPES = DbType.values();
+
+    private BinaryEncoding() {
+    }
+
+    /**
+     * Encodes {@code info} as a string table followed by one record.
+     */
+    public static byte[] encode(DbConnectionInfo info) {
+        StringTable strings = new StringTable();
+        Output record = new Output(64);
+        writeRecord(record, info, strings);
+        Output out = new Output(record.size() + strings.encodedSize() + 5);
+        strings.writeTo(out);
+        record.writeTo(out);
+        return out.toByteArray();
+    }
+
+    /**
+     * Decodes the output of {@link #encode}.
+     *
+     * @throws IllegalArgumentException if {@code bytes} is not a valid encoding
+     */
+    public static DbConnectionInfo decode(byte[] bytes) {
+        Input in = new Input(bytes, 0);
+        try {
+            String[] strings = readStrings(in);
+            DbConnectionInfo info = readRecord(in, strings);
+            if (in.position() != bytes.length) {
+                throw new IllegalArgumentException("Trailing bytes after connection info at offset " + in.position());
+            }
+            return info;
+        } catch (IndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Truncated connection info", e);
+        }
+    }
+
+    static void writeRecord(Output out, DbConnectionInfo info, StringTable strings) {
+        out.writeVarint(info.type().ordinal());
+        out.writeVarint(info.database() == null ? 0 : strings.id(info.database()) + 1);
+        List<HostInfo> hosts = info.hosts();
+        out.writeVarint(hosts.size());
+        for (HostInfo host : hosts) {
+            out.writeVarint(strings.id(host.host()));
+            out.writeVarint(host.port());
+        }
+        Map<String, String> properties = info.properties();
+        out.writeVarint(properties.size());
+        for (Map.Entry<String, String> property : properties.entrySet()) {
+            out.writeVarint(strings.id(property.getKey()));
+            out.writeVarint(strings.id(property.getValue()));
+        }
+    }
+
+    static DbConnectionInfo readRecord(Input in, String[] strings) {
+        int ordinal = in.readVarint();
+        if (ordinal >= TYPES.length) {
+            throw new IllegalArgumentException("Unknown database type " + ordinal + " at offset " + in.position());
+        }
+        int database = in.readVarint();
+        // Each host is at least a name index and a port, each property a key and a value index.
+        int hostCount = in.readCount(2);
+        HostInfo[] hosts = new HostInfo[hostCount];
+        for (int i = 0; i < hostCount; i++) {
+            hosts[i] = new HostInfo(string(strings, in.readVarint()), in.readVarint());
+        }
+        int propertyCount = in.readCount(2);
+        PropertyMap.Builder properties = new PropertyMap.Builder(propertyCount);
+        for (int i = 0; i < propertyCount; i++) {
+            properties.put(string(strings, in.readVarint()), string(strings, in.readVarint()));
+        }
+        return new DbConnectionInfo(TYPES[ordinal], List.of(hosts),
+                database == 0 ? null : string(strings, database - 1), properties.build());
+    }
+
+    static String[] readStrings(Input in) {
+        int count = in.readCount(1);
+        String[] strings = new String[count];
+        for (int i = 0; i < count; i++) {
+            int length = in.readCount(1);
+            strings[i] = in.readUtf8(length);
+        }
+        return strings;
+    }
+
+    private static String string(String[] strings, int id) {
+        if (id < 0 || id >= strings.length) {
+            throw new IllegalArgumentException("String index " + id + " out of range " + strings.length);
+        }
+        return strings[id];
+    }
+
+    /**
+     * Distinct strings in first-use order, each encoded once.
+     */
+    static final class StringTable {
+        private final Map<String, Integer> ids = new HashMap<>();
+        private byte[][] encoded = new byte[16][];
+        private int encodedSize;
+
+        int id(String s) {
+            Integer id = ids.get(s);
+            if (id != null) {
+                return id;
+            }
+            int next = ids.size();
+            if (next == encoded.length) {
+                encoded = Arrays.copyOf(encoded, next * 2);
+            }
+            byte[] utf8 = s.getBytes(StandardCharsets.UTF_8);
+            encoded[next] = utf8;
+            encodedSize += utf8.length + 5;
+            ids.put(s, next);
+            return next;
+        }
+
+        int size() {
+            return ids.size();
+        }
+
+        /**
+         * Upper bound of the bytes {@link #writeTo} writes.
+         */
+        int encodedSize() {
+            return encodedSize + 5;
+        }
+
+        void writeTo(Output out) {
+            int count = ids.size();
+            out.writeVarint(count);
+            for (int i = 0; i < count; i++) {
+                out.writeVarint(encoded[i].length);
+                out.writeBytes(encoded[i], 0, encoded[i].length);
+            }
+        }
+    }
+
+    /**
+     * Growable byte array with varint and fixed-width big-endian writes.
+     */
+    static final class Output {
+        private byte[] buffer;
+        private int size;
+
+        Output(int capacity) {
+            buffer = new byte[Math.max(capacity, 16)];
+        }
+
+        int size() {
+            return size;
+        }
+
+        void writeVarint(int value) {
+            ensure(5);
+            int v = value;
+            while ((v & ~0x7F) != 0) {
+                buffer[size++] = (byte) ((v & 0x7F) | 0x80);
+                v >>>= 7;
+            }
+            buffer[size++] = (byte) v;
+        }
+
+        void writeInt(int value) {
+            ensure(4);
+            buffer[size++] = (byte) (value >>> 24);
+            buffer[size++] = (byte) (value >>> 16);
+            buffer[size++] = (byte) (value >>> 8);
+            buffer[size++] = (byte) value;
+        }
+
+        void writeLong(long value) {
+            writeInt((int) (value >>> 32));
+            writeInt((int) value);
+        }
+
+        void writeBytes(byte[] bytes, int off, int len) {
+            ensure(len);
+            System.arraycopy(bytes, off, buffer, size, len);
+            size += len;
+        }
+
+        void writeTo(Output out) {
+            out.writeBytes(buffer, 0, size);
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(buffer, size);
+        }
+
+        ByteBuffer asByteBuffer() {
+            return ByteBuffer.wrap(buffer, 0, size);
+        }
+
+        private void ensure(int more) {
+            if (size + more > buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.max(size + more, buffer.length * 2));
+            }
+        }
+    }
+
+    /**
+     * Cursor over a byte array; any number of cursors can share one array.
+     */
+    static final class Input {
+        private final byte[] bytes;
+        private int position;
+
+        Input(byte[] bytes, int position) {
+            this.bytes = bytes;
+            this.position = position;
+        }
+
+        int position() {
+            return position;
+        }
+
+        int readVarint() {
+            int value = 0;
+            for (int shift = 0; shift < 32; shift += 7) {
+                byte b = bytes[position++];
+                value |= (b & 0x7F) << shift;
+                if (b >= 0) {
+                    return value;
+                }
+            }
+            throw new IllegalArgumentException("Malformed varint at offset " + (position - 5));
+        }
+
+        /**
+         * Reads a count of items that take at least {@code minItemSize} bytes each, such as a table size or a
+         * string length, rejecting one that is negative or more than the remaining bytes can hold.
+         */
+        int readCount(int minItemSize) {
+            int start = position;
+            int count = readVarint();
+            if (count < 0 || count > (bytes.length - position) / minItemSize) {
+                throw new IllegalArgumentException("Invalid count " + Integer.toUnsignedString(count)
+                        + " at offset " + start);
+            }
+            return count;
+        }
+
+        String readUtf8(int length) {
+            Objects.checkFromIndexSize(position, length, bytes.length);
+            String s = new String(bytes, position, length, StandardCharsets.UTF_8);
+            position += length;
+            return s;
+        }
+    }
+}
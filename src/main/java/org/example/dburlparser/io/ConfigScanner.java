@@ -0,0 +1,418 @@
+package org.example.dburlparser.io;
+
+import org.example.dburlparser.BatchParseResult;
+import org.example.dburlparser.DbUrlParserFactory;
+import org.example.dburlparser.model.DbType;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryIteratorException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * Finds the database URLs embedded in a tree of configuration files and parses them.
+ * <p>
+ * Every file is streamed once through a {@link UrlPrefixAutomaton} over all {@link DbType} prefixes, read into
+ * one reused buffer, so a new dialect is found as soon as its type exists. At each prefix the URL runs to the
+ * first whitespace, quote or angle bracket, which ends a value in {@code .properties}, YAML, XML and env files
+ * alike; inside the parentheses of an Oracle descriptor, spaces and tabs do not end it, and {@code &amp;} is
+ * read as {@code &} as XML escapes it. Spans longer than {@value #MAX_URL_LENGTH} bytes are not URLs and are
+ * skipped.
+ * <p>
+ * Directories are listed and files scanned and parsed in parallel as {@link ForkJoinPool} tasks, a task per
+ * directory and per batch of {@value #FILE_BATCH} files, so wide and deep trees both spread over the pool.
+ * Symbolic links are not followed.
+ */
+public final class ConfigScanner {
+    /**
+     * {@code .properties}, {@code .yaml}, {@code .yml}, {@code .xml} and {@code .env} files, and env files
+     * named {@code .env} or {@code .env.<suffix>}.
+     */
+    public static final Predicate<Path> CONFIG_FILES = file -> {
+        String name = file.getFileName().toString().toLowerCase(Locale.ROOT);
+        return name.endsWith(".properties") || name.endsWith(".yaml") || name.endsWith(".yml")
+                || name.endsWith(".xml") || name.endsWith(".env") || name.startsWith(".env");
+    };
+
+    static final int MAX_URL_LENGTH = 16 << 10;
+    private static final int FILE_BATCH = 64;
+    private static final int BUFFER_SIZE = 64 << 10;
+    private static final int OUTPUT_BUFFER_SIZE = 1 << 16;
+    private static final UrlPrefixAutomaton PREFIXES = new UrlPrefixAutomaton(DbType.values());
+
+    private ConfigScanner() {
+    }
+
+    /**
+     * Scans the {@link #CONFIG_FILES} under {@code root} on the common {@link ForkJoinPool}.
+     *
+     * @see #scan(Path, Predicate, ForkJoinPool, Consumer)
+     */
+    public static Summary scan(Path root, Consumer<FileReport> reports) throws IOException {
+        return scan(root, CONFIG_FILES, ForkJoinPool.commonPool(), reports);
+    }
+
+    /**
+     * Scans the files under {@code root} that match {@code files}, or {@code root} itself if it is a file, and
+     * passes a report to {@code reports} for every file that contains a URL or could not be read. Reports
+     * arrive in no particular order, one at a time, on the pool's threads.
+     *
+     * @throws IOException if {@code root} does not exist
+     */
+    public static Summary scan(Path root, Predicate<Path> files, ForkJoinPool pool, Consumer<FileReport> reports)
+            throws IOException {
+        BasicFileAttributes attributes = Files.readAttributes(root, BasicFileAttributes.class);
+        long start = System.nanoTime();
+        Totals totals = new Totals(reports);
+        if (attributes.isDirectory()) {
+            pool.invoke(new DirectoryTask(root, files, totals));
+        } else {
+            new FilesTask(List.of(root), totals).compute();
+        }
+        return totals.summary(System.nanoTime() - start);
+    }
+
+    /**
+     * Scans the {@link #CONFIG_FILES} under {@code root} and writes one NDJSON line per report to {@code output}:
+     * {@code {"file":...,"urls":[{"line":...,"offset":...,"url":...,"type":...,...}]}}, with {@code "error"} in
+     * place of the parsed fields of a URL that does not parse, or of the URLs of a file that could not be read.
+     * The channel is flushed but not closed.
+     */
+    public static Summary report(Path root, WritableByteChannel output) throws IOException {
+        Writer writer = new BufferedWriter(Channels.newWriter(output, StandardCharsets.UTF_8), OUTPUT_BUFFER_SIZE);
+        StringBuilder line = new StringBuilder(1024);
+        Summary summary;
+        try {
+            summary = scan(root, report -> {
+                line.setLength(0);
+                appendJson(line, report);
+                try {
+                    writer.append(line);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        writer.flush();
+        return summary;
+    }
+
+    static void appendJson(StringBuilder sb, FileReport report) {
+        sb.append("{\"file\":");
+        JsonRenderer.appendString(sb, report.file().toString());
+        if (report.error() != null) {
+            sb.append(",\"error\":");
+            JsonRenderer.appendString(sb, report.error());
+        } else {
+            sb.append(",\"urls\":[");
+            for (int i = 0; i < report.urls().size(); i++) {
+                Found found = report.urls().get(i);
+                if (i > 0) {
+                    sb.append(',');
+                }
+                sb.append("{\"line\":").append(found.line()).append(",\"offset\":").append(found.offset())
+                        .append(",\"url\":");
+                JsonRenderer.appendString(sb, found.result().url());
+                sb.append(',');
+                if (found.result().isSuccess()) {
+                    JsonRenderer.appendFields(sb, found.result().info());
+                } else {
+                    sb.append("\"error\":");
+                    JsonRenderer.appendString(sb, found.result().error());
+                    sb.append(",\"code\":\"").append(found.result().failure().code().name()).append('"');
+                }
+                sb.append('}');
+            }
+            sb.append(']');
+        }
+        sb.append("}\n");
+    }
+
+    /**
+     * The URLs found in one file, in file order, or why it could not be read.
+     */
+    public record FileReport(Path file, List<Found> urls, String error) {
+    }
+
+    /**
+     * A URL found at byte {@code offset} on 1-based {@code line}, with the outcome of parsing it.
+     */
+    public record Found(int line, long offset, BatchParseResult result) {
+    }
+
+    /**
+     * Totals of one {@link #scan} run.
+     */
+    public record Summary(long files, long bytes, long urls, long failures, long unreadable, long elapsedNanos) {
+
+        public double filesPerSecond() {
+            return files / seconds();
+        }
+
+        public double megabytesPerSecond() {
+            return bytes / (1024.0 * 1024.0) / seconds();
+        }
+
+        private double seconds() {
+            return Math.max(elapsedNanos, 1) / 1_000_000_000.0;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("Scanned %d files (%d unreadable, %d bytes) in %.3f s: %d URLs (%d failed), "
+                            + "%.0f files/s, %.2f MB/s",
+                    files, unreadable, bytes, seconds(), urls, failures, filesPerSecond(), megabytesPerSecond());
+        }
+    }
+
+    /**
+     * Streams files through the automaton with a buffer and URL span reused from file to file.
+     */
+    static final class FileScanner {
+        private final byte[] buffer = new byte[BUFFER_SIZE];
+        private final UrlPrefixAutomaton.Cursor cursor = new UrlPrefixAutomaton.Cursor();
+        private byte[] span = new byte[256];
+        private int spanLength;
+        private long bytes;
+
+        /**
+         * Bytes read by every {@link #scan} so far.
+         */
+        long bytes() {
+            return bytes;
+        }
+
+        FileReport scan(Path file) {
+            List<Found> urls = new ArrayList<>();
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                ByteBuffer target = ByteBuffer.wrap(buffer);
+                cursor.reset();
+                long base = 0;
+                int line = 1;
+                // Set while a URL is being read; it may continue in the next buffer.
+                boolean inUrl = false;
+                int depth = 0;
+                long urlOffset = 0;
+                int urlLine = 0;
+                int n;
+                while ((n = channel.read(target.clear())) >= 0) {
+                    int i = 0;
+                    while (i < n) {
+                        if (inUrl) {
+                            for (; i < n; i++) {
+                                byte b = buffer[i];
+                                if (b == '(') {
+                                    depth++;
+                                } else if (b == ')' && depth > 0) {
+                                    depth--;
+                                } else if (endsUrl(b, depth)) {
+                                    break;
+                                }
+                                if (spanLength == MAX_URL_LENGTH) {
+                                    break;
+                                }
+                                append(b);
+                            }
+                            if (i < n) {
+                                inUrl = false;
+                                if (spanLength < MAX_URL_LENGTH) {
+                                    urls.add(found(urlLine, urlOffset));
+                                }
+                            }
+                            continue;
+                        }
+                        int end = PREFIXES.find(cursor, buffer, i, n);
+                        line += countLines(buffer, i, end < 0 ? n : end);
+                        if (end < 0) {
+                            break;
+                        }
+                        String prefix = cursor.match().getPrefix();
+                        cursor.reset();
+                        spanLength = 0;
+                        for (int c = 0; c < prefix.length(); c++) {
+                            append((byte) prefix.charAt(c));
+                        }
+                        inUrl = true;
+                        depth = 0;
+                        urlOffset = base + end - prefix.length();
+                        urlLine = line;
+                        i = end;
+                    }
+                    base += n;
+                }
+                if (inUrl && spanLength < MAX_URL_LENGTH) {
+                    urls.add(found(urlLine, urlOffset));
+                }
+                bytes += base;
+            } catch (IOException e) {
+                return new FileReport(file, List.of(), String.valueOf(e.getMessage()));
+            }
+            return new FileReport(file, urls, null);
+        }
+
+        private static boolean endsUrl(byte b, int depth) {
+            if (b >= 0 && b <= ' ') {
+                return depth == 0 || b != ' ' && b != '\t';
+            }
+            return b == '"' || b == '\'' || b == '`' || b == '<' || b == '>';
+        }
+
+        private static int countLines(byte[] bytes, int from, int to) {
+            int lines = 0;
+            for (int i = from; i < to; i++) {
+                if (bytes[i] == '\n') {
+                    lines++;
+                }
+            }
+            return lines;
+        }
+
+        private void append(byte b) {
+            if (spanLength == span.length) {
+                span = Arrays.copyOf(span, Math.min(span.length * 2, MAX_URL_LENGTH));
+            }
+            span[spanLength++] = b;
+        }
+
+        private Found found(int line, long offset) {
+            String url = new String(span, 0, spanLength, StandardCharsets.UTF_8);
+            if (url.contains("&amp;")) {
+                url = url.replace("&amp;", "&");
+            }
+            return new Found(line, offset, new BatchParseResult(url, DbUrlParserFactory.tryParse(url)));
+        }
+    }
+
+    /**
+     * Counters shared by every task, and the serialised hand-off of reports.
+     */
+    private static final class Totals {
+        private final Consumer<FileReport> reports;
+        private final LongAdder files = new LongAdder();
+        private final LongAdder bytes = new LongAdder();
+        private final LongAdder urls = new LongAdder();
+        private final LongAdder failures = new LongAdder();
+        private final LongAdder unreadable = new LongAdder();
+
+        Totals(Consumer<FileReport> reports) {
+            this.reports = reports;
+        }
+
+        void add(FileReport report) {
+            files.increment();
+            if (report.error() != null) {
+                unreadable.increment();
+            } else if (report.urls().isEmpty()) {
+                return;
+            }
+            for (Found found : report.urls()) {
+                urls.increment();
+                if (!found.result().isSuccess()) {
+                    failures.increment();
+                }
+            }
+            synchronized (this) {
+                reports.accept(report);
+            }
+        }
+
+        void unreadableDirectory(Path directory, Exception e) {
+            unreadable.increment();
+            synchronized (this) {
+                reports.accept(new FileReport(directory, List.of(), String.valueOf(e.getMessage())));
+            }
+        }
+
+        Summary summary(long elapsedNanos) {
+            return new Summary(files.sum(), bytes.sum(), urls.sum(), failures.sum(), unreadable.sum(), elapsedNanos);
+        }
+    }
+
+    private static final class DirectoryTask extends RecursiveAction {
+        private final Path directory;
+        private final Predicate<Path> filter;
+        private final Totals totals;
+
+        DirectoryTask(Path directory, Predicate<Path> filter, Totals totals) {
+            this.directory = directory;
+            this.filter = filter;
+            this.totals = totals;
+        }
+
+        @Override
+        protected void compute() {
+            List<ForkJoinTask<?>> forked = new ArrayList<>();
+            List<Path> batch = new ArrayList<>(FILE_BATCH);
+            try (DirectoryStream<Path> entries = Files.newDirectoryStream(directory)) {
+                for (Path entry : entries) {
+                    BasicFileAttributes attributes;
+                    try {
+                        attributes = Files.readAttributes(entry, BasicFileAttributes.class, LinkOption.NOFOLLOW_LINKS);
+                    } catch (IOException e) {
+                        continue;
+                    }
+                    if (attributes.isDirectory()) {
+                        forked.add(new DirectoryTask(entry, filter, totals).fork());
+                    } else if (attributes.isRegularFile() && filter.test(entry)) {
+                        batch.add(entry);
+                        if (batch.size() == FILE_BATCH) {
+                            forked.add(new FilesTask(batch, totals).fork());
+                            batch = new ArrayList<>(FILE_BATCH);
+                        }
+                    }
+                }
+            } catch (IOException | DirectoryIteratorException e) {
+                totals.unreadableDirectory(directory, e);
+            }
+            if (!batch.isEmpty()) {
+                new FilesTask(batch, totals).compute();
+            }
+            for (ForkJoinTask<?> task : forked) {
+                task.join();
+            }
+        }
+    }
+
+    private static final class FilesTask extends RecursiveAction {
+        private final List<Path> files;
+        private final Totals totals;
+
+        FilesTask(List<Path> files, Totals totals) {
+            this.files = files;
+            this.totals = totals;
+        }
+
+        @Override
+        protected void compute() {
+            FileScanner scanner = new FileScanner();
+            for (Path file : files) {
+                totals.add(scanner.scan(file));
+            }
+            totals.bytes.add(scanner.bytes());
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package org.example.dburlparser.io;
+
+import org.example.dburlparser.model.DbConnectionInfo;
+import org.example.dburlparser.model.HostInfo;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Renders {@link DbConnectionInfo} as JSON without an external library.
+ */
+public final class JsonRenderer {
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private JsonRenderer() {
+    }
+
+    /**
+     * Appends {@code {"type":...,"hosts":[{"host":...,"port":...}],"database":...,"properties":{...}}}.
+     */
+    public static StringBuilder appendConnectionInfo(StringBuilder sb, DbConnectionInfo info) {
+        sb.append('{');
+        appendFields(sb, info);
+        return sb.append('}');
+    }
+
+    /**
+     * Appends the members of {@link #appendConnectionInfo} without the enclosing braces.
+     */
+    public static StringBuilder appendFields(StringBuilder sb, DbConnectionInfo info) {
+        sb.append("\"type\":");
+        appendString(sb, info.type().name());
+        sb.append(",\"hosts\":");
+        appendHosts(sb, info.hosts());
+        sb.append(",\"database\":");
+        appendString(sb, info.database());
+        sb.append(",\"properties\":");
+        return appendProperties(sb, info.properties());
+    }
+
+    private static void appendHosts(StringBuilder sb, List<HostInfo> hosts) {
+        sb.append('[');
+        for (int i = 0; i < hosts.size(); i++) {
+            HostInfo host = hosts.get(i);
+            if (i > 0) {
+                sb.append(',');
+            }
+            sb.append("{\"host\":");
+            appendString(sb, host.host());
+            sb.append(",\"port\":").append(host.port()).append('}');
+        }
+        sb.append(']');
+    }
+
+    private static StringBuilder appendProperties(StringBuilder sb, Map<String, String> properties) {
+        sb.append('{');
+        boolean first = true;
+        for (Map.Entry<String, String> property : properties.entrySet()) {
+            if (!first) {
+                sb.append(',');
+            }
+            first = false;
+            appendString(sb, property.getKey());
+            sb.append(':');
+            appendString(sb, property.getValue());
+        }
+        return sb.append('}');
+    }
+
+    /**
+     * Appends {@code value} as a quoted JSON string, or {@code null}.
+     */
+    public static StringBuilder appendString(StringBuilder sb, String value) {
+        if (value == null) {
+            return sb.append("null");
+        }
+        sb.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> sb.append("\\\"");
+                case '\\' -> sb.append("\\\\");
+                case '\n' -> sb.append("\\n");
+                case '\r' -> sb.append("\\r");
+                case '\t' -> sb.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        sb.append("\\u00").append(HEX[c >> 4]).append(HEX[c & 0xF]);
+                    } else {
+                        sb.append(c);
+                    }
+                }
+            }
+        }
+        return sb.append('"');
+    }
+}
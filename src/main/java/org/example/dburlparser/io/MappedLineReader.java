@@ -0,0 +1,143 @@
+package org.example.dburlparser.io;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Reads newline separated records from a file through a sliding {@link FileChannel#map memory-mapped}
+ * window, so files of any size are read with a fixed amount of heap: one window mapping plus a
+ * scratch buffer as long as the longest line.
+ * <p>
+ * Lines end with {@code \n} or {@code \r\n} and are decoded as UTF-8. A line that crosses the end of
+ * the current window is re-read from a new window starting at that line.
+ */
+public final class MappedLineReader implements Closeable {
+    public static final int DEFAULT_WINDOW_SIZE = 64 << 20;
+
+    private final FileChannel channel;
+    private final long size;
+    private final int windowSize;
+    private MappedByteBuffer window;
+    private long windowStart;
+    private long position;
+    private byte[] scratch = new byte[256];
+
+    public MappedLineReader(Path file) throws IOException {
+        this(file, DEFAULT_WINDOW_SIZE);
+    }
+
+    public MappedLineReader(Path file, int windowSize) throws IOException {
+        if (windowSize <= 0) {
+            throw new IllegalArgumentException("Window size must be positive: " + windowSize);
+        }
+        this.channel = FileChannel.open(file, StandardOpenOption.READ);
+        this.size = channel.size();
+        this.windowSize = windowSize;
+    }
+
+    /**
+     * Size of the file in bytes.
+     */
+    public long size() {
+        return size;
+    }
+
+    /**
+     * Number of bytes consumed so far, including line terminators.
+     */
+    public long position() {
+        return position;
+    }
+
+    /**
+     * Returns the next line without its terminator, or {@code null} at the end of the file.
+     */
+    public String readLine() throws IOException {
+        if (position >= size) {
+            return null;
+        }
+        int mappedLength = windowSize;
+        while (true) {
+            ensureMapped(position, mappedLength);
+            int from = (int) (position - windowStart);
+            int limit = window.limit();
+            for (int i = from; i < limit; i++) {
+                if (window.get(i) == '\n') {
+                    position = windowStart + i + 1;
+                    return decode(from, i);
+                }
+            }
+            if (windowStart + limit >= size) {
+                position = size;
+                return decode(from, limit);
+            }
+            if (from == 0) {
+                // The line is longer than the window: map a larger one starting at the same line.
+                mappedLength = (int) Math.min(Integer.MAX_VALUE, (long) mappedLength * 2);
+            }
+            window = null;
+        }
+    }
+
+    private void ensureMapped(long lineStart, int length) throws IOException {
+        if (window != null && lineStart >= windowStart && lineStart < windowStart + window.limit()) {
+            return;
+        }
+        windowStart = lineStart;
+        window = channel.map(FileChannel.MapMode.READ_ONLY, lineStart, Math.min(length, size - lineStart));
+    }
+
+    private String decode(int from, int to) {
+        int end = to;
+        if (end > from && window.get(end - 1) == '\r') {
+            end--;
+        }
+        int length = end - from;
+        if (scratch.length < length) {
+            scratch = new byte[Math.max(length, scratch.length * 2)];
+        }
+        window.get(from, scratch, 0, length);
+        return new String(scratch, 0, length, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Lines of the file as a sequential, lazily populated stream. Closing the stream does not close the reader.
+     */
+    public Stream<String> lines() {
+        Spliterator<String> spliterator = new Spliterators.AbstractSpliterator<>(Long.MAX_VALUE,
+                Spliterator.ORDERED | Spliterator.NONNULL) {
+            @Override
+            public boolean tryAdvance(Consumer<? super String> action) {
+                String line;
+                try {
+                    line = readLine();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                if (line == null) {
+                    return false;
+                }
+                action.accept(line);
+                return true;
+            }
+        };
+        return StreamSupport.stream(spliterator, false);
+    }
+
+    @Override
+    public void close() throws IOException {
+        window = null;
+        channel.close();
+    }
+}
@@ -0,0 +1,121 @@
+package org.example.dburlparser.io;
+
+import org.example.dburlparser.model.DbConnectionInfo;
+import org.example.dburlparser.model.HostInfo;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Record layouts for parse results written by {@link UrlFileParser}.
+ */
+public enum OutputFormat {
+    /**
+     * One JSON object per line: {@code {"url":...,"type":...,...}} or {@code {"url":...,"error":...}}.
+     */
+    NDJSON {
+        @Override
+        public String header() {
+            return null;
+        }
+
+        @Override
+        public void appendRecord(StringBuilder sb, String url, DbConnectionInfo info, String error) {
+            sb.append("{\"url\":");
+            JsonRenderer.appendString(sb, url);
+            sb.append(',');
+            if (info != null) {
+                JsonRenderer.appendFields(sb, info);
+            } else {
+                sb.append("\"error\":");
+                JsonRenderer.appendString(sb, error);
+            }
+            sb.append("}\n");
+        }
+    },
+
+    /**
+     * RFC 4180 CSV. Hosts are written as {@code host:port|host:port}, properties as {@code key=value;key=value}.
+     */
+    CSV {
+        @Override
+        public String header() {
+            return "url,type,hosts,database,properties,error\n";
+        }
+
+        @Override
+        public void appendRecord(StringBuilder sb, String url, DbConnectionInfo info, String error) {
+            appendField(sb, url);
+            sb.append(',');
+            if (info != null) {
+                sb.append(info.type().name()).append(',');
+                appendField(sb, joinHosts(info.hosts()));
+                sb.append(',');
+                appendField(sb, info.database());
+                sb.append(',');
+                appendField(sb, joinProperties(info.properties()));
+                sb.append(',');
+            } else {
+                sb.append(",,,,");
+                appendField(sb, error);
+            }
+            sb.append('\n');
+        }
+
+        private static String joinHosts(List<HostInfo> hosts) {
+            StringBuilder sb = new StringBuilder();
+            for (HostInfo host : hosts) {
+                if (!sb.isEmpty()) {
+                    sb.append('|');
+                }
+                sb.append(host.host()).append(':').append(host.port());
+            }
+            return sb.toString();
+        }
+
+        private static String joinProperties(Map<String, String> properties) {
+            StringBuilder sb = new StringBuilder();
+            for (Map.Entry<String, String> property : properties.entrySet()) {
+                if (!sb.isEmpty()) {
+                    sb.append(';');
+                }
+                sb.append(property.getKey()).append('=').append(property.getValue());
+            }
+            return sb.toString();
+        }
+
+        private static void appendField(StringBuilder sb, String value) {
+            if (value == null) {
+                return;
+            }
+            boolean quote = false;
+            for (int i = 0; i < value.length() && !quote; i++) {
+                char c = value.charAt(i);
+                quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+            }
+            if (!quote) {
+                sb.append(value);
+                return;
+            }
+            sb.append('"');
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                if (c == '"') {
+                    sb.append('"');
+                }
+                sb.append(c);
+            }
+            sb.append('"');
+        }
+    };
+
+    /**
+     * Line written once before the first record, or {@code null}.
+     */
+    public abstract String header();
+
+    /**
+     * Appends one record, including its line terminator. Exactly one of {@code info} and {@code error} is set.
+     */
+    public abstract void appendRecord(StringBuilder sb, String url, DbConnectionInfo info, String error);
+}
@@ -0,0 +1,304 @@
+package org.example.dburlparser.io;
+
+import org.example.dburlparser.DbUrlParserFactory;
+import org.example.dburlparser.model.DbConnectionInfo;
+import org.example.dburlparser.parser.ParseResult;
+import org.example.dburlparser.parser.impl.sql.OracleUrlParser;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * File of parse results keyed by a 64-bit hash of the URL they were parsed from, so that a restarting process
+ * can take its datasource URLs' results from the last run instead of parsing them again.
+ * <p>
+ * {@link #load} reads the file into one array and decodes only its string table. The index of
+ * {@code (hash, record offset)} pairs is sorted by hash and binary-searched in place, and a record is decoded
+ * with {@link BinaryEncoding} when its URL is looked up. Layout, big-endian:
+ * <pre>
+ * int  magic, int version, long results version, int entry count, int offset of the string table
+ * entry count x (long URL hash, int record offset), ascending by hash
+ * records: varint URL length, UTF-8 URL, record
+ * string table
+ * </pre>
+ * Each record starts with its URL, which a lookup compares with the URL looked up before decoding the record,
+ * so a lookup never returns another URL's result even if their hashes collide.
+ * <p>
+ * A snapshot written with another {@link #VERSION} layout or {@link #RESULTS_VERSION}, or by another release
+ * of the library, is rejected; since it is only a cache, callers are expected to parse and rewrite it, as
+ * {@link #warmStart} does. Oracle TNS alias results depend on {@code tnsnames.ora}, which can change between
+ * runs, and are never stored.
+ */
+public final class ParseSnapshot {
+    public static final int VERSION = 2;
+    /**
+     * Version of the parsers' results: bump it with any change that makes a parser return a different result
+     * for the same URL, so that snapshots of the old results are rebuilt.
+     */
+    public static final int RESULTS_VERSION = 1;
+    private static final int MAGIC = 0x44425053; // "DBPS"
+    private static final int HEADER_SIZE = 24;
+    // The results version of this build: RESULTS_VERSION, and the library release when it runs from a jar.
+    private static final long RESULTS = hash(RESULTS_VERSION + "/"
+            + Objects.requireNonNullElse(ParseSnapshot.class.getPackage().getImplementationVersion(), ""));
+    private static final int INDEX_ENTRY_SIZE = 12;
+
+    private final byte[] bytes;
+    private final int entries;
+    private final String[] strings;
+
+    private ParseSnapshot(byte[] bytes, int entries, String[] strings) {
+        this.bytes = bytes;
+        this.entries = entries;
+        this.strings = strings;
+    }
+
+    /**
+     * Reads {@code file} and decodes its string table.
+     *
+     * @throws IOException if the file cannot be read or is not a snapshot of this {@link #VERSION} and results
+     *                     version
+     */
+    public static ParseSnapshot load(Path file) throws IOException {
+        // Read in one call rather than mapped: every byte is decoded at startup anyway, and the first mapping in a
+        // process costs tens of milliseconds of JDK initialisation, more than the snapshot saves on small fleets.
+        byte[] bytes = Files.readAllBytes(file);
+        if (bytes.length < HEADER_SIZE) {
+            throw new IOException("Not a parse snapshot: " + file);
+        }
+        if (readInt(bytes, 0) != MAGIC) {
+            throw new IOException("Not a parse snapshot: " + file);
+        }
+        if (readInt(bytes, 4) != VERSION) {
+            throw new IOException("Parse snapshot " + file + " has version " + readInt(bytes, 4) + ", expected "
+                    + VERSION);
+        }
+        if (readLong(bytes, 8) != RESULTS) {
+            throw new IOException("Parse snapshot " + file + " holds the results of another parser version");
+        }
+        int entries = readInt(bytes, 16);
+        int stringsOffset = readInt(bytes, 20);
+        if (entries < 0 || stringsOffset < HEADER_SIZE + (long) entries * INDEX_ENTRY_SIZE
+                || stringsOffset > bytes.length) {
+            throw new IOException("Corrupt parse snapshot: " + file);
+        }
+        try {
+            String[] strings = BinaryEncoding.readStrings(new BinaryEncoding.Input(bytes, stringsOffset));
+            return new ParseSnapshot(bytes, entries, strings);
+        } catch (IndexOutOfBoundsException | IllegalArgumentException e) {
+            throw new IOException("Corrupt parse snapshot: " + file, e);
+        }
+    }
+
+    /**
+     * Writes the results to {@code file}, replacing it atomically so that a process loading it concurrently
+     * sees either the old or the new snapshot. Results of {@link OracleUrlParser#isTnsAlias TNS alias} URLs
+     * are left out.
+     */
+    public static void write(Path file, Map<String, DbConnectionInfo> results) throws IOException {
+        int count = 0;
+        String[] urls = new String[results.size()];
+        long[] hashes = new long[results.size()];
+        DbConnectionInfo[] infos = new DbConnectionInfo[results.size()];
+        for (Map.Entry<String, DbConnectionInfo> result : results.entrySet()) {
+            if (OracleUrlParser.isTnsAlias(result.getKey())) {
+                continue;
+            }
+            urls[count] = result.getKey();
+            hashes[count] = hash(result.getKey());
+            infos[count++] = result.getValue();
+        }
+        Integer[] order = new Integer[count];
+        Arrays.setAll(order, i -> i);
+        Arrays.sort(order, (a, b) -> Long.compare(hashes[a], hashes[b]));
+
+        BinaryEncoding.StringTable strings = new BinaryEncoding.StringTable();
+        BinaryEncoding.Output records = new BinaryEncoding.Output(count * 128);
+        int[] offsets = new int[count];
+        for (int i = 0; i < count; i++) {
+            offsets[i] = records.size();
+            byte[] url = urls[order[i]].getBytes(StandardCharsets.UTF_8);
+            records.writeVarint(url.length);
+            records.writeBytes(url, 0, url.length);
+            BinaryEncoding.writeRecord(records, infos[order[i]], strings);
+        }
+
+        int recordsOffset = HEADER_SIZE + count * INDEX_ENTRY_SIZE;
+        BinaryEncoding.Output out = new BinaryEncoding.Output(recordsOffset + records.size() + strings.encodedSize());
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.writeLong(RESULTS);
+        out.writeInt(count);
+        out.writeInt(recordsOffset + records.size());
+        for (int i = 0; i < count; i++) {
+            out.writeLong(hashes[order[i]]);
+            out.writeInt(recordsOffset + offsets[i]);
+        }
+        records.writeTo(out);
+        strings.writeTo(out);
+
+        Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            ByteBuffer bytes = out.asByteBuffer();
+            while (bytes.hasRemaining()) {
+                channel.write(bytes);
+            }
+        }
+        Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Parses {@code urls} at startup, taking the result of every URL found in the snapshot {@code file} instead
+     * of parsing it, and rewrites the file if any URL had to be parsed or was dropped. A missing, outdated or
+     * corrupt snapshot counts as empty.
+     *
+     * @return the result of each URL, in iteration order of {@code urls}
+     * @throws IllegalArgumentException if a URL is invalid, as {@link DbUrlParserFactory#parse} does
+     * @throws IOException if the snapshot cannot be rewritten
+     */
+    public static Map<String, DbConnectionInfo> warmStart(Path file, Collection<String> urls) throws IOException {
+        ParseSnapshot snapshot = null;
+        try {
+            snapshot = load(file);
+        } catch (IOException e) {
+            // Missing, outdated or corrupt: rebuilt below.
+        }
+        Map<String, DbConnectionInfo> results = new LinkedHashMap<>(Math.max(16, urls.size() * 4 / 3 + 1));
+        int hits = 0;
+        int stored = 0;
+        for (String url : urls) {
+            if (results.containsKey(url)) {
+                continue;
+            }
+            DbConnectionInfo info = snapshot == null ? null : snapshot.get(url);
+            if (info != null) {
+                hits++;
+            } else {
+                info = DbUrlParserFactory.parse(url);
+            }
+            results.put(url, info);
+            if (!OracleUrlParser.isTnsAlias(url)) {
+                stored++;
+            }
+        }
+        if (snapshot == null || hits != stored || snapshot.size() != stored) {
+            write(file, results);
+        }
+        return results;
+    }
+
+    /**
+     * Number of results in the snapshot.
+     */
+    public int size() {
+        return entries;
+    }
+
+    /**
+     * The result stored for {@code url}, or {@code null} if the snapshot has none or its record is damaged.
+     */
+    public DbConnectionInfo get(CharSequence url) {
+        long hash = hash(url);
+        // The first entry with this hash or a greater one; any further entries with the hash follow it.
+        int low = 0;
+        int high = entries;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (readLong(bytes, HEADER_SIZE + mid * INDEX_ENTRY_SIZE) < hash) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        try {
+            for (int i = low; i < entries; i++) {
+                int entry = HEADER_SIZE + i * INDEX_ENTRY_SIZE;
+                if (readLong(bytes, entry) != hash) {
+                    return null;
+                }
+                BinaryEncoding.Input in = new BinaryEncoding.Input(bytes, readInt(bytes, entry + 8));
+                int length = in.readCount(1);
+                if (urlEquals(url, in.position(), length)) {
+                    in = new BinaryEncoding.Input(bytes, in.position() + length);
+                    return BinaryEncoding.readRecord(in, strings);
+                }
+            }
+        } catch (IndexOutOfBoundsException | IllegalArgumentException e) {
+            // A damaged record is a cache miss: the URL is parsed instead.
+        }
+        return null;
+    }
+
+    /**
+     * Whether the UTF-8 URL at {@code bytes[offset, offset + length)} is {@code url}, compared without decoding
+     * it unless it has non-ASCII characters.
+     */
+    private boolean urlEquals(CharSequence url, int offset, int length) {
+        Objects.checkFromIndexSize(offset, length, bytes.length);
+        if (length < url.length()) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            byte b = bytes[offset + i];
+            if (b < 0) {
+                return new String(bytes, offset, length, StandardCharsets.UTF_8).contentEquals(url);
+            }
+            if (i >= url.length() || url.charAt(i) != b) {
+                return false;
+            }
+        }
+        return length == url.length();
+    }
+
+    /**
+     * The stored result for {@code url}, or the result of parsing it if the snapshot has none.
+     */
+    public ParseResult tryParse(String url) {
+        DbConnectionInfo info = get(url);
+        return info != null ? ParseResult.success(info) : DbUrlParserFactory.tryParse(url);
+    }
+
+    private static long readLong(byte[] bytes, int offset) {
+        return (long) readInt(bytes, offset) << 32 | readInt(bytes, offset + 4) & 0xFFFFFFFFL;
+    }
+
+    private static int readInt(byte[] bytes, int offset) {
+        return (bytes[offset] & 0xFF) << 24 | (bytes[offset + 1] & 0xFF) << 16 | (bytes[offset + 2] & 0xFF) << 8
+                | bytes[offset + 3] & 0xFF;
+    }
+
+    /**
+     * 64-bit hash of the URL's characters. Four characters are packed into one long per multiply-xorshift
+     * step, so hashing is not slower than the parser's own scan of the URL.
+     */
+    static long hash(CharSequence url) {
+        int length = url.length();
+        long h = length * 0x9e3779b97f4a7c15L;
+        int i = 0;
+        for (; i + 4 <= length; i += 4) {
+            long word = url.charAt(i) | (long) url.charAt(i + 1) << 16 | (long) url.charAt(i + 2) << 32
+                    | (long) url.charAt(i + 3) << 48;
+            h = (h ^ word) * 0x9e3779b97f4a7c15L;
+            h ^= h >>> 29;
+        }
+        for (; i < length; i++) {
+            h = (h ^ url.charAt(i)) * 0x9e3779b97f4a7c15L;
+            h ^= h >>> 29;
+        }
+        h ^= h >>> 32;
+        h *= 0xd6e8feb86659fd93L;
+        return h ^ h >>> 32;
+    }
+}
@@ -0,0 +1,89 @@
+package org.example.dburlparser.io;
+
+import org.example.dburlparser.DbUrlParserFactory;
+import org.example.dburlparser.model.DbConnectionInfo;
+import org.example.dburlparser.parser.ParseResult;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+
+/**
+ * Streams a file of newline separated URLs through the parsers and writes one result record per URL.
+ * The input is read through a {@link MappedLineReader} and the output through a buffered channel writer,
+ * so memory use does not depend on the size of the input.
+ */
+public final class UrlFileParser {
+    private static final int OUTPUT_BUFFER_SIZE = 1 << 16;
+
+    private UrlFileParser() {
+    }
+
+    /**
+     * Parses every non-blank line of {@code input} and writes the results to {@code output} in {@code format}.
+     * The channel is flushed but not closed.
+     */
+    public static Summary parse(Path input, OutputFormat format, WritableByteChannel output) throws IOException {
+        long start = System.nanoTime();
+        long urls = 0;
+        long failures = 0;
+        long bytes;
+        Writer writer = new BufferedWriter(Channels.newWriter(output, StandardCharsets.UTF_8), OUTPUT_BUFFER_SIZE);
+        StringBuilder record = new StringBuilder(256);
+        try (MappedLineReader reader = new MappedLineReader(input)) {
+            if (format.header() != null) {
+                writer.write(format.header());
+            }
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                urls++;
+                DbConnectionInfo info = null;
+                String error = null;
+                switch (DbUrlParserFactory.tryParse(line)) {
+                    case ParseResult.Success success -> info = success.info();
+                    case ParseResult.Failure failure -> {
+                        failures++;
+                        error = failure.message();
+                    }
+                }
+                record.setLength(0);
+                format.appendRecord(record, line, info, error);
+                writer.append(record);
+            }
+            bytes = reader.position();
+        }
+        writer.flush();
+        return new Summary(urls, failures, bytes, System.nanoTime() - start);
+    }
+
+    /**
+     * Totals of one {@link #parse} run.
+     */
+    public record Summary(long urls, long failures, long bytes, long elapsedNanos) {
+
+        public double urlsPerSecond() {
+            return urls / seconds();
+        }
+
+        public double megabytesPerSecond() {
+            return bytes / (1024.0 * 1024.0) / seconds();
+        }
+
+        private double seconds() {
+            return Math.max(elapsedNanos, 1) / 1_000_000_000.0;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("Parsed %d URLs (%d failed, %d bytes) in %.3f s: %.0f URLs/s, %.2f MB/s",
+                    urls, failures, bytes, seconds(), urlsPerSecond(), megabytesPerSecond());
+        }
+    }
+}
@@ -0,0 +1,514 @@
+package org.example.dburlparser.io;
+
+import org.example.dburlparser.model.DbConnectionInfo;
+import org.example.dburlparser.model.DbType;
+import org.example.dburlparser.model.HostInfo;
+import org.example.dburlparser.model.UrlFormat;
+import org.example.dburlparser.parser.grammar.Dialects;
+import org.example.dburlparser.parser.grammar.UrlGrammar;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes a {@link DbConnectionInfo} back as a URL that the parser of its type reads to an equal result: the
+ * inverse of {@code parse}. The dialects of {@link Dialects} are written with their grammar's separators;
+ * Oracle results in any of the {@link UrlFormat#ORACLE_SID SID}, {@link UrlFormat#ORACLE_SERVICE_NAME service
+ * name} or {@link UrlFormat#ORACLE_TNS TNS descriptor} forms.
+ * <p>
+ * Every method measures the URL first and then writes it in one pass into a target of exactly that size, a
+ * {@code StringBuilder}, a {@code byte[]} or the caller's {@code ByteBuffer}, with no intermediate strings;
+ * bytes are UTF-8. Hosts are written with their port unless it is the default of the type and form, and host
+ * names, the database and properties are written as they are, since the parsers do not decode them either.
+ * A value the parser would split differently is rejected with an {@link IllegalArgumentException} instead:
+ * whitespace anywhere, any of {@code ,/?&;:@=()} in a host name, database or property key, and the pair
+ * separator in a property value. A SQL Server database that is not already the value of its
+ * {@code databaseName} property is written as it.
+ */
+public final class UrlFormatter {
+    private static final int ORACLE_DEFAULT_PORT = 1521;
+    // Characters that end a host name, database or property key in one of the forms.
+    private static final String STRUCTURAL = ",/?&;:@=()";
+    private static final UrlGrammar[] GRAMMARS = new UrlGrammar[DbType.values().length];
+
+    static {
+        for (UrlGrammar grammar : Dialects.all()) {
+            GRAMMARS[grammar.type().ordinal()] = grammar;
+        }
+    }
+
+    private UrlFormatter() {
+    }
+
+    /**
+     * The form {@link #format(DbConnectionInfo)} writes results of {@code type} in: the service name form for
+     * Oracle, which holds any number of hosts, and {@link UrlFormat#STANDARD} otherwise.
+     */
+    public static UrlFormat defaultFormat(DbType type) {
+        return type == DbType.ORACLE ? UrlFormat.ORACLE_SERVICE_NAME : UrlFormat.STANDARD;
+    }
+
+    public static String format(DbConnectionInfo info) {
+        return format(info, defaultFormat(info.type()));
+    }
+
+    /**
+     * @throws IllegalArgumentException if {@code info} cannot be written in {@code format}: another type's
+     *                                  format, a TNS alias, a SID URL with other than one host, a missing
+     *                                  required or an empty database, or a value with a character the URL
+     *                                  cannot hold
+     */
+    public static String format(DbConnectionInfo info, UrlFormat format) {
+        return formatTo(new StringBuilder(length(info, format)), info, format).toString();
+    }
+
+    /**
+     * Appends the URL to {@code sb}, growing it at most once.
+     */
+    public static StringBuilder formatTo(StringBuilder sb, DbConnectionInfo info, UrlFormat format) {
+        sb.ensureCapacity(sb.length() + length(info, format));
+        write(new CharSink(sb), info, format);
+        return sb;
+    }
+
+    /**
+     * The URL in UTF-8.
+     */
+    public static byte[] formatBytes(DbConnectionInfo info, UrlFormat format) {
+        LengthSink length = measure(info, format, true);
+        byte[] bytes = new byte[length.length];
+        write(new ArraySink(bytes, 0, length.ascii), info, format);
+        return bytes;
+    }
+
+    /**
+     * Writes the URL in UTF-8 at the buffer's position and advances it.
+     *
+     * @return the number of bytes written
+     * @throws BufferOverflowException if the buffer has less room than {@link #encodedLength}; nothing is written
+     */
+    public static int formatTo(ByteBuffer target, DbConnectionInfo info, UrlFormat format) {
+        LengthSink measured = measure(info, format, true);
+        int length = measured.length;
+        if (target.remaining() < length) {
+            throw new BufferOverflowException();
+        }
+        if (target.hasArray()) {
+            int position = target.position();
+            write(new ArraySink(target.array(), target.arrayOffset() + position, measured.ascii), info, format);
+            target.position(position + length);
+        } else {
+            write(new BufferSink(target), info, format);
+        }
+        return length;
+    }
+
+    /**
+     * Length of the URL in characters.
+     */
+    public static int length(DbConnectionInfo info, UrlFormat format) {
+        return measure(info, format, false).length;
+    }
+
+    /**
+     * Length of the URL in UTF-8 bytes.
+     */
+    public static int encodedLength(DbConnectionInfo info, UrlFormat format) {
+        return measure(info, format, true).length;
+    }
+
+    private static LengthSink measure(DbConnectionInfo info, UrlFormat format, boolean utf8) {
+        LengthSink length = new LengthSink(utf8);
+        write(length, info, format);
+        return length;
+    }
+
+    private static void write(Sink out, DbConnectionInfo info, UrlFormat format) {
+        DbType type = info.type();
+        if (type == DbType.ORACLE) {
+            switch (format) {
+                case ORACLE_SID -> writeOracleSid(out, info);
+                case ORACLE_SERVICE_NAME -> writeOracleServiceName(out, info);
+                case ORACLE_TNS -> writeOracleTns(out, info);
+                default -> throw unsupported(info, format);
+            }
+            return;
+        }
+        UrlGrammar grammar = GRAMMARS[type.ordinal()];
+        if (grammar == null || format != UrlFormat.STANDARD) {
+            throw unsupported(info, format);
+        }
+        writeGrammar(out, info, grammar);
+    }
+
+    private static void writeGrammar(Sink out, DbConnectionInfo info, UrlGrammar grammar) {
+        String database = info.database();
+        if (database == null && grammar.databaseRequired()) {
+            throw new IllegalArgumentException("A " + info.type() + " URL needs a database");
+        }
+        if (database != null && database.isEmpty()) {
+            // Read back as missing, or as the default database of the type.
+            throw new IllegalArgumentException("Cannot write an empty " + info.type() + " database");
+        }
+        out.append(info.type().getPrefix());
+        writeHosts(out, info.hosts(), grammar.defaultPort());
+
+        Map<String, String> properties = info.properties();
+        char separator = grammar.propertiesSeparator();
+        char pairSeparator = grammar.pairSeparator();
+        if (grammar.databaseSeparator() != 0) {
+            if (database != null) {
+                out.append(grammar.databaseSeparator());
+                out.appendText(database, STRUCTURAL);
+            }
+            writeProperties(out, properties, separator, pairSeparator, null);
+            return;
+        }
+
+        // The database is a property: the first key whose value the parser would take.
+        String databaseKey = null;
+        if (database != null && !database.equals(databaseProperty(properties, grammar.databasePropertyKeys()))) {
+            databaseKey = grammar.databasePropertyKeys().get(0);
+            out.append(separator);
+            writePair(out, databaseKey, database, pairSeparator);
+            separator = pairSeparator;
+        }
+        writeProperties(out, properties, separator, pairSeparator, databaseKey);
+    }
+
+    private static String databaseProperty(Map<String, String> properties, List<String> keys) {
+        for (String key : keys) {
+            String value = properties.get(key);
+            if (value != null && !value.isEmpty()) {
+                return value;
+            }
+        }
+        return null;
+    }
+
+    private static void writeOracleSid(Sink out, DbConnectionInfo info) {
+        if (info.hosts().size() != 1) {
+            throw new IllegalArgumentException("An Oracle SID URL names exactly one host, not "
+                    + info.hosts().size());
+        }
+        HostInfo host = info.hosts().get(0);
+        out.append(DbType.ORACLE.getPrefix());
+        out.appendText(hostName(host), STRUCTURAL);
+        out.append(':');
+        out.append(host.port());
+        out.append(':');
+        out.appendText(oracleDatabase(info), STRUCTURAL);
+        writeProperties(out, info.properties(), '?', '&', null);
+    }
+
+    private static void writeOracleServiceName(Sink out, DbConnectionInfo info) {
+        out.append(DbType.ORACLE.getPrefix());
+        out.append('/');
+        out.append('/');
+        writeHosts(out, info.hosts(), ORACLE_DEFAULT_PORT);
+        out.append('/');
+        out.appendText(oracleDatabase(info), STRUCTURAL);
+        writeProperties(out, info.properties(), '?', '&', null);
+    }
+
+    /**
+     * {@code (DESCRIPTION=(ADDRESS=...)(CONNECT_DATA=(SERVICE_NAME=...)))}, with an {@code ADDRESS_LIST} around
+     * more than one address.
+     */
+    private static void writeOracleTns(Sink out, DbConnectionInfo info) {
+        List<HostInfo> hosts = info.hosts();
+        out.append(DbType.ORACLE.getPrefix());
+        out.append("(DESCRIPTION=");
+        if (hosts.size() > 1) {
+            out.append("(ADDRESS_LIST=");
+        }
+        for (HostInfo host : hosts) {
+            out.append("(ADDRESS=(PROTOCOL=TCP)(HOST=");
+            out.appendText(hostName(host), STRUCTURAL);
+            out.append(")(PORT=");
+            out.append(host.port());
+            out.append("))");
+        }
+        if (hosts.size() > 1) {
+            out.append(')');
+        }
+        out.append("(CONNECT_DATA=(SERVICE_NAME=");
+        out.appendText(oracleDatabase(info), STRUCTURAL);
+        out.append(")))");
+        writeProperties(out, info.properties(), '?', '&', null);
+    }
+
+    private static String oracleDatabase(DbConnectionInfo info) {
+        if (info.database() == null || info.database().isEmpty()) {
+            throw new IllegalArgumentException("An Oracle URL needs a SID or service name");
+        }
+        return info.database();
+    }
+
+    private static String hostName(HostInfo host) {
+        if (host.host().isEmpty()) {
+            throw new IllegalArgumentException("Cannot write a host without a name");
+        }
+        return host.host();
+    }
+
+    private static void writeHosts(Sink out, List<HostInfo> hosts, int defaultPort) {
+        for (int i = 0; i < hosts.size(); i++) {
+            HostInfo host = hosts.get(i);
+            if (i > 0) {
+                out.append(',');
+            }
+            out.appendText(hostName(host), STRUCTURAL);
+            if (host.port() != defaultPort) {
+                out.append(':');
+                out.append(host.port());
+            }
+        }
+    }
+
+    /**
+     * Writes {@code properties} after {@code separator}, skipping {@code skip}, which was written already.
+     */
+    private static void writeProperties(Sink out, Map<String, String> properties, char separator,
+                                        char pairSeparator, String skip) {
+        for (Map.Entry<String, String> property : properties.entrySet()) {
+            if (property.getKey().equals(skip)) {
+                continue;
+            }
+            out.append(separator);
+            writePair(out, property.getKey(), property.getValue(), pairSeparator);
+            separator = pairSeparator;
+        }
+    }
+
+    /**
+     * Writes {@code key=value}. The parsers split a pair at its first {@code '='}, so only the key must not
+     * contain one.
+     */
+    private static void writePair(Sink out, String key, String value, char pairSeparator) {
+        out.appendText(key, STRUCTURAL);
+        out.append('=');
+        out.appendText(value, String.valueOf(pairSeparator));
+    }
+
+    private static IllegalArgumentException unsupported(DbConnectionInfo info, UrlFormat format) {
+        return new IllegalArgumentException("Cannot write a " + info.type() + " URL in the " + format + " format");
+    }
+
+    /**
+     * Target of one pass over the URL: measured, or written as characters or UTF-8 bytes. Separators are
+     * ASCII, so only strings need encoding.
+     */
+    private interface Sink {
+        void append(String s);
+
+        void append(char c);
+
+        void append(int value);
+
+        /**
+         * Appends a host name, database or property key or value, which must not contain whitespace or any of
+         * {@code separators}. Only {@link LengthSink} checks: every URL is measured before it is written.
+         */
+        default void appendText(String s, String separators) {
+            append(s);
+        }
+    }
+
+    private static final class LengthSink implements Sink {
+        private final boolean utf8;
+        private int length;
+        // Whether every character measured in UTF-8 is ASCII, and so its own byte.
+        private boolean ascii = true;
+
+        LengthSink(boolean utf8) {
+            this.utf8 = utf8;
+        }
+
+        @Override
+        public void append(String s) {
+            length += utf8 ? utf8Length(s) : s.length();
+        }
+
+        @Override
+        public void append(char c) {
+            length++;
+        }
+
+        @Override
+        public void append(int value) {
+            length += digits(value);
+        }
+
+        @Override
+        public void appendText(String s, String separators) {
+            for (int i = 0; i < s.length(); i++) {
+                char c = s.charAt(i);
+                if (c <= ' ' || separators.indexOf(c) >= 0) {
+                    throw new IllegalArgumentException("Cannot write \"" + s + "\" into a URL: it contains "
+                            + (c <= ' ' ? "whitespace" : "'" + c + "'"));
+                }
+            }
+            append(s);
+        }
+
+        private int utf8Length(String s) {
+            int n = s.length();
+            int length = n;
+            for (int i = 0; i < n; i++) {
+                char c = s.charAt(i);
+                if (c >= 0x80) {
+                    ascii = false;
+                    if (c < 0x800) {
+                        length++;
+                    } else if (Character.isHighSurrogate(c) && i + 1 < n && Character.isLowSurrogate(s.charAt(i + 1))) {
+                        // Four bytes for the pair.
+                        length += 2;
+                        i++;
+                    } else if (!Character.isSurrogate(c)) {
+                        length += 2;
+                    }
+                }
+            }
+            return length;
+        }
+    }
+
+    private static final class CharSink implements Sink {
+        private final StringBuilder sb;
+
+        CharSink(StringBuilder sb) {
+            this.sb = sb;
+        }
+
+        @Override
+        public void append(String s) {
+            sb.append(s);
+        }
+
+        @Override
+        public void append(char c) {
+            sb.append(c);
+        }
+
+        @Override
+        public void append(int value) {
+            sb.append(value);
+        }
+    }
+
+    /**
+     * UTF-8 writer; a lone surrogate becomes {@code '?'}, as {@link String#getBytes} writes it.
+     */
+    private abstract static class ByteSink implements Sink {
+        abstract void put(int b);
+
+        @Override
+        public void append(String s) {
+            int n = s.length();
+            for (int i = 0; i < n; i++) {
+                char c = s.charAt(i);
+                if (c < 0x80) {
+                    put(c);
+                } else if (c < 0x800) {
+                    put(0xC0 | c >> 6);
+                    put(0x80 | c & 0x3F);
+                } else if (Character.isHighSurrogate(c) && i + 1 < n && Character.isLowSurrogate(s.charAt(i + 1))) {
+                    int cp = Character.toCodePoint(c, s.charAt(++i));
+                    put(0xF0 | cp >> 18);
+                    put(0x80 | cp >> 12 & 0x3F);
+                    put(0x80 | cp >> 6 & 0x3F);
+                    put(0x80 | cp & 0x3F);
+                } else if (Character.isSurrogate(c)) {
+                    put('?');
+                } else {
+                    put(0xE0 | c >> 12);
+                    put(0x80 | c >> 6 & 0x3F);
+                    put(0x80 | c & 0x3F);
+                }
+            }
+        }
+
+        @Override
+        public final void append(char c) {
+            put(c);
+        }
+
+        @Override
+        public final void append(int value) {
+            long v = value;
+            if (v < 0) {
+                put('-');
+                v = -v;
+            }
+            long divisor = 1;
+            for (int i = digits(v); i > 1; i--) {
+                divisor *= 10;
+            }
+            for (; divisor > 0; divisor /= 10) {
+                put((int) ('0' + v / divisor % 10));
+            }
+        }
+    }
+
+    /**
+     * Writes into an array, without the bounds and position bookkeeping of a {@code ByteBuffer} per byte.
+     */
+    private static final class ArraySink extends ByteSink {
+        private final byte[] bytes;
+        private final boolean ascii;
+        private int position;
+
+        ArraySink(byte[] bytes, int position, boolean ascii) {
+            this.bytes = bytes;
+            this.position = position;
+            this.ascii = ascii;
+        }
+
+        /**
+         * Copies an ASCII URL's strings in bulk, as {@code StringBuilder} does; {@code getBytes} keeps the low
+         * byte of each character, which is the character itself.
+         */
+        @Override
+        @SuppressWarnings("deprecation")
+        public void append(String s) {
+            if (!ascii) {
+                super.append(s);
+                return;
+            }
+            s.getBytes(0, s.length(), bytes, position);
+            position += s.length();
+        }
+
+        @Override
+        void put(int b) {
+            bytes[position++] = (byte) b;
+        }
+    }
+
+    private static final class BufferSink extends ByteSink {
+        private final ByteBuffer out;
+
+        BufferSink(ByteBuffer out) {
+            this.out = out;
+        }
+
+        @Override
+        void put(int b) {
+            out.put((byte) b);
+        }
+    }
+
+    /**
+     * Characters of {@code value} in decimal, including a minus sign.
+     */
+    private static int digits(long value) {
+        int digits = value < 0 ? 2 : 1;
+        for (long v = Math.abs(value); v >= 10; v /= 10) {
+            digits++;
+        }
+        return digits;
+    }
+}
@@ -0,0 +1,158 @@
+package org.example.dburlparser.io;
+
+import org.example.dburlparser.model.DbType;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Queue;
+
+/**
+ * Aho-Corasick automaton over the ASCII {@link DbType} prefixes, compiled into a DFA so that finding every
+ * prefix in a byte stream costs two array loads per byte however many database types there are.
+ * <p>
+ * Bytes that occur in no prefix share one class, so the transition table has a row of a few dozen classes per
+ * state rather than 256 entries and stays in L1 cache. States are numbered by their row offset, which saves
+ * a multiplication per byte.
+ */
+final class UrlPrefixAutomaton {
+    private final DbType[] types;
+    private final byte[] classes = new byte[256];
+    private final int classCount;
+    // Row offset of the next state, by row offset of the current state plus byte class.
+    private final int[] transitions;
+    // Index into types + 1 of the longest prefix ending in the state at each row offset, 0 if none.
+    private final byte[] matches;
+
+    UrlPrefixAutomaton(DbType[] types) {
+        List<DbType> patterns = new ArrayList<>();
+        for (DbType type : types) {
+            if (!type.getPrefix().isEmpty()) {
+                patterns.add(type);
+            }
+        }
+        this.types = patterns.toArray(new DbType[0]);
+
+        int count = 1;
+        for (DbType type : this.types) {
+            for (char c : type.getPrefix().toCharArray()) {
+                if (c >= 128) {
+                    throw new IllegalArgumentException("Prefix of " + type + " is not ASCII");
+                }
+                if (classes[c] == 0) {
+                    classes[c] = (byte) count++;
+                }
+            }
+        }
+        this.classCount = count;
+
+        // Trie of the prefixes: edges[state][class], -1 for none.
+        List<int[]> edges = new ArrayList<>();
+        List<Integer> output = new ArrayList<>();
+        edges.add(newRow());
+        output.add(0);
+        for (int t = 0; t < this.types.length; t++) {
+            int state = 0;
+            for (char c : this.types[t].getPrefix().toCharArray()) {
+                int next = edges.get(state)[classes[c]];
+                if (next < 0) {
+                    next = edges.size();
+                    edges.get(state)[classes[c]] = next;
+                    edges.add(newRow());
+                    output.add(0);
+                }
+                state = next;
+            }
+            output.set(state, t + 1);
+        }
+
+        // Breadth first, so a state's failure state is complete when the state is reached: every missing edge
+        // is taken from it, and so is the output of a state that ends no prefix of its own.
+        int states = edges.size();
+        int[] failure = new int[states];
+        Queue<Integer> queue = new ArrayDeque<>();
+        int[] root = edges.get(0);
+        for (int c = 0; c < classCount; c++) {
+            if (root[c] < 0) {
+                root[c] = 0;
+            } else {
+                queue.add(root[c]);
+            }
+        }
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            if (output.get(state) == 0) {
+                output.set(state, output.get(failure[state]));
+            }
+            int[] row = edges.get(state);
+            int[] fallback = edges.get(failure[state]);
+            for (int c = 0; c < classCount; c++) {
+                if (row[c] < 0) {
+                    row[c] = fallback[c];
+                } else {
+                    failure[row[c]] = fallback[c];
+                    queue.add(row[c]);
+                }
+            }
+        }
+
+        transitions = new int[states * classCount];
+        matches = new byte[states * classCount];
+        for (int s = 0; s < states; s++) {
+            int[] row = edges.get(s);
+            for (int c = 0; c < classCount; c++) {
+                transitions[s * classCount + c] = row[c] * classCount;
+            }
+            matches[s * classCount] = (byte) (int) output.get(s);
+        }
+    }
+
+    private int[] newRow() {
+        int[] row = new int[classCount];
+        Arrays.fill(row, -1);
+        return row;
+    }
+
+    /**
+     * Feeds {@code bytes[from, to)} to {@code cursor} up to the end of the first prefix. Returns the index after
+     * it, with {@link Cursor#match()} set, or {@code -1} if no prefix ends in the range.
+     */
+    int find(Cursor cursor, byte[] bytes, int from, int to) {
+        int[] transitions = this.transitions;
+        byte[] classes = this.classes;
+        byte[] matches = this.matches;
+        int state = cursor.state;
+        for (int i = from; i < to; i++) {
+            state = transitions[state + classes[bytes[i] & 0xFF]];
+            if (matches[state] != 0) {
+                cursor.state = state;
+                cursor.match = types[matches[state] - 1];
+                return i + 1;
+            }
+        }
+        cursor.state = state;
+        cursor.match = null;
+        return -1;
+    }
+
+    /**
+     * Automaton state carried from one buffer of a stream to the next.
+     */
+    static final class Cursor {
+        private int state;
+        private DbType match;
+
+        /**
+         * The type whose prefix the last {@link #find} stopped at, the longest if several end there.
+         */
+        DbType match() {
+            return match;
+        }
+
+        void reset() {
+            state = 0;
+            match = null;
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package org.example.dburlparser.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free histogram of non-negative values with power-of-two buckets: bucket {@code i} counts values
+ * in {@code [2^(i-1), 2^i)}, bucket 0 counts zero. Recording is one {@code numberOfLeadingZeros} and one
+ * striped {@link LongAdder} increment, so concurrent writers do not contend on a shared cache line.
+ */
+public final class Log2Histogram {
+    public static final int BUCKETS = 64;
+
+    private final LongAdder[] counts = new LongAdder[BUCKETS];
+    private final LongAdder sum = new LongAdder();
+
+    public Log2Histogram() {
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] = new LongAdder();
+        }
+    }
+
+    public void record(long value) {
+        long clamped = Math.max(value, 0);
+        counts[Math.min(BUCKETS - 1, 64 - Long.numberOfLeadingZeros(clamped))].increment();
+        sum.add(clamped);
+    }
+
+    public Snapshot snapshot() {
+        long[] values = new long[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++) {
+            values[i] = counts[i].sum();
+        }
+        return new Snapshot(values, sum.sum());
+    }
+
+    /**
+     * Exclusive upper bound of bucket {@code i}.
+     */
+    public static long upperBound(int bucket) {
+        return bucket >= 63 ? Long.MAX_VALUE : 1L << bucket;
+    }
+
+    /**
+     * Point-in-time bucket counts. Buckets are read one by one, so a snapshot taken during concurrent
+     * recording may be off by the records made while it was taken.
+     */
+    public record Snapshot(long[] counts, long sum) {
+
+        public long count() {
+            long total = 0;
+            for (long c : counts) {
+                total += c;
+            }
+            return total;
+        }
+
+        public double mean() {
+            long count = count();
+            return count == 0 ? 0 : (double) sum / count;
+        }
+
+        /**
+         * Upper bound of the bucket holding the {@code quantile} (0..1) of the recorded values.
+         */
+        public long quantileUpperBound(double quantile) {
+            long count = count();
+            if (count == 0) {
+                return 0;
+            }
+            long rank = (long) Math.ceil(quantile * count);
+            long seen = 0;
+            for (int i = 0; i < counts.length; i++) {
+                seen += counts[i];
+                if (seen >= rank && counts[i] > 0) {
+                    return upperBound(i);
+                }
+            }
+            return upperBound(counts.length - 1);
+        }
+    }
+}
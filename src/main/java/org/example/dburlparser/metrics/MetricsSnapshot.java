@@ -0,0 +1,59 @@
+package org.example.dburlparser.metrics;
+
+import org.example.dburlparser.model.DbType;
+import org.example.dburlparser.model.ParseErrorCode;
+import org.example.dburlparser.model.UrlFormat;
+
+import java.util.Map;
+
+/**
+ * Point-in-time copy of a {@link ParseMetricsRegistry}. Types that were never parsed are omitted.
+ */
+public record MetricsSnapshot(Map<DbType, Map<UrlFormat, Long>> successes,
+                              Map<DbType, Map<ParseErrorCode, Long>> failures,
+                              Map<DbType, Log2Histogram.Snapshot> latencyNanos,
+                              Map<DbType, Log2Histogram.Snapshot> inputLength) {
+
+    public long successCount(DbType type, UrlFormat format) {
+        return successes.getOrDefault(type, Map.of()).getOrDefault(format, 0L);
+    }
+
+    public long failureCount(DbType type, ParseErrorCode reason) {
+        return failures.getOrDefault(type, Map.of()).getOrDefault(reason, 0L);
+    }
+
+    public String toPrometheus() {
+        StringBuilder sb = new StringBuilder(1024);
+        sb.append("# TYPE dburl_parse_success_total counter\n");
+        successes.forEach((type, byFormat) -> byFormat.forEach((format, count) ->
+                sb.append("dburl_parse_success_total{type=\"").append(type).append("\",format=\"").append(format)
+                        .append("\"} ").append(count).append('\n')));
+        sb.append("# TYPE dburl_parse_failure_total counter\n");
+        failures.forEach((type, byReason) -> byReason.forEach((reason, count) ->
+                sb.append("dburl_parse_failure_total{type=\"").append(type).append("\",reason=\"").append(reason)
+                        .append("\"} ").append(count).append('\n')));
+        appendHistogram(sb, "dburl_parse_latency_nanoseconds", latencyNanos);
+        appendHistogram(sb, "dburl_parse_input_length_chars", inputLength);
+        return sb.toString();
+    }
+
+    private static void appendHistogram(StringBuilder sb, String name, Map<DbType, Log2Histogram.Snapshot> histograms) {
+        sb.append("# TYPE ").append(name).append(" histogram\n");
+        histograms.forEach((type, histogram) -> {
+            long[] counts = histogram.counts();
+            int last = counts.length - 1;
+            while (last > 0 && counts[last] == 0) {
+                last--;
+            }
+            long cumulative = 0;
+            for (int i = 0; i <= last; i++) {
+                cumulative += counts[i];
+                sb.append(name).append("_bucket{type=\"").append(type).append("\",le=\"")
+                        .append(Log2Histogram.upperBound(i) - 1).append("\"} ").append(cumulative).append('\n');
+            }
+            sb.append(name).append("_bucket{type=\"").append(type).append("\",le=\"+Inf\"} ").append(cumulative).append('\n');
+            sb.append(name).append("_sum{type=\"").append(type).append("\"} ").append(histogram.sum()).append('\n');
+            sb.append(name).append("_count{type=\"").append(type).append("\"} ").append(cumulative).append('\n');
+        });
+    }
+}
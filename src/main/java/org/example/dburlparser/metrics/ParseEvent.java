@@ -0,0 +1,70 @@
+package org.example.dburlparser.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import org.example.dburlparser.model.DbConnectionInfo;
+import org.example.dburlparser.model.DbType;
+import org.example.dburlparser.model.UrlFormat;
+import org.example.dburlparser.parser.ParseResult;
+
+/**
+ * JFR event for one parse, timed from before the URL is scanned until its result is built. Stack traces are
+ * off: parses are frequent, and {@link ParseFailureEvent} records where the rejected ones came from.
+ */
+@Name(ParseEvent.NAME)
+@Label("Database URL Parse")
+@Category("Database URL Parser")
+@Description("A database URL parsed by DbUrlParserFactory or one of the parsers")
+@StackTrace(false)
+final class ParseEvent extends Event {
+    static final String NAME = "org.example.dburlparser.Parse";
+
+    @Label("Database Type")
+    String dbType;
+
+    @Label("URL Format")
+    String format;
+
+    @Label("Input Length")
+    @Description("Length of the URL in characters")
+    int inputLength;
+
+    @Label("Hosts")
+    int hostCount;
+
+    @Label("Properties")
+    int propertyCount;
+
+    @Label("Success")
+    boolean success;
+
+    /**
+     * Whether a recording has this event or {@link ParseFailureEvent} enabled. Without a recording the event
+     * classes are not instrumented and this is constant {@code false}, with the allocations optimised away.
+     */
+    static boolean recording() {
+        return new ParseEvent().isEnabled() || new ParseFailureEvent().isEnabled();
+    }
+
+    /**
+     * Fills in the outcome of the parse and commits the event if it passes the recording's settings.
+     */
+    void complete(DbType type, UrlFormat format, int inputLength, ParseResult result) {
+        if (!shouldCommit()) {
+            return;
+        }
+        this.dbType = type.name();
+        this.format = format.name();
+        this.inputLength = inputLength;
+        if (result instanceof ParseResult.Success(DbConnectionInfo info)) {
+            this.hostCount = info.hosts().size();
+            this.propertyCount = info.properties().size();
+            this.success = true;
+        }
+        commit();
+    }
+}
@@ -0,0 +1,57 @@
+package org.example.dburlparser.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import org.example.dburlparser.model.DbType;
+import org.example.dburlparser.model.UrlFormat;
+import org.example.dburlparser.parser.ParseResult;
+
+/**
+ * JFR event for a rejected URL, with the reason the parser gave and the stack trace of the caller that
+ * passed it in. The URL itself is not recorded, as it may carry credentials; the message quotes at most the
+ * part that was rejected.
+ */
+@Name(ParseFailureEvent.NAME)
+@Label("Database URL Parse Failure")
+@Category("Database URL Parser")
+@Description("A database URL rejected by DbUrlParserFactory or one of the parsers")
+final class ParseFailureEvent extends Event {
+    static final String NAME = "org.example.dburlparser.ParseFailure";
+
+    @Label("Database Type")
+    String dbType;
+
+    @Label("URL Format")
+    String format;
+
+    @Label("Input Length")
+    @Description("Length of the URL in characters")
+    int inputLength;
+
+    @Label("Error Code")
+    String code;
+
+    @Label("Message")
+    String message;
+
+    @Label("Offset")
+    @Description("Index in the URL at which the problem was detected")
+    int offset;
+
+    static void report(DbType type, UrlFormat format, int inputLength, ParseResult.Failure failure) {
+        ParseFailureEvent event = new ParseFailureEvent();
+        if (!event.isEnabled()) {
+            return;
+        }
+        event.dbType = type.name();
+        event.format = format.name();
+        event.inputLength = inputLength;
+        event.code = failure.code().name();
+        event.message = failure.message();
+        event.offset = failure.offset();
+        event.commit();
+    }
+}
@@ -0,0 +1,85 @@
+package org.example.dburlparser.metrics;
+
+import org.example.dburlparser.model.DbConnectionInfo;
+import org.example.dburlparser.model.DbType;
+import org.example.dburlparser.model.ParseErrorCode;
+import org.example.dburlparser.model.UrlFormat;
+import org.example.dburlparser.parser.ParseResult;
+
+import java.util.function.Function;
+
+/**
+ * Global hook through which the parsers report to a {@link ParseListener} and emit the
+ * {@code org.example.dburlparser.Parse} and {@code ParseFailure} JFR events.
+ * <p>
+ * Parsers read {@link #listener()} once per call and take their plain code path when it is {@code null}.
+ * With nothing attached, that call costs a volatile read and the {@code isEnabled()} checks of the two event
+ * classes: a constant {@code false} while JFR has not instrumented them, otherwise a read of their enabled flag.
+ */
+public final class ParseInstrumentation {
+    // Stands in for a listener while only JFR is recording, so that parsers take the instrumented path.
+    private static final ParseListener EVENTS_ONLY = new ParseListener() {
+        @Override
+        public void onSuccess(DbType type, UrlFormat format, int inputLength, DbConnectionInfo result,
+                              long elapsedNanos) {
+        }
+
+        @Override
+        public void onFailure(DbType type, UrlFormat format, int inputLength, ParseErrorCode reason,
+                              long elapsedNanos) {
+        }
+    };
+
+    private static volatile ParseListener listener;
+
+    private ParseInstrumentation() {
+    }
+
+    /**
+     * The attached listener; while a JFR recording has the parse events enabled and none is attached, a
+     * listener that ignores every callback. {@code null} otherwise.
+     */
+    public static ParseListener listener() {
+        ParseListener attached = listener;
+        return attached != null || !ParseEvent.recording() ? attached : EVENTS_ONLY;
+    }
+
+    /**
+     * Attaches {@code newListener}, replacing any previous one; {@code null} detaches.
+     */
+    public static void setListener(ParseListener newListener) {
+        listener = newListener;
+    }
+
+    /**
+     * Runs {@code parse} and reports its outcome and duration to {@code listener} and JFR.
+     */
+    public static ParseResult record(ParseListener listener, DbType type, UrlFormat format, CharSequence url,
+                                     Function<CharSequence, ParseResult> parse) {
+        ParseEvent event = new ParseEvent();
+        event.begin();
+        long start = System.nanoTime();
+        ParseResult result = parse.apply(url);
+        long elapsed = System.nanoTime() - start;
+        event.end();
+        switch (result) {
+            case ParseResult.Success success -> listener.onSuccess(type, format, url.length(), success.info(), elapsed);
+            case ParseResult.Failure failure -> {
+                listener.onFailure(type, format, url.length(), failure.code(), elapsed);
+                ParseFailureEvent.report(type, format, url.length(), failure);
+            }
+        }
+        event.complete(type, format, url.length(), result);
+        return result;
+    }
+
+    /**
+     * Reports {@code url} as rejected before any parser ran, such as for an unsupported type.
+     */
+    public static void reject(ParseListener listener, DbType type, UrlFormat format, CharSequence url,
+                              ParseResult.Failure failure) {
+        listener.onFailure(type, format, url.length(), failure.code(), 0);
+        ParseFailureEvent.report(type, format, url.length(), failure);
+        new ParseEvent().complete(type, format, url.length(), failure);
+    }
+}
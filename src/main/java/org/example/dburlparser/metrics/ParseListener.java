@@ -0,0 +1,17 @@
+package org.example.dburlparser.metrics;
+
+import org.example.dburlparser.model.DbConnectionInfo;
+import org.example.dburlparser.model.DbType;
+import org.example.dburlparser.model.ParseErrorCode;
+import org.example.dburlparser.model.UrlFormat;
+
+/**
+ * Receives one callback per parse while attached through {@link ParseInstrumentation#setListener}.
+ * Callbacks run on the parsing thread, so implementations must be thread-safe and cheap.
+ */
+public interface ParseListener {
+
+    void onSuccess(DbType type, UrlFormat format, int inputLength, DbConnectionInfo result, long elapsedNanos);
+
+    void onFailure(DbType type, UrlFormat format, int inputLength, ParseErrorCode reason, long elapsedNanos);
+}
@@ -0,0 +1,101 @@
+package org.example.dburlparser.metrics;
+
+import org.example.dburlparser.model.DbConnectionInfo;
+import org.example.dburlparser.model.DbType;
+import org.example.dburlparser.model.ParseErrorCode;
+import org.example.dburlparser.model.UrlFormat;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * {@link ParseListener} that aggregates parse counts per {@link DbType} and {@link UrlFormat}, failures per
+ * {@link ParseErrorCode}, and latency and input length distributions per type.
+ * <p>
+ * All counters are {@link LongAdder}s or {@link Log2Histogram}s indexed by enum ordinal, so recording never
+ * locks or allocates. {@link #snapshot()} and {@link #exportPrometheus()} can be polled at any time.
+ * <pre>
+ * ParseMetricsRegistry metrics = new ParseMetricsRegistry();
+ * ParseInstrumentation.setListener(metrics);
+ * </pre>
+ */
+public final class ParseMetricsRegistry implements ParseListener {
+    private static final DbType[] TYPES = DbType.values();
+    private static final UrlFormat[] FORMATS = UrlFormat.values();
+    private static final ParseErrorCode[] CODES = ParseErrorCode.values();
+
+    private final LongAdder[][] successes = new LongAdder[TYPES.length][FORMATS.length];
+    private final LongAdder[][] failures = new LongAdder[TYPES.length][CODES.length];
+    private final Log2Histogram[] latencyNanos = new Log2Histogram[TYPES.length];
+    private final Log2Histogram[] inputLength = new Log2Histogram[TYPES.length];
+
+    public ParseMetricsRegistry() {
+        for (int t = 0; t < TYPES.length; t++) {
+            for (int f = 0; f < FORMATS.length; f++) {
+                successes[t][f] = new LongAdder();
+            }
+            for (int c = 0; c < CODES.length; c++) {
+                failures[t][c] = new LongAdder();
+            }
+            latencyNanos[t] = new Log2Histogram();
+            inputLength[t] = new Log2Histogram();
+        }
+    }
+
+    @Override
+    public void onSuccess(DbType type, UrlFormat format, int inputLength, DbConnectionInfo result, long elapsedNanos) {
+        int t = type.ordinal();
+        successes[t][format.ordinal()].increment();
+        this.latencyNanos[t].record(elapsedNanos);
+        this.inputLength[t].record(inputLength);
+    }
+
+    @Override
+    public void onFailure(DbType type, UrlFormat format, int inputLength, ParseErrorCode reason, long elapsedNanos) {
+        int t = type.ordinal();
+        failures[t][reason.ordinal()].increment();
+        this.latencyNanos[t].record(elapsedNanos);
+        this.inputLength[t].record(inputLength);
+    }
+
+    public MetricsSnapshot snapshot() {
+        Map<DbType, Map<UrlFormat, Long>> successCounts = new EnumMap<>(DbType.class);
+        Map<DbType, Map<ParseErrorCode, Long>> failureCounts = new EnumMap<>(DbType.class);
+        Map<DbType, Log2Histogram.Snapshot> latencies = new EnumMap<>(DbType.class);
+        Map<DbType, Log2Histogram.Snapshot> lengths = new EnumMap<>(DbType.class);
+        for (DbType type : TYPES) {
+            int t = type.ordinal();
+            Map<UrlFormat, Long> byFormat = new EnumMap<>(UrlFormat.class);
+            for (UrlFormat format : FORMATS) {
+                long count = successes[t][format.ordinal()].sum();
+                if (count > 0) {
+                    byFormat.put(format, count);
+                }
+            }
+            Map<ParseErrorCode, Long> byReason = new EnumMap<>(ParseErrorCode.class);
+            for (ParseErrorCode code : CODES) {
+                long count = failures[t][code.ordinal()].sum();
+                if (count > 0) {
+                    byReason.put(code, count);
+                }
+            }
+            Log2Histogram.Snapshot latency = latencyNanos[t].snapshot();
+            if (byFormat.isEmpty() && byReason.isEmpty() && latency.count() == 0) {
+                continue;
+            }
+            successCounts.put(type, byFormat);
+            failureCounts.put(type, byReason);
+            latencies.put(type, latency);
+            lengths.put(type, inputLength[t].snapshot());
+        }
+        return new MetricsSnapshot(successCounts, failureCounts, latencies, lengths);
+    }
+
+    /**
+     * Renders the current counters in the Prometheus text exposition format.
+     */
+    public String exportPrometheus() {
+        return snapshot().toPrometheus();
+    }
+}
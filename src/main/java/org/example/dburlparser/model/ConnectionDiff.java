@@ -0,0 +1,189 @@
+package org.example.dburlparser.model;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Structural difference between two {@link DbConnectionInfo}s, for applying a changed URL to an existing
+ * connection pool without rebuilding it.
+ * <p>
+ * Hosts are matched as a multiset of {@code host:port}: a host name that only appears with a different port
+ * on each side is a {@link PortChange}, everything else unmatched is added or removed. Hosts present on both
+ * sides but listed in another relative order set {@link #hostOrderChanged()}, since drivers try hosts in order.
+ * Properties are compared by key, regardless of their order in the URL.
+ * <p>
+ * Hosts and properties still held as {@link HostSpanList} and {@link QueryStringMap} views are first compared
+ * by their text, so segments that did not change are not decoded.
+ */
+public record ConnectionDiff(boolean typeChanged,
+                             List<HostInfo> addedHosts,
+                             List<HostInfo> removedHosts,
+                             List<PortChange> portChanges,
+                             boolean hostOrderChanged,
+                             boolean databaseChanged,
+                             Map<String, String> addedProperties,
+                             Set<String> removedProperties,
+                             Map<String, String> changedProperties) {
+
+    public static final ConnectionDiff NONE = new ConnectionDiff(false, List.of(), List.of(), List.of(), false,
+            false, Map.of(), Set.of(), Map.of());
+
+    public ConnectionDiff {
+        addedHosts = List.copyOf(addedHosts);
+        removedHosts = List.copyOf(removedHosts);
+        portChanges = List.copyOf(portChanges);
+        addedProperties = PropertyMap.copyOf(addedProperties);
+        removedProperties = Set.copyOf(removedProperties);
+        changedProperties = PropertyMap.copyOf(changedProperties);
+    }
+
+    /**
+     * A host that is listed on both sides with a different port.
+     */
+    public record PortChange(String host, int previousPort, int port) {
+    }
+
+    /**
+     * The changes that turn {@code previous} into {@code current}.
+     */
+    public static ConnectionDiff between(DbConnectionInfo previous, DbConnectionInfo current) {
+        boolean typeChanged = previous.type() != current.type();
+        boolean databaseChanged = !Objects.equals(previous.database(), current.database());
+
+        List<HostInfo> added = new ArrayList<>();
+        List<HostInfo> removed = new ArrayList<>();
+        List<PortChange> portChanges = new ArrayList<>();
+        boolean orderChanged = false;
+        if (!sameHosts(previous.hosts(), current.hosts())) {
+            orderChanged = diffHosts(previous.hosts(), current.hosts(), added, removed, portChanges);
+        }
+
+        Map<String, String> addedProperties = new LinkedHashMap<>();
+        Set<String> removedProperties = new LinkedHashSet<>();
+        Map<String, String> changedProperties = new LinkedHashMap<>();
+        if (!sameProperties(previous.properties(), current.properties())) {
+            current.properties().forEach((key, value) -> {
+                String old = previous.properties().get(key);
+                if (old == null) {
+                    addedProperties.put(key, value);
+                } else if (!old.equals(value)) {
+                    changedProperties.put(key, value);
+                }
+            });
+            for (String key : previous.properties().keySet()) {
+                if (!current.properties().containsKey(key)) {
+                    removedProperties.add(key);
+                }
+            }
+        }
+
+        if (!typeChanged && !databaseChanged && !orderChanged && added.isEmpty() && removed.isEmpty()
+                && portChanges.isEmpty() && addedProperties.isEmpty() && removedProperties.isEmpty()
+                && changedProperties.isEmpty()) {
+            return NONE;
+        }
+        return new ConnectionDiff(typeChanged, added, removed, portChanges, orderChanged, databaseChanged,
+                addedProperties, removedProperties, changedProperties);
+    }
+
+    public boolean isEmpty() {
+        return this.equals(NONE);
+    }
+
+    public boolean hostsChanged() {
+        return hostOrderChanged || !addedHosts.isEmpty() || !removedHosts.isEmpty() || !portChanges.isEmpty();
+    }
+
+    public boolean propertiesChanged() {
+        return !addedProperties.isEmpty() || !removedProperties.isEmpty() || !changedProperties.isEmpty();
+    }
+
+    private static boolean sameHosts(List<HostInfo> previous, List<HostInfo> current) {
+        if (previous instanceof HostSpanList before && current instanceof HostSpanList after && before.sameText(after)) {
+            return true;
+        }
+        return previous.equals(current);
+    }
+
+    private static boolean sameProperties(Map<String, String> previous, Map<String, String> current) {
+        if (previous instanceof QueryStringMap before && current instanceof QueryStringMap after
+                && before.sameText(after)) {
+            return true;
+        }
+        return previous.equals(current);
+    }
+
+    /**
+     * Fills the added, removed and re-ported hosts and returns whether the hosts on both sides changed order.
+     */
+    private static boolean diffHosts(List<HostInfo> previous, List<HostInfo> current, List<HostInfo> added,
+                                     List<HostInfo> removed, List<PortChange> portChanges) {
+        Map<HostInfo, Integer> unmatched = new HashMap<>();
+        for (HostInfo host : previous) {
+            unmatched.merge(host, 1, Integer::sum);
+        }
+        List<HostInfo> keptInCurrentOrder = new ArrayList<>(current.size());
+        for (HostInfo host : current) {
+            Integer count = unmatched.get(host);
+            if (count != null && count > 0) {
+                unmatched.put(host, count - 1);
+                keptInCurrentOrder.add(host);
+            } else {
+                added.add(host);
+            }
+        }
+        // What is left in the multiset was not matched; for duplicates, the first occurrences count as removed.
+        List<HostInfo> keptInPreviousOrder = new ArrayList<>(keptInCurrentOrder.size());
+        for (HostInfo host : previous) {
+            int count = unmatched.get(host);
+            if (count > 0) {
+                unmatched.put(host, count - 1);
+                removed.add(host);
+            } else {
+                keptInPreviousOrder.add(host);
+            }
+        }
+
+        if (!added.isEmpty() && !removed.isEmpty()) {
+            matchPorts(added, removed, portChanges);
+        }
+        return !keptInPreviousOrder.equals(keptInCurrentOrder);
+    }
+
+    /**
+     * Moves hosts whose name is both added and removed into {@code portChanges}, pairing them up in order.
+     */
+    private static void matchPorts(List<HostInfo> added, List<HostInfo> removed, List<PortChange> portChanges) {
+        Map<String, ArrayDeque<Integer>> removedByName = new HashMap<>();
+        for (int i = 0; i < removed.size(); i++) {
+            removedByName.computeIfAbsent(removed.get(i).host(), name -> new ArrayDeque<>()).add(i);
+        }
+        boolean[] matched = new boolean[removed.size()];
+        int kept = 0;
+        for (HostInfo host : added) {
+            ArrayDeque<Integer> candidates = removedByName.get(host.host());
+            Integer index = candidates == null ? null : candidates.poll();
+            if (index == null) {
+                added.set(kept++, host);
+            } else {
+                matched[index] = true;
+                portChanges.add(new PortChange(host.host(), removed.get(index).port(), host.port()));
+            }
+        }
+        added.subList(kept, added.size()).clear();
+        int remaining = 0;
+        for (int i = 0; i < removed.size(); i++) {
+            if (!matched[i]) {
+                removed.set(remaining++, removed.get(i));
+            }
+        }
+        removed.subList(remaining, removed.size()).clear();
+    }
+}
@@ -0,0 +1,123 @@
+package org.example.dburlparser.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Canonical URL and 64-bit fingerprint of a {@link DbConnectionInfo}, so that URLs naming the same
+ * connection in different textual forms (hosts reordered, default port written or omitted, parameters
+ * reordered) can be deduplicated as primitive {@code long}s.
+ * <p>
+ * Both are defined over the parsed fields, which already carry the parser's default port for hosts that
+ * omit it. The canonical URL lists hosts sorted by name then port, always with the port except for
+ * {@code mongodb+srv}, whose syntax has none, and properties sorted by key. The fingerprint hashes the same
+ * content without building that string: hosts and properties are combined with an order-independent sum of
+ * per-element hashes, so nothing is sorted, and lazy {@link HostSpanList} and {@link QueryStringMap} views are
+ * hashed straight from their spans in the URL.
+ * Two results with equal canonical URLs always have equal fingerprints.
+ */
+public final class ConnectionFingerprint {
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+    private static final long GOLDEN = 0x9e3779b97f4a7c15L;
+
+    private static final Comparator<HostInfo> HOST_ORDER =
+            Comparator.comparing(HostInfo::host).thenComparingInt(HostInfo::port);
+
+    private ConnectionFingerprint() {
+    }
+
+    public static long of(DbConnectionInfo info) {
+        long hosts = info.hosts() instanceof HostSpanList spans ? spans.fingerprint() : hosts(info.hosts());
+        long properties = info.properties() instanceof QueryStringMap view
+                ? view.fingerprint() : ((PropertyMap) info.properties()).fingerprint();
+        long hash = mix(info.type().ordinal() + GOLDEN);
+        hash = mix(hash * 31 + (info.database() == null ? 0 : hash(info.database(), 0, info.database().length())));
+        hash = mix(hash * 31 + hosts);
+        return mix(hash * 31 + properties);
+    }
+
+    /**
+     * A URL in the type's own syntax that parses back to a result with the same hosts (in canonical order),
+     * database and properties, and so to the same canonical URL and fingerprint. Oracle results
+     * use the service name form {@code jdbc:oracle:thin:@//host:port,.../database}, whichever form they were
+     * parsed from. {@code mongodb+srv} hosts are written without a port, which that syntax does not allow.
+     */
+    public static String canonicalUrl(DbConnectionInfo info) {
+        HostInfo[] hosts = info.hosts().toArray(new HostInfo[0]);
+        Arrays.sort(hosts, HOST_ORDER);
+        List<Map.Entry<String, String>> properties = new ArrayList<>(info.properties().entrySet());
+        properties.sort(Map.Entry.comparingByKey());
+
+        StringBuilder sb = new StringBuilder(64 + hosts.length * 24 + properties.size() * 24);
+        sb.append(info.type().getPrefix());
+        if (info.type() == DbType.ORACLE) {
+            sb.append("//");
+        }
+        for (int i = 0; i < hosts.length; i++) {
+            if (i > 0) {
+                sb.append(',');
+            }
+            sb.append(hosts[i].host());
+            if (info.type() != DbType.MONGODB_SRV) {
+                sb.append(':').append(hosts[i].port());
+            }
+        }
+        if (info.type() == DbType.SQLSERVER) {
+            // The database is one of the semicolon separated properties.
+            for (Map.Entry<String, String> property : properties) {
+                sb.append(';').append(property.getKey()).append('=').append(property.getValue());
+            }
+            return sb.toString();
+        }
+        sb.append('/').append(info.database());
+        for (int i = 0; i < properties.size(); i++) {
+            Map.Entry<String, String> property = properties.get(i);
+            sb.append(i == 0 ? '?' : '&').append(property.getKey()).append('=').append(property.getValue());
+        }
+        return sb.toString();
+    }
+
+    private static long hosts(List<HostInfo> hosts) {
+        long sum = 0;
+        for (HostInfo host : hosts) {
+            sum += host(host.host(), 0, host.host().length(), host.port());
+        }
+        return sum;
+    }
+
+    static long host(CharSequence s, int from, int to, int port) {
+        return mix(hash(s, from, to) + port * GOLDEN);
+    }
+
+    static long property(String key, String value) {
+        return property(hash(key, 0, key.length()), hash(value, 0, value.length()));
+    }
+
+    static long property(long keyHash, long valueHash) {
+        return mix(keyHash * 31 + valueHash);
+    }
+
+    /**
+     * FNV-1a over the characters of {@code s[from, to)}.
+     */
+    static long hash(CharSequence s, int from, int to) {
+        long hash = FNV_OFFSET;
+        for (int i = from; i < to; i++) {
+            hash = (hash ^ s.charAt(i)) * FNV_PRIME;
+        }
+        return hash;
+    }
+
+    /**
+     * SplitMix64 finaliser, so that sums of element hashes do not cancel out structurally.
+     */
+    static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+}
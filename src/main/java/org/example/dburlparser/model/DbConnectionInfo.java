@@ -3,5 +3,69 @@ package org.example.dburlparser.model;
 import java.util.List;
 import java.util.Map;
 
+/**
+ * Parsed connection details. Hosts are copied into an unmodifiable list and properties into a compact
+ * {@link PropertyMap}, so an instance can be cached and shared between callers without defensive copies.
+ * The parsers pass lazy {@link HostSpanList} and {@link QueryStringMap} views instead; those are
+ * immutable already and are kept as they are, so their contents are only decoded when read.
+ * <p>
+ * {@link WellKnownProperty Well-known properties} of this record's type can be read already parsed
+ * through {@link #getBoolean}, {@link #getInt} and {@link #getString}.
+ */
 public record DbConnectionInfo(DbType type, List<HostInfo> hosts, String database, Map<String, String> properties) {
-}
\ No newline at end of file
+    public DbConnectionInfo {
+        hosts = hosts instanceof HostSpanList ? hosts : List.copyOf(hosts);
+        properties = properties instanceof QueryStringMap ? properties : PropertyMap.copyOf(properties);
+    }
+
+    /**
+     * The value of a well-known boolean property, or {@code defaultValue} if it is absent, not a boolean
+     * or belongs to another database type.
+     *
+     * @throws IllegalArgumentException if {@code property} is not a boolean property
+     */
+    public boolean getBoolean(WellKnownProperty property, boolean defaultValue) {
+        boolean value = propertyMap().getBoolean(property, defaultValue);
+        return property.type() == type ? value : defaultValue;
+    }
+
+    /**
+     * The value of a well-known int property, or {@code defaultValue} if it is absent, not an int
+     * or belongs to another database type.
+     *
+     * @throws IllegalArgumentException if {@code property} is not an int property
+     */
+    public int getInt(WellKnownProperty property, int defaultValue) {
+        int value = propertyMap().getInt(property, defaultValue);
+        return property.type() == type ? value : defaultValue;
+    }
+
+    /**
+     * The raw value of a well-known property, or {@code null} if it is absent or belongs to another database type.
+     */
+    public String getString(WellKnownProperty property) {
+        return property.type() == type ? properties.get(property.key()) : null;
+    }
+
+    /**
+     * A URL naming this connection that is equal for every URL naming the same connection.
+     *
+     * @see ConnectionFingerprint
+     */
+    public String canonicalUrl() {
+        return ConnectionFingerprint.canonicalUrl(this);
+    }
+
+    /**
+     * 64-bit hash of {@link #canonicalUrl()}'s content, computed without building it.
+     *
+     * @see ConnectionFingerprint
+     */
+    public long fingerprint() {
+        return ConnectionFingerprint.of(this);
+    }
+
+    private PropertyMap propertyMap() {
+        return properties instanceof QueryStringMap view ? view.materialize() : (PropertyMap) properties;
+    }
+}
@@ -1,11 +1,19 @@
 package org.example.dburlparser.model;
 
+import java.nio.ByteBuffer;
+
 public enum DbType {
     MYSQL("jdbc:mysql://"),
     CASSANDRA("jdbc:cassandra://"),
     ORACLE("jdbc:oracle:thin:@"),
+    POSTGRESQL("jdbc:postgresql://"),
+    SQLSERVER("jdbc:sqlserver://"),
+    MONGODB("mongodb://"),
+    MONGODB_SRV("mongodb+srv://"),
     UNKNOWN("");
 
+    private static final DbTypeTrie PREFIXES = new DbTypeTrie(values());
+
     private final String prefix;
 
     DbType(String prefix) {
@@ -16,12 +24,18 @@ public enum DbType {
         return prefix;
     }
 
-    public static DbType getDbType(String url) {
-        for (DbType type : values()) {
-            if (url.startsWith(type.prefix)) {
-                return type;
-            }
-        }
-        return UNKNOWN;
+    public static DbType getDbType(CharSequence url) {
+        return PREFIXES.match(url, UNKNOWN);
+    }
+
+    public static DbType getDbType(byte[] ascii, int off, int len) {
+        return PREFIXES.match(ByteBuffer.wrap(ascii, off, len), UNKNOWN);
+    }
+
+    /**
+     * Detects the type from the ASCII bytes between the buffer's position and limit, leaving the position unchanged.
+     */
+    public static DbType getDbType(ByteBuffer ascii) {
+        return PREFIXES.match(ascii, UNKNOWN);
     }
 }
@@ -0,0 +1,92 @@
+package org.example.dburlparser.model;
+
+import java.nio.ByteBuffer;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Character trie over the {@link DbType} prefixes. Every node keeps its children in a dense
+ * array indexed by {@code c - base}, so a lookup costs one bounds check and one array load per
+ * URL character and stops at the first character no prefix continues with. Its cost depends on
+ * the prefix length, not on the number of database types.
+ */
+final class DbTypeTrie {
+    private static final Node[] NO_CHILDREN = new Node[0];
+
+    private final Node root;
+
+    DbTypeTrie(DbType[] types) {
+        Builder builder = new Builder();
+        for (DbType type : types) {
+            String prefix = type.getPrefix();
+            if (!prefix.isEmpty()) {
+                Builder node = builder;
+                for (int i = 0; i < prefix.length(); i++) {
+                    node = node.children.computeIfAbsent(prefix.charAt(i), c -> new Builder());
+                }
+                node.type = type;
+            }
+        }
+        this.root = builder.build();
+    }
+
+    /**
+     * Returns the type with the longest prefix matching the start of {@code url}, or {@code fallback}.
+     */
+    DbType match(CharSequence url, DbType fallback) {
+        DbType matched = fallback;
+        Node node = root;
+        int length = url.length();
+        for (int i = 0; i < length; i++) {
+            int index = url.charAt(i) - node.base;
+            Node[] children = node.children;
+            if (index < 0 || index >= children.length || (node = children[index]) == null) {
+                break;
+            }
+            if (node.type != null) {
+                matched = node.type;
+            }
+        }
+        return matched;
+    }
+
+    /**
+     * {@link #match(CharSequence, DbType)} over the ASCII bytes between the buffer's position and limit.
+     */
+    DbType match(ByteBuffer ascii, DbType fallback) {
+        DbType matched = fallback;
+        Node node = root;
+        int limit = ascii.limit();
+        for (int i = ascii.position(); i < limit; i++) {
+            int index = (ascii.get(i) & 0xFF) - node.base;
+            Node[] children = node.children;
+            if (index < 0 || index >= children.length || (node = children[index]) == null) {
+                break;
+            }
+            if (node.type != null) {
+                matched = node.type;
+            }
+        }
+        return matched;
+    }
+
+    private record Node(char base, Node[] children, DbType type) {
+    }
+
+    private static final class Builder {
+        private final TreeMap<Character, Builder> children = new TreeMap<>();
+        private DbType type;
+
+        Node build() {
+            if (children.isEmpty()) {
+                return new Node('\0', NO_CHILDREN, type);
+            }
+            char base = children.firstKey();
+            Node[] table = new Node[children.lastKey() - base + 1];
+            for (Map.Entry<Character, Builder> child : children.entrySet()) {
+                table[child.getKey() - base] = child.getValue().build();
+            }
+            return new Node(base, table, type);
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package org.example.dburlparser.model;
+
+import java.util.AbstractList;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * Immutable host list backed by offsets into the URL it was parsed from. The URL is validated up front;
+ * the {@link HostInfo} instances and their host name strings are only created on first access.
+ * <p>
+ * {@code equals} and {@code hashCode} follow the {@link List} contract, so a {@link DbConnectionInfo}
+ * holding this list equals one built from {@code List.of(...)} with the same hosts.
+ */
+public final class HostSpanList extends AbstractList<HostInfo> implements RandomAccess {
+    private final String source;
+    private final int[] spans;
+    // Racy single check: the materialised list is immutable, so a concurrent first access at worst builds it twice.
+    private List<HostInfo> hosts;
+
+    /**
+     * @param spans {@code hostStart, hostEnd, port} for each host, with the offsets indexing {@code source}
+     */
+    public HostSpanList(String source, int[] spans) {
+        this.source = source;
+        this.spans = spans;
+    }
+
+    @Override
+    public HostInfo get(int index) {
+        return materialize().get(index);
+    }
+
+    @Override
+    public int size() {
+        return spans.length / 3;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o == this || materialize().equals(o);
+    }
+
+    @Override
+    public int hashCode() {
+        return materialize().hashCode();
+    }
+
+    /**
+     * {@link ConnectionFingerprint} hash of the hosts, computed from the spans without creating them.
+     */
+    long fingerprint() {
+        long sum = 0;
+        for (int span = 0; span < spans.length; span += 3) {
+            sum += ConnectionFingerprint.host(source, spans[span], spans[span + 1], spans[span + 2]);
+        }
+        return sum;
+    }
+
+    /**
+     * Whether {@code other} spans the same host text and ports, checked without creating either list's hosts.
+     */
+    boolean sameText(HostSpanList other) {
+        if (spans.length != other.spans.length) {
+            return false;
+        }
+        for (int span = 0; span < spans.length; span += 3) {
+            int length = spans[span + 1] - spans[span];
+            if (spans[span + 2] != other.spans[span + 2] || other.spans[span + 1] - other.spans[span] != length
+                    || !source.regionMatches(spans[span], other.source, other.spans[span], length)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private List<HostInfo> materialize() {
+        List<HostInfo> result = hosts;
+        if (result == null) {
+            HostInfo[] array = new HostInfo[spans.length / 3];
+            for (int i = 0; i < array.length; i++) {
+                int span = i * 3;
+                array[i] = new HostInfo(source.substring(spans[span], spans[span + 1]), spans[span + 2]);
+            }
+            result = List.of(array);
+            hosts = result;
+        }
+        return result;
+    }
+}
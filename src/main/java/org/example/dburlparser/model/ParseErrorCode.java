@@ -0,0 +1,16 @@
+package org.example.dburlparser.model;
+
+/**
+ * Reason a database URL was rejected.
+ */
+public enum ParseErrorCode {
+    UNSUPPORTED_TYPE,
+    MISSING_DATABASE,
+    INVALID_HOST,
+    INVALID_PORT,
+    INVALID_FORMAT,
+    MALFORMED_DESCRIPTOR,
+    MISSING_SERVICE_NAME,
+    UNKNOWN_ALIAS,
+    UNKNOWN
+}
@@ -0,0 +1,278 @@
+package org.example.dburlparser.model;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Immutable, array-backed property map. Keys and values sit side by side in a single array; up to
+ * {@value #LINEAR_SCAN_LIMIT} properties, which covers most URLs, are found by a linear scan, and larger
+ * maps add an open-addressing index over the same array. Either way the map is a handful of objects
+ * where a {@code HashMap} needs a node per entry on top of its table.
+ * <p>
+ * The values of {@link WellKnownProperty well-known properties} are parsed once when the map is built,
+ * so {@link #getBoolean} is a bit test and {@link #getInt} an array read.
+ */
+public final class PropertyMap extends AbstractMap<String, String> {
+    static final int LINEAR_SCAN_LIMIT = 8;
+    private static final int WELL_KNOWN = wellKnownCount();
+
+    public static final PropertyMap EMPTY = new PropertyMap(new String[0], 0);
+
+    // key0, value0, key1, value1, ...
+    private final String[] pairs;
+    // Position in pairs + 1 of the key hashed to each slot, 0 for empty; null for small maps.
+    private final int[] index;
+    // Parsed values of well-known int properties, by ordinal; null when there are none.
+    private final int[] ints;
+    // Bit per WellKnownProperty ordinal set when its value parsed, and the value bit of booleans 32 bits higher.
+    private final long parsed;
+
+    /**
+     * Builds the map from the first {@code length} elements of {@code raw}, which alternate keys and
+     * values. Later duplicates win. {@code raw} is reused as the backing array when it has no spare room.
+     */
+    private PropertyMap(String[] raw, int length) {
+        int[] table = length / 2 > LINEAR_SCAN_LIMIT ? new int[Integer.highestOneBit(length - 1) * 2] : null;
+        int size = 0;
+        for (int i = 0; i < length; i += 2) {
+            String key = raw[i];
+            int existing = table == null ? scan(raw, size, key) : probe(table, raw, key, size);
+            if (existing >= 0) {
+                raw[existing + 1] = raw[i + 1];
+            } else {
+                raw[size] = key;
+                raw[size + 1] = raw[i + 1];
+                size += 2;
+            }
+        }
+        this.pairs = size == raw.length ? raw : Arrays.copyOf(raw, size);
+        this.index = table;
+
+        int[] values = null;
+        long bits = 0;
+        for (int i = 0; i < size; i += 2) {
+            WellKnownProperty property = WellKnownProperty.forKey(pairs[i]);
+            long value = property == null ? Long.MIN_VALUE : property.parse(pairs[i + 1]);
+            if (value == Long.MIN_VALUE) {
+                continue;
+            }
+            long bit = 1L << property.ordinal();
+            bits |= bit;
+            if (property.kind() == WellKnownProperty.Kind.BOOLEAN) {
+                bits |= value != 0 ? bit << 32 : 0;
+            } else {
+                if (values == null) {
+                    values = new int[WELL_KNOWN];
+                }
+                values[property.ordinal()] = (int) value;
+            }
+        }
+        this.ints = values;
+        this.parsed = bits;
+    }
+
+    public static PropertyMap copyOf(Map<String, String> properties) {
+        if (properties instanceof PropertyMap map) {
+            return map;
+        }
+        if (properties.isEmpty()) {
+            return EMPTY;
+        }
+        Builder builder = new Builder(properties.size());
+        properties.forEach(builder::put);
+        return builder.build();
+    }
+
+    /**
+     * The value of a well-known boolean property, or {@code defaultValue} if it is absent or neither
+     * {@code true} nor {@code false}.
+     */
+    public boolean getBoolean(WellKnownProperty property, boolean defaultValue) {
+        checkKind(property, WellKnownProperty.Kind.BOOLEAN);
+        return isParsed(property) ? (parsed >>> 32 & 1L << property.ordinal()) != 0 : defaultValue;
+    }
+
+    /**
+     * The value of a well-known int property, or {@code defaultValue} if it is absent or not a decimal int.
+     */
+    public int getInt(WellKnownProperty property, int defaultValue) {
+        checkKind(property, WellKnownProperty.Kind.INT);
+        return isParsed(property) ? ints[property.ordinal()] : defaultValue;
+    }
+
+    @Override
+    public String get(Object key) {
+        int position = index == null ? scan(pairs, pairs.length, key) : find(key);
+        return position < 0 ? null : pairs[position + 1];
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return (index == null ? scan(pairs, pairs.length, key) : find(key)) >= 0;
+    }
+
+    @Override
+    public int size() {
+        return pairs.length / 2;
+    }
+
+    @Override
+    public Set<Entry<String, String>> entrySet() {
+        return new AbstractSet<>() {
+            @Override
+            public Iterator<Entry<String, String>> iterator() {
+                return new Iterator<>() {
+                    private int next;
+
+                    @Override
+                    public boolean hasNext() {
+                        return next < pairs.length;
+                    }
+
+                    @Override
+                    public Entry<String, String> next() {
+                        if (next >= pairs.length) {
+                            throw new NoSuchElementException();
+                        }
+                        Entry<String, String> entry = Map.entry(pairs[next], pairs[next + 1]);
+                        next += 2;
+                        return entry;
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return pairs.length / 2;
+            }
+
+            @Override
+            public void clear() {
+                throw new UnsupportedOperationException();
+            }
+        };
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = 0;
+        for (int i = 0; i < pairs.length; i += 2) {
+            hash += pairs[i].hashCode() ^ pairs[i + 1].hashCode();
+        }
+        return hash;
+    }
+
+    /**
+     * {@link ConnectionFingerprint} hash of the properties, independent of their order.
+     */
+    long fingerprint() {
+        long sum = 0;
+        for (int i = 0; i < pairs.length; i += 2) {
+            sum += ConnectionFingerprint.property(pairs[i], pairs[i + 1]);
+        }
+        return sum;
+    }
+
+    private boolean isParsed(WellKnownProperty property) {
+        return (parsed & 1L << property.ordinal()) != 0;
+    }
+
+    /**
+     * Number of well-known properties, which must fit the 32 parsed bits of {@link #parsed}.
+     */
+    private static int wellKnownCount() {
+        int count = WellKnownProperty.values().length;
+        if (count > 32) {
+            throw new IllegalStateException(count + " well-known properties do not fit PropertyMap's 32 flag bits");
+        }
+        return count;
+    }
+
+    private static void checkKind(WellKnownProperty property, WellKnownProperty.Kind kind) {
+        if (property.kind() != kind) {
+            throw new IllegalArgumentException(property + " is a " + property.kind() + " property");
+        }
+    }
+
+    private static int scan(String[] pairs, int length, Object key) {
+        for (int i = 0; i < length; i += 2) {
+            if (pairs[i].equals(key)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private int find(Object key) {
+        if (!(key instanceof String string)) {
+            return -1;
+        }
+        int mask = index.length - 1;
+        for (int slot = spread(string.hashCode()) & mask; index[slot] != 0; slot = (slot + 1) & mask) {
+            int position = index[slot] - 1;
+            if (pairs[position].equals(string)) {
+                return position;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Finds {@code key} among the keys already indexed, or indexes it at {@code position} and returns -1.
+     */
+    private static int probe(int[] table, String[] pairs, String key, int position) {
+        int mask = table.length - 1;
+        int slot = spread(key.hashCode()) & mask;
+        for (; table[slot] != 0; slot = (slot + 1) & mask) {
+            int existing = table[slot] - 1;
+            if (pairs[existing].equals(key)) {
+                return existing;
+            }
+        }
+        table[slot] = position + 1;
+        return -1;
+    }
+
+    private static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+
+    /**
+     * Collects properties in order; later duplicates of a key replace earlier ones.
+     */
+    public static final class Builder {
+        private String[] pairs;
+        private int length;
+
+        public Builder() {
+            this(LINEAR_SCAN_LIMIT);
+        }
+
+        public Builder(int expectedSize) {
+            pairs = new String[Math.max(expectedSize, 1) * 2];
+        }
+
+        public Builder put(String key, String value) {
+            if (length == pairs.length) {
+                pairs = Arrays.copyOf(pairs, length * 2);
+            }
+            pairs[length] = Objects.requireNonNull(key);
+            pairs[length + 1] = Objects.requireNonNull(value);
+            length += 2;
+            return this;
+        }
+
+        /**
+         * Hands the collected properties over to the map; the builder must not be used afterwards.
+         */
+        public PropertyMap build() {
+            return length == 0 ? EMPTY : new PropertyMap(pairs, length);
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package org.example.dburlparser.model;
+
+import java.util.AbstractMap;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Immutable property map backed by the query string span of a URL. Nothing is decoded until a
+ * property is first requested, which is when the whole span is split into a {@link PropertyMap}.
+ * <p>
+ * {@code equals} and {@code hashCode} follow the {@link Map} contract, so a {@link DbConnectionInfo}
+ * holding this map equals one built from {@code Map.of(...)} with the same properties.
+ */
+public final class QueryStringMap extends AbstractMap<String, String> {
+    private final String source;
+    private final int from;
+    private final int to;
+    private final char separator;
+    // Racy single check, as in HostSpanList.
+    private PropertyMap properties;
+
+    /**
+     * A view of the {@code key=value&...} pairs in {@code source[from, to)}.
+     */
+    public QueryStringMap(String source, int from, int to) {
+        this(source, from, to, '&');
+    }
+
+    /**
+     * A view of the {@code key=value} pairs separated by {@code separator} in {@code source[from, to)}.
+     */
+    public QueryStringMap(String source, int from, int to, char separator) {
+        this.source = source;
+        this.from = from;
+        this.to = to;
+        this.separator = separator;
+    }
+
+    /**
+     * Parses {@code key=value} pairs separated by {@code '&'} in {@code [from, to)} into a mutable map.
+     * Pairs without {@code '='} are ignored; later duplicates win.
+     */
+    public static Map<String, String> parse(String s, int from, int to) {
+        return new HashMap<>(split(s, from, to));
+    }
+
+    /**
+     * {@link #parse(String, int, int)} into an immutable {@link PropertyMap}.
+     */
+    public static PropertyMap split(String s, int from, int to) {
+        return split(s, from, to, '&');
+    }
+
+    /**
+     * {@link #split(String, int, int)} with pairs separated by {@code separator}.
+     */
+    public static PropertyMap split(String s, int from, int to, char separator) {
+        PropertyMap.Builder params = new PropertyMap.Builder();
+        int pair = from;
+        while (pair < to) {
+            int amp = s.indexOf(separator, pair, to);
+            int pairEnd = amp < 0 ? to : amp;
+            int eq = s.indexOf('=', pair, pairEnd);
+            if (eq >= 0) {
+                params.put(s.substring(pair, eq), s.substring(eq + 1, pairEnd));
+            }
+            pair = pairEnd + 1;
+        }
+        return params.build();
+    }
+
+    /**
+     * Whether {@code other} views the same pair text, checked without splitting either span. Maps holding
+     * the same pairs in another order are equal but do not have the same text.
+     */
+    boolean sameText(QueryStringMap other) {
+        return separator == other.separator && to - from == other.to - other.from
+                && source.regionMatches(from, other.source, other.from, to - from);
+    }
+
+    @Override
+    public Set<Entry<String, String>> entrySet() {
+        return materialize().entrySet();
+    }
+
+    @Override
+    public String get(Object key) {
+        return materialize().get(key);
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return materialize().containsKey(key);
+    }
+
+    @Override
+    public int size() {
+        return materialize().size();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o == this || materialize().equals(o);
+    }
+
+    @Override
+    public int hashCode() {
+        return materialize().hashCode();
+    }
+
+    /**
+     * {@link ConnectionFingerprint} hash of the properties, computed from the query string span without
+     * splitting it. Only a repeated key, where the later value wins, needs the materialised map.
+     */
+    long fingerprint() {
+        if (properties != null) {
+            return properties.fingerprint();
+        }
+        long[] keys = new long[8];
+        int count = 0;
+        long sum = 0;
+        int pair = from;
+        while (pair < to) {
+            int amp = source.indexOf(separator, pair, to);
+            int pairEnd = amp < 0 ? to : amp;
+            int eq = source.indexOf('=', pair, pairEnd);
+            if (eq >= 0) {
+                long key = ConnectionFingerprint.hash(source, pair, eq);
+                if (count == keys.length) {
+                    keys = Arrays.copyOf(keys, count * 2);
+                }
+                keys[count++] = key;
+                sum += ConnectionFingerprint.property(key, ConnectionFingerprint.hash(source, eq + 1, pairEnd));
+            }
+            pair = pairEnd + 1;
+        }
+        Arrays.sort(keys, 0, count);
+        for (int i = 1; i < count; i++) {
+            if (keys[i] == keys[i - 1]) {
+                return materialize().fingerprint();
+            }
+        }
+        return sum;
+    }
+
+    PropertyMap materialize() {
+        PropertyMap result = properties;
+        if (result == null) {
+            result = split(source, from, to, separator);
+            properties = result;
+        }
+        return result;
+    }
+}
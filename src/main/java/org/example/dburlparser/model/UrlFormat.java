@@ -0,0 +1,27 @@
+package org.example.dburlparser.model;
+
+/**
+ * Syntactic layout of a database URL after its {@link DbType} prefix.
+ */
+public enum UrlFormat {
+    /**
+     * {@code hosts/database?properties}, used by MySQL and Cassandra.
+     */
+    STANDARD,
+    /**
+     * {@code host:port:sid?properties}.
+     */
+    ORACLE_SID,
+    /**
+     * {@code //hosts/service?properties}.
+     */
+    ORACLE_SERVICE_NAME,
+    /**
+     * {@code (DESCRIPTION=...)?properties}.
+     */
+    ORACLE_TNS,
+    /**
+     * {@code alias?properties}, resolved through {@code tnsnames.ora}.
+     */
+    ORACLE_TNS_ALIAS
+}
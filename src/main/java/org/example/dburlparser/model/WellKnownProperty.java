@@ -0,0 +1,130 @@
+package org.example.dburlparser.model;
+
+import java.util.Arrays;
+
+/**
+ * Driver properties that connection pools read on every setup, with the type their value is parsed as.
+ * {@link PropertyMap} parses these values once when it is built, so the typed accessors on
+ * {@link DbConnectionInfo} never convert strings again.
+ * <p>
+ * Keys are recognised through a perfect-hash table: each key gets its own slot, so a lookup costs one
+ * hash of the key's length and first and last characters plus a single {@code equals}.
+ */
+public enum WellKnownProperty {
+    USE_SSL(DbType.MYSQL, "useSSL", Kind.BOOLEAN),
+    SERVER_TIMEZONE(DbType.MYSQL, "serverTimezone", Kind.STRING),
+    AUTO_RECONNECT(DbType.MYSQL, "autoReconnect", Kind.BOOLEAN),
+    CONSISTENCY(DbType.CASSANDRA, "consistency", Kind.STRING),
+    LOAD_BALANCING(DbType.CASSANDRA, "loadBalancing", Kind.STRING),
+    CONNECT_TIMEOUT(DbType.ORACLE, "oracle.net.CONNECT_TIMEOUT", Kind.INT),
+    DEFAULT_ROW_PREFETCH(DbType.ORACLE, "defaultRowPrefetch", Kind.INT);
+
+    public enum Kind {
+        STRING, BOOLEAN, INT
+    }
+
+    private static final WellKnownProperty[] VALUES = values();
+    private static final int MULTIPLIER;
+    private static final int SHIFT;
+    private static final WellKnownProperty[] TABLE;
+
+    static {
+        // Search for a multiplier that spreads the keys over distinct slots of the smallest table that allows it.
+        int bits = 32 - Integer.numberOfLeadingZeros(VALUES.length - 1);
+        int multiplier = 1;
+        WellKnownProperty[] table = new WellKnownProperty[1 << bits];
+        while (!place(table, multiplier, 32 - bits)) {
+            multiplier += 2;
+            if (multiplier >= 1 << 16) {
+                bits++;
+                multiplier = 1;
+                table = new WellKnownProperty[1 << bits];
+            }
+        }
+        MULTIPLIER = multiplier;
+        SHIFT = 32 - bits;
+        TABLE = table;
+    }
+
+    private final DbType type;
+    private final String key;
+    private final Kind kind;
+
+    WellKnownProperty(DbType type, String key, Kind kind) {
+        this.type = type;
+        this.key = key;
+        this.kind = kind;
+    }
+
+    public DbType type() {
+        return type;
+    }
+
+    public String key() {
+        return key;
+    }
+
+    public Kind kind() {
+        return kind;
+    }
+
+    /**
+     * The property with the given key, or {@code null} if the key is not well known.
+     */
+    public static WellKnownProperty forKey(String key) {
+        if (key.isEmpty()) {
+            return null;
+        }
+        WellKnownProperty property = TABLE[slot(key, MULTIPLIER, SHIFT)];
+        return property != null && property.key.equals(key) ? property : null;
+    }
+
+    /**
+     * Parses {@code value} as this property's kind: {@code 1}/{@code 0} for booleans ({@code true} or
+     * {@code false}, ignoring case) and the decimal value for ints. Returns {@link Long#MIN_VALUE} if the
+     * value does not parse, or for string properties.
+     */
+    long parse(String value) {
+        return switch (kind) {
+            case BOOLEAN -> value.equalsIgnoreCase("true") ? 1 : value.equalsIgnoreCase("false") ? 0 : Long.MIN_VALUE;
+            case INT -> parseInt(value);
+            case STRING -> Long.MIN_VALUE;
+        };
+    }
+
+    private static long parseInt(String value) {
+        int length = value.length();
+        int i = length > 0 && (value.charAt(0) == '-' || value.charAt(0) == '+') ? 1 : 0;
+        if (i == length || length - i > 10) {
+            return Long.MIN_VALUE;
+        }
+        long result = 0;
+        for (; i < length; i++) {
+            char c = value.charAt(i);
+            if (c < '0' || c > '9') {
+                return Long.MIN_VALUE;
+            }
+            result = result * 10 + (c - '0');
+        }
+        result = value.charAt(0) == '-' ? -result : result;
+        return result < Integer.MIN_VALUE || result > Integer.MAX_VALUE ? Long.MIN_VALUE : result;
+    }
+
+    private static boolean place(WellKnownProperty[] table, int multiplier, int shift) {
+        Arrays.fill(table, null);
+        for (WellKnownProperty property : VALUES) {
+            int slot = slot(property.key, multiplier, shift);
+            if (table[slot] != null) {
+                return false;
+            }
+            table[slot] = property;
+        }
+        return true;
+    }
+
+    private static int slot(String key, int multiplier, int shift) {
+        int length = key.length();
+        int hash = (length * 31 + key.charAt(0)) * 31 + key.charAt(length - 1);
+        return (hash * multiplier) >>> shift;
+    }
+}
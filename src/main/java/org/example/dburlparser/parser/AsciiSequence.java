@@ -0,0 +1,85 @@
+package org.example.dburlparser.parser;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+
+/**
+ * Read-only {@link CharSequence} view of ASCII bytes, so the parsers can read URLs straight out of
+ * network frames, message payloads or mapped files without decoding them into a {@code String} first.
+ * Each byte is one character (bytes above {@code 0x7F} read as ISO-8859-1). Only the spans that end up
+ * in a parse result are copied, by {@link #substring(int, int)}.
+ * <p>
+ * The view does not copy its source: the bytes must not change while it is in use.
+ */
+public final class AsciiSequence implements CharSequence {
+    private final byte[] array;
+    private final ByteBuffer buffer;
+    private final int offset;
+    private final int length;
+
+    private AsciiSequence(byte[] array, ByteBuffer buffer, int offset, int length) {
+        this.array = array;
+        this.buffer = buffer;
+        this.offset = offset;
+        this.length = length;
+    }
+
+    public static AsciiSequence of(byte[] ascii, int off, int len) {
+        Objects.checkFromIndexSize(off, len, ascii.length);
+        return new AsciiSequence(ascii, null, off, len);
+    }
+
+    /**
+     * A view of the bytes between the buffer's position and limit. The buffer's position is not changed.
+     */
+    public static AsciiSequence of(ByteBuffer ascii) {
+        if (ascii.hasArray()) {
+            return new AsciiSequence(ascii.array(), null, ascii.arrayOffset() + ascii.position(), ascii.remaining());
+        }
+        return new AsciiSequence(null, ascii, ascii.position(), ascii.remaining());
+    }
+
+    @Override
+    public int length() {
+        return length;
+    }
+
+    @Override
+    public char charAt(int index) {
+        if (index < 0 || index >= length) {
+            throw new StringIndexOutOfBoundsException(index);
+        }
+        return (char) ((array != null ? array[offset + index] : buffer.get(offset + index)) & 0xFF);
+    }
+
+    @Override
+    public CharSequence subSequence(int start, int end) {
+        checkRange(start, end);
+        return new AsciiSequence(array, buffer, offset + start, end - start);
+    }
+
+    /**
+     * Copies {@code [start, end)} into a new {@code String}.
+     */
+    public String substring(int start, int end) {
+        checkRange(start, end);
+        if (array != null) {
+            return new String(array, offset + start, end - start, StandardCharsets.ISO_8859_1);
+        }
+        byte[] bytes = new byte[end - start];
+        buffer.get(offset + start, bytes);
+        return new String(bytes, StandardCharsets.ISO_8859_1);
+    }
+
+    @Override
+    public String toString() {
+        return substring(0, length);
+    }
+
+    private void checkRange(int start, int end) {
+        if (start < 0 || start > end || end > length) {
+            throw new StringIndexOutOfBoundsException("begin " + start + ", end " + end + ", length " + length);
+        }
+    }
+}
@@ -3,52 +3,82 @@ package org.example.dburlparser.parser;
 import org.example.dburlparser.model.DbConnectionInfo;
 import org.example.dburlparser.model.HostInfo;
 
+import java.nio.ByteBuffer;
 import java.util.*;
 
+/**
+ * Parses database URLs of one {@link org.example.dburlparser.model.DbType}.
+ * Implementations hold no per-call state and are shared between threads by {@code DbUrlParserFactory}.
+ */
 public interface DbUrlParser {
-    DbConnectionInfo parse(String url);
+    /**
+     * Parses {@code url} without throwing or logging on malformed input: the rejection, its
+     * {@link org.example.dburlparser.model.ParseErrorCode} and the offending offset are returned as a
+     * {@link ParseResult.Failure}.
+     */
+    ParseResult tryParse(CharSequence url);
+
+    /**
+     * {@link #tryParse(CharSequence)} over the ASCII bytes {@code ascii[off, off + len)}, without decoding
+     * them into a {@code String}; only the resulting fields are copied.
+     */
+    default ParseResult tryParse(byte[] ascii, int off, int len) {
+        return tryParse(AsciiSequence.of(ascii, off, len));
+    }
+
+    /**
+     * {@link #tryParse(CharSequence)} over the ASCII bytes between the buffer's position and limit.
+     * The buffer's position is left unchanged.
+     */
+    default ParseResult tryParse(ByteBuffer ascii) {
+        return tryParse(AsciiSequence.of(ascii));
+    }
+
+    /**
+     * Parses {@code url}, throwing on malformed input.
+     *
+     * @throws IllegalArgumentException a {@link UrlParseException}, or a {@link NumberFormatException} for a bad port
+     */
+    default DbConnectionInfo parse(CharSequence url) {
+        return tryParse(url).orElseThrow();
+    }
+
+    default DbConnectionInfo parse(byte[] ascii, int off, int len) {
+        return tryParse(ascii, off, len).orElseThrow();
+    }
+
+    default DbConnectionInfo parse(ByteBuffer ascii) {
+        return tryParse(ascii).orElseThrow();
+    }
 
     default List<HostInfo> parseHosts(String hostsWithPorts, int defaultPort) {
-        List<HostInfo> hosts = new ArrayList<>();
-        for (String hostPort : hostsWithPorts.split(",")) {
-            String[] hostParts = hostPort.split(":");
-            if (hostParts.length == 0 || hostParts[0].isEmpty()) {
-                throw new IllegalArgumentException("Invalid host in URL: " + hostsWithPorts);
-            }
-            String host = hostParts[0];
-            int port = (hostParts.length > 1) ? Integer.parseInt(hostParts[1]) : defaultPort;
-            hosts.add(new HostInfo(host, port));
-        }
-        return hosts;
+        return UrlTokenizer.parseHosts(hostsWithPorts, 0, hostsWithPorts.length(), defaultPort);
     }
 
     default Map<String, String> parseParams(String query) {
-        Map<String, String> params = new HashMap<>();
-        if (query != null && !query.isEmpty()) {
-            for (String pair : query.split("&")) {
-                String[] keyValue = pair.split("=", 2);
-                if (keyValue.length == 2) {
-                    params.put(keyValue[0], keyValue[1]);
-                }
-            }
+        if (query == null) {
+            return new HashMap<>();
         }
-        return params;
+        return UrlTokenizer.parseParams(query, 0, query.length());
     }
 
     default String extractMainPart(String url) {
-        return url.split("\\?", 2)[0];
+        int queryIndex = url.indexOf('?');
+        return queryIndex < 0 ? url : url.substring(0, queryIndex);
     }
 
     default Map<String, String> extractQueryParams(String url) {
-        String[] urlParts = url.split("\\?", 2);
-        return (urlParts.length > 1) ? parseParams(urlParts[1]) : Collections.emptyMap();
+        int queryIndex = url.indexOf('?');
+        return queryIndex < 0 ? Collections.emptyMap() : UrlTokenizer.parseParams(url, queryIndex + 1, url.length());
     }
 
     default String extractHostsPart(String mainPart) {
-        return mainPart.contains("/") ? mainPart.substring(0, mainPart.indexOf("/")) : mainPart;
+        int slashIndex = mainPart.indexOf('/');
+        return slashIndex < 0 ? mainPart : mainPart.substring(0, slashIndex);
     }
 
     default String extractDatabaseName(String mainPart) {
-        return mainPart.contains("/") ? mainPart.substring(mainPart.indexOf("/") + 1) : "";
+        int slashIndex = mainPart.indexOf('/');
+        return slashIndex < 0 ? "" : mainPart.substring(slashIndex + 1);
     }
 }
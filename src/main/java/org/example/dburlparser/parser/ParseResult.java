@@ -0,0 +1,66 @@
+package org.example.dburlparser.parser;
+
+import org.example.dburlparser.model.DbConnectionInfo;
+import org.example.dburlparser.model.ParseErrorCode;
+
+/**
+ * Outcome of {@link DbUrlParser#tryParse(CharSequence)}: either the parsed {@link DbConnectionInfo} or
+ * the reason the URL was rejected. Rejections are plain values, so invalid input costs no exception.
+ */
+public sealed interface ParseResult permits ParseResult.Success, ParseResult.Failure {
+
+    static ParseResult success(DbConnectionInfo info) {
+        return new Success(info);
+    }
+
+    static Failure failure(ParseErrorCode code, String message, int offset) {
+        return new Failure(code, message, offset);
+    }
+
+    boolean isSuccess();
+
+    /**
+     * Returns the parsed info, or throws the exception the throwing {@code parse} API reports for this failure.
+     *
+     * @throws IllegalArgumentException if this is a {@link Failure}
+     */
+    DbConnectionInfo orElseThrow();
+
+    record Success(DbConnectionInfo info) implements ParseResult {
+        @Override
+        public boolean isSuccess() {
+            return true;
+        }
+
+        @Override
+        public DbConnectionInfo orElseThrow() {
+            return info;
+        }
+    }
+
+    /**
+     * @param offset index in the input string at which the problem was detected
+     */
+    record Failure(ParseErrorCode code, String message, int offset) implements ParseResult {
+        @Override
+        public boolean isSuccess() {
+            return false;
+        }
+
+        @Override
+        public DbConnectionInfo orElseThrow() {
+            throw toException();
+        }
+
+        /**
+         * Bad ports surface as {@link NumberFormatException}, as {@code Integer.parseInt} reported them;
+         * every other failure as a {@link UrlParseException}.
+         */
+        public IllegalArgumentException toException() {
+            if (code == ParseErrorCode.INVALID_PORT) {
+                return new NumberFormatException(message);
+            }
+            return new UrlParseException(code, message, offset);
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package org.example.dburlparser.parser;
+
+import org.example.dburlparser.model.ParseErrorCode;
+
+/**
+ * Rejection of a database URL, tagged with a {@link ParseErrorCode}.
+ */
+public class UrlParseException extends IllegalArgumentException {
+    private final ParseErrorCode code;
+    private final int offset;
+
+    public UrlParseException(ParseErrorCode code, String message) {
+        this(code, message, -1);
+    }
+
+    public UrlParseException(ParseErrorCode code, String message, int offset) {
+        super(message);
+        this.code = code;
+        this.offset = offset;
+    }
+
+    public ParseErrorCode getCode() {
+        return code;
+    }
+
+    /**
+     * Index in the URL at which the problem was detected, or {@code -1} if unknown.
+     */
+    public int getOffset() {
+        return offset;
+    }
+
+    /**
+     * Maps any failure thrown by a parser to its error code.
+     */
+    public static ParseErrorCode codeOf(Throwable failure) {
+        if (failure instanceof UrlParseException parseException) {
+            return parseException.code;
+        }
+        if (failure instanceof NumberFormatException) {
+            return ParseErrorCode.INVALID_PORT;
+        }
+        return ParseErrorCode.UNKNOWN;
+    }
+}
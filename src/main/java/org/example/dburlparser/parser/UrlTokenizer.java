@@ -0,0 +1,502 @@
+package org.example.dburlparser.parser;
+
+import org.example.dburlparser.model.HostInfo;
+import org.example.dburlparser.model.HostSpanList;
+import org.example.dburlparser.model.ParseErrorCode;
+import org.example.dburlparser.model.PropertyMap;
+import org.example.dburlparser.model.QueryStringMap;
+import org.example.dburlparser.parser.intern.InternPool;
+import org.example.dburlparser.parser.intern.Interning;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Cursor over a single database URL that locates the host, database and query spans
+ * with plain index arithmetic instead of {@code String.split}.
+ * <p>
+ * {@link #scanMainPart(char, int)} walks the URL once, up to the first {@code '?'}, and remembers
+ * the first path separator on the way. Hosts, database name and properties are then materialised
+ * straight from those spans, so no regex, intermediate arrays or throw-away substrings are created.
+ * The splitting rules match the previous {@code split}-based code, including its handling of
+ * trailing empty tokens.
+ * <p>
+ * The instance methods never throw on malformed input: {@link #hosts(int, int, int)} returns {@code null}
+ * and leaves the reason in {@link #failure()}.
+ * <p>
+ * Hosts and properties are returned as lazy {@link HostSpanList} and {@link QueryStringMap} views over the URL:
+ * the host list is validated here but only materialised when read, and the query string is only split when a
+ * property is first requested. While {@link Interning} is on they are built eagerly instead, with host names,
+ * hosts, the database name and property keys taken from its pool.
+ * <p>
+ * The URL can be any {@link CharSequence}, such as an {@link AsciiSequence} over received bytes; only the
+ * spans that become result fields are copied out of it. Since such sequences may be backed by buffers that
+ * the caller reuses, the lazy views over them keep a copy of the host list or query span rather than the URL.
+ */
+public final class UrlTokenizer {
+    /**
+     * Returned by {@link #parseDecimal(CharSequence, int, int)} for text that is not an {@code int}.
+     */
+    public static final long NOT_A_NUMBER = Long.MIN_VALUE;
+
+    /*
+     * Transition table of scanMainPart(byte[], byte[]): indexed by state + character class, where states are
+     * multiples of SCAN_CLASSES and class 0 is every character without a transition of its own.
+     */
+    public static final int SCAN_CLASSES = 4;
+    public static final int SCAN_IN_HOSTS = 0;
+    public static final int SCAN_IN_DATABASE = SCAN_CLASSES;
+    public static final byte SCAN_CONTINUE = 0;
+    public static final byte SCAN_END_CREDENTIALS = 1;
+    public static final byte SCAN_SEPARATOR = 2;
+    public static final byte SCAN_END_MAIN = 3;
+
+    private final CharSequence url;
+    // The URL if it is a String, which is what the lazy views need; null for other sequences.
+    private final String string;
+    private final int end;
+    private final InternPool pool;
+    private int position;
+    private int separator = -1;
+    private int mainEnd = -1;
+    private ParseResult.Failure failure;
+
+    /**
+     * Creates a tokenizer over {@code url} starting at {@code offset}, with surrounding whitespace
+     * trimmed the same way {@link String#trim()} does.
+     */
+    public UrlTokenizer(CharSequence url, int offset) {
+        int from = offset;
+        int to = url.length();
+        while (from < to && url.charAt(from) <= ' ') {
+            from++;
+        }
+        while (to > from && url.charAt(to - 1) <= ' ') {
+            to--;
+        }
+        this.url = url;
+        this.string = url instanceof String s ? s : null;
+        this.end = to;
+        this.position = from;
+        this.pool = Interning.pool();
+    }
+
+    public int position() {
+        return position;
+    }
+
+    public int end() {
+        return end;
+    }
+
+    public boolean startsWith(String token) {
+        return position + token.length() <= end && regionMatches(url, position, token);
+    }
+
+    /**
+     * Moves the cursor past the first occurrence of {@code c}, if any. Returns whether it was found.
+     */
+    public boolean skipPast(char c) {
+        int index = indexOf(c, position, end);
+        if (index < 0) {
+            return false;
+        }
+        position = index + 1;
+        return true;
+    }
+
+    public void advance(int count) {
+        position += count;
+    }
+
+    /**
+     * Scans from {@code from} up to the query separator {@code '?'}, remembering the first {@code separator}
+     * seen on the way. The results are available from {@link #separator()}, {@link #mainEnd()} and
+     * {@link #queryStart()}.
+     */
+    public void scanMainPart(char separator, int from) {
+        int found = -1;
+        int i = from;
+        for (; i < end; i++) {
+            char c = url.charAt(i);
+            if (c == '?') {
+                break;
+            }
+            if (c == separator && found < 0) {
+                found = i;
+            }
+        }
+        this.separator = found;
+        this.mainEnd = i;
+    }
+
+    /**
+     * Whether the URL is a {@code String}, for which {@link #scanMainPart(char, char, char)} is the faster scan.
+     */
+    public boolean isString() {
+        return string != null;
+    }
+
+    /**
+     * Locates the same spans as {@link #scanMainPart(byte[], byte[])} with one {@code indexOf} per character of
+     * interest, which for {@code String} input runs the JDK's vectorised search instead of a per-character loop.
+     * A {@code '\0'} {@code credentials} or {@code separator} is not looked for.
+     */
+    public void scanMainPart(char credentials, char separator, char terminator) {
+        int main = indexOf(terminator, position, end);
+        int stop = main < 0 ? end : main;
+        int found = separator == 0 ? -1 : indexOf(separator, position, stop);
+        if (credentials != 0) {
+            int at = lastIndexOf(credentials, position, found < 0 ? stop : found);
+            if (at >= 0) {
+                position = at + 1;
+            }
+        }
+        this.separator = found;
+        this.mainEnd = stop;
+    }
+
+    /**
+     * Table-driven form of {@link #scanMainPart(char, int)} for compiled grammars. Walks from the cursor with
+     * {@code classes} mapping each ASCII character to a class and {@code transitions} mapping state plus class
+     * to an action: {@link #SCAN_END_CREDENTIALS} moves the cursor past the character, {@link #SCAN_SEPARATOR}
+     * records the separator and enters {@link #SCAN_IN_DATABASE}, and {@link #SCAN_END_MAIN} ends the main part.
+     */
+    public void scanMainPart(byte[] classes, byte[] transitions) {
+        int found = -1;
+        int state = SCAN_IN_HOSTS;
+        int i = position;
+        scan:
+        for (; i < end; i++) {
+            char c = url.charAt(i);
+            int type = c < classes.length ? classes[c] : 0;
+            if (type == 0) {
+                continue;
+            }
+            switch (transitions[state + type]) {
+                case SCAN_END_CREDENTIALS -> position = i + 1;
+                case SCAN_SEPARATOR -> {
+                    found = i;
+                    state = SCAN_IN_DATABASE;
+                }
+                case SCAN_END_MAIN -> {
+                    break scan;
+                }
+                default -> {
+                }
+            }
+        }
+        this.separator = found;
+        this.mainEnd = i;
+    }
+
+    /**
+     * Index of the separator found by the last {@link #scanMainPart(char, int)}, or {@code -1}.
+     */
+    public int separator() {
+        return separator;
+    }
+
+    /**
+     * End of the main part (exclusive): the index of {@code '?'} or the end of the URL.
+     */
+    public int mainEnd() {
+        return mainEnd;
+    }
+
+    /**
+     * Start of the query string (after {@code '?'}), or {@code -1} if the URL has none.
+     */
+    public int queryStart() {
+        return mainEnd < end ? mainEnd + 1 : -1;
+    }
+
+    public int indexOf(char c, int from, int to) {
+        return indexOf(url, c, from, to);
+    }
+
+    private int lastIndexOf(char c, int from, int to) {
+        if (string != null) {
+            int index = string.lastIndexOf(c, to - 1);
+            return index >= from ? index : -1;
+        }
+        for (int i = to - 1; i >= from; i--) {
+            if (url.charAt(i) == c) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Whether {@code [from, to)} contains a character other than {@code c}; mirrors the
+     * trailing-empty-token rule of {@code String.split}.
+     */
+    public boolean containsOtherThan(char c, int from, int to) {
+        return containsOtherThan(url, c, from, to);
+    }
+
+    /**
+     * The name in {@code [from, to)}, interned while {@link Interning} is on.
+     */
+    public String text(int from, int to) {
+        return pool == null ? substring(url, from, to) : pool.intern(url, from, to);
+    }
+
+    /**
+     * Interns a name that was not taken from this URL's spans, such as a decoded TNS value.
+     */
+    public String name(String name) {
+        return pool == null || name == null ? name : pool.intern(name);
+    }
+
+    public HostInfo host(String host, int port) {
+        return pool == null ? new HostInfo(host, port) : pool.host(host, port);
+    }
+
+    /**
+     * Parses the host list in {@code [from, to)}, or returns {@code null} and records {@link #failure()}.
+     */
+    public List<HostInfo> hosts(int from, int to, int defaultPort) {
+        int[] spans = scanHosts(url, from, to, defaultPort, this);
+        if (spans == null) {
+            return null;
+        }
+        if (pool != null) {
+            return toHosts(url, spans, pool);
+        }
+        if (string != null) {
+            return new HostSpanList(string, spans);
+        }
+        // The sequence may be a buffer the caller reuses: keep a copy of just the host list span.
+        for (int span = 0; span < spans.length; span += 3) {
+            spans[span] -= from;
+            spans[span + 1] -= from;
+        }
+        return new HostSpanList(substring(url, from, to), spans);
+    }
+
+    /**
+     * Why the last {@link #hosts(int, int, int)} call returned {@code null}.
+     */
+    public ParseResult.Failure failure() {
+        return failure;
+    }
+
+    /**
+     * Parses the query string starting at {@code from} up to the end of the URL.
+     */
+    public Map<String, String> params(int from) {
+        return params(from, '&');
+    }
+
+    /**
+     * Parses {@code key=value} pairs separated by {@code separator} from {@code from} up to the end of the URL.
+     */
+    public Map<String, String> params(int from, char separator) {
+        if (pool != null) {
+            return parseParams(url, from, end, separator, pool);
+        }
+        if (string != null) {
+            return new QueryStringMap(string, from, end, separator);
+        }
+        return new QueryStringMap(substring(url, from, end), 0, end - from, separator);
+    }
+
+    public static int indexOf(CharSequence s, char c, int from, int to) {
+        if (s instanceof String string) {
+            return string.indexOf(c, from, to);
+        }
+        for (int i = from; i < to; i++) {
+            if (s.charAt(i) == c) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Whether {@code s} contains {@code token} at {@code offset}.
+     */
+    public static boolean regionMatches(CharSequence s, int offset, String token) {
+        if (s instanceof String string) {
+            return string.startsWith(token, offset);
+        }
+        if (offset < 0 || offset > s.length() - token.length()) {
+            return false;
+        }
+        for (int i = 0; i < token.length(); i++) {
+            if (s.charAt(offset + i) != token.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Copies {@code [from, to)} of {@code s} into a {@code String}, without intermediate copies for
+     * {@code String} and {@link AsciiSequence} input.
+     */
+    public static String substring(CharSequence s, int from, int to) {
+        if (s instanceof String string) {
+            return string.substring(from, to);
+        }
+        if (s instanceof AsciiSequence ascii) {
+            return ascii.substring(from, to);
+        }
+        return s.subSequence(from, to).toString();
+    }
+
+    public static boolean containsOtherThan(CharSequence s, char c, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (s.charAt(i) != c) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Parses a comma separated {@code host[:port]} list in {@code [from, to)}.
+     *
+     * @throws IllegalArgumentException if a host name is empty
+     * @throws NumberFormatException    if a port is not a number
+     */
+    public static List<HostInfo> parseHosts(CharSequence s, int from, int to, int defaultPort) {
+        return toHosts(s, scanHosts(s, from, to, defaultPort, null), null);
+    }
+
+    private static List<HostInfo> toHosts(CharSequence s, int[] spans, InternPool pool) {
+        List<HostInfo> hosts = new ArrayList<>(spans.length / 3);
+        for (int span = 0; span < spans.length; span += 3) {
+            int hostStart = spans[span];
+            int hostEnd = spans[span + 1];
+            int port = spans[span + 2];
+            hosts.add(pool == null
+                    ? new HostInfo(substring(s, hostStart, hostEnd), port)
+                    : pool.host(s, hostStart, hostEnd, port));
+        }
+        return hosts;
+    }
+
+    /**
+     * Validates the host list in {@code [from, to)} and returns {@code hostStart, hostEnd, port} for each host.
+     * Failures are recorded on {@code sink} if given, otherwise thrown.
+     */
+    private static int[] scanHosts(CharSequence s, int from, int to, int defaultPort, UrlTokenizer sink) {
+        if (from == to) {
+            return reject(sink, invalidHost(s, from, to, from));
+        }
+        // Trailing empty entries are dropped, as String.split(",") does.
+        int last = to;
+        while (last > from && s.charAt(last - 1) == ',') {
+            last--;
+        }
+        int count = last > from ? 1 : 0;
+        for (int comma = indexOf(s, ',', from, last); comma >= 0; comma = indexOf(s, ',', comma + 1, last)) {
+            count++;
+        }
+        int[] spans = new int[count * 3];
+        int span = 0;
+        int segment = from;
+        while (segment < last) {
+            int comma = indexOf(s, ',', segment, last);
+            int segmentEnd = comma < 0 ? last : comma;
+            int colon = indexOf(s, ':', segment, segmentEnd);
+            int hostEnd = colon < 0 ? segmentEnd : colon;
+            if (hostEnd == segment) {
+                return reject(sink, invalidHost(s, from, to, segment));
+            }
+            int port = defaultPort;
+            if (colon >= 0 && containsOtherThan(s, ':', colon + 1, segmentEnd)) {
+                int portEnd = indexOf(s, ':', colon + 1, segmentEnd);
+                if (portEnd < 0) {
+                    portEnd = segmentEnd;
+                }
+                long value = parseDecimal(s, colon + 1, portEnd);
+                if (value == NOT_A_NUMBER) {
+                    return reject(sink, ParseResult.failure(ParseErrorCode.INVALID_PORT,
+                            "For input string: \"" + substring(s, colon + 1, portEnd) + "\"", colon + 1));
+                }
+                port = (int) value;
+            }
+            spans[span++] = segment;
+            spans[span++] = hostEnd;
+            spans[span++] = port;
+            segment = segmentEnd + 1;
+        }
+        return spans;
+    }
+
+    private static ParseResult.Failure invalidHost(CharSequence s, int from, int to, int offset) {
+        String message = "Invalid host in URL: " + substring(s, from, to);
+        return ParseResult.failure(ParseErrorCode.INVALID_HOST, message, offset);
+    }
+
+    private static <T> T reject(UrlTokenizer sink, ParseResult.Failure failure) {
+        if (sink == null) {
+            throw failure.toException();
+        }
+        sink.failure = failure;
+        return null;
+    }
+
+    /**
+     * Parses {@code [from, to)} with the rules of {@link Integer#parseInt(String)} but without throwing:
+     * returns {@link #NOT_A_NUMBER} where {@code parseInt} would fail.
+     */
+    public static long parseDecimal(CharSequence s, int from, int to) {
+        int i = from;
+        boolean negative = false;
+        if (i < to && (s.charAt(i) == '-' || s.charAt(i) == '+')) {
+            negative = s.charAt(i) == '-';
+            i++;
+        }
+        if (i == to) {
+            return NOT_A_NUMBER;
+        }
+        long limit = negative ? -(long) Integer.MIN_VALUE : Integer.MAX_VALUE;
+        long value = 0;
+        for (; i < to; i++) {
+            int digit = Character.digit(s.charAt(i), 10);
+            if (digit < 0) {
+                return NOT_A_NUMBER;
+            }
+            value = value * 10 + digit;
+            if (value > limit) {
+                return NOT_A_NUMBER;
+            }
+        }
+        return negative ? -value : value;
+    }
+
+    /**
+     * Parses {@code key=value} pairs separated by {@code '&'} in {@code [from, to)}.
+     * Pairs without {@code '='} are ignored; later duplicates win.
+     */
+    public static Map<String, String> parseParams(CharSequence s, int from, int to) {
+        return s instanceof String string
+                ? QueryStringMap.parse(string, from, to) : new HashMap<>(parseParams(s, from, to, '&', null));
+    }
+
+    /**
+     * {@link #parseParams(CharSequence, int, int)} over any sequence, with the keys interned if {@code pool} is set.
+     */
+    private static PropertyMap parseParams(CharSequence s, int from, int to, char separator, InternPool pool) {
+        PropertyMap.Builder params = new PropertyMap.Builder();
+        int pair = from;
+        while (pair < to) {
+            int amp = indexOf(s, separator, pair, to);
+            int pairEnd = amp < 0 ? to : amp;
+            int eq = indexOf(s, '=', pair, pairEnd);
+            if (eq >= 0) {
+                String key = pool == null ? substring(s, pair, eq) : pool.intern(s, pair, eq);
+                params.put(key, substring(s, eq + 1, pairEnd));
+            }
+            pair = pairEnd + 1;
+        }
+        return params.build();
+    }
+}
@@ -0,0 +1,16 @@
+package org.example.dburlparser.parser.cache;
+
+/**
+ * Point-in-time counters of a {@link CachingDbUrlParser}.
+ */
+public record CacheStats(long hitCount, long missCount, long evictionCount, int size) {
+
+    public long requestCount() {
+        return hitCount + missCount;
+    }
+
+    public double hitRate() {
+        long requests = requestCount();
+        return requests == 0 ? 1.0 : (double) hitCount / requests;
+    }
+}
@@ -0,0 +1,140 @@
+package org.example.dburlparser.parser.cache;
+
+import org.example.dburlparser.model.DbConnectionInfo;
+import org.example.dburlparser.parser.DbUrlParser;
+import org.example.dburlparser.parser.ParseResult;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * {@link DbUrlParser} decorator that caches results by the raw URL string; other character sequences
+ * are keyed by their {@code toString()}.
+ * <p>
+ * Lookups are lock-free {@link ConcurrentHashMap} reads that only set a reference bit on the entry.
+ * Misses parse outside any lock and then admit the result under a single eviction lock, which runs
+ * the CLOCK (second chance) policy over a fixed ring of {@code maximumSize} slots: entries read since
+ * the hand last passed them survive one more round. Failed parses are not cached.
+ * <p>
+ * Returned {@link DbConnectionInfo} instances are shared between callers; they are immutable.
+ */
+public final class CachingDbUrlParser implements DbUrlParser {
+    private final DbUrlParser delegate;
+    private final int maximumSize;
+    private final ConcurrentHashMap<String, Entry> entries;
+    private final Entry[] ring;
+    private final ReentrantLock evictionLock = new ReentrantLock();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private int size;
+    private int hand;
+
+    public CachingDbUrlParser(DbUrlParser delegate, int maximumSize) {
+        if (maximumSize <= 0) {
+            throw new IllegalArgumentException("Cache size must be positive: " + maximumSize);
+        }
+        this.delegate = delegate;
+        this.maximumSize = maximumSize;
+        this.entries = new ConcurrentHashMap<>(Math.min(maximumSize, 1 << 16));
+        this.ring = new Entry[maximumSize];
+    }
+
+    @Override
+    public ParseResult tryParse(CharSequence input) {
+        String url = input.toString();
+        Entry entry = entries.get(url);
+        if (entry != null) {
+            // Only the first hit since the last sweep writes, so hot entries stay shared in every reader's cache.
+            if (!entry.referenced) {
+                entry.referenced = true;
+            }
+            hits.increment();
+            return entry.value;
+        }
+        misses.increment();
+        ParseResult result = delegate.tryParse(url);
+        if (result instanceof ParseResult.Success success) {
+            admit(url, success);
+        }
+        return result;
+    }
+
+    private void admit(String url, ParseResult.Success value) {
+        evictionLock.lock();
+        try {
+            if (entries.containsKey(url)) {
+                return;
+            }
+            int slot;
+            if (size < maximumSize) {
+                slot = size++;
+            } else {
+                slot = evict();
+            }
+            Entry entry = new Entry(url, value);
+            ring[slot] = entry;
+            entries.put(url, entry);
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    /**
+     * Advances the clock hand until it finds an entry that was not read since the last pass,
+     * removes it and returns its slot.
+     */
+    private int evict() {
+        while (true) {
+            Entry candidate = ring[hand];
+            int slot = hand;
+            hand = (hand + 1) % maximumSize;
+            if (candidate.referenced) {
+                candidate.referenced = false;
+            } else {
+                entries.remove(candidate.url, candidate);
+                evictions.increment();
+                return slot;
+            }
+        }
+    }
+
+    public int maximumSize() {
+        return maximumSize;
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public CacheStats stats() {
+        return new CacheStats(hits.sum(), misses.sum(), evictions.sum(), entries.size());
+    }
+
+    public void clear() {
+        evictionLock.lock();
+        try {
+            entries.clear();
+            Arrays.fill(ring, null);
+            size = 0;
+            hand = 0;
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    private static final class Entry {
+        private final String url;
+        private final ParseResult.Success value;
+        // Set without synchronisation by the first hit after a sweep: a lost update only costs the entry its second
+        // chance.
+        private boolean referenced;
+
+        private Entry(String url, ParseResult.Success value) {
+            this.url = url;
+            this.value = value;
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package org.example.dburlparser.parser.grammar;
+
+import org.example.dburlparser.model.DbType;
+
+import java.util.List;
+
+/**
+ * The URL dialects parsed by {@link GrammarUrlParser}. Oracle keeps its own parser for the TNS descriptor.
+ */
+public final class Dialects {
+    public static final UrlGrammar MYSQL = UrlGrammar.builder(DbType.MYSQL)
+            .defaultPort(3306)
+            .database('/', false)
+            .missingDatabaseMessage("Invalid MySQL URL: Missing database name")
+            .build();
+
+    public static final UrlGrammar CASSANDRA = UrlGrammar.builder(DbType.CASSANDRA)
+            .defaultPort(9042)
+            .credentials()
+            .database('/', true)
+            .missingDatabaseMessage("Invalid Cassandra URL: Missing keyspace")
+            .build();
+
+    /**
+     * {@code jdbc:postgresql://host[:port][,host[:port]...]/database[?key=value&...]}
+     */
+    public static final UrlGrammar POSTGRESQL = UrlGrammar.builder(DbType.POSTGRESQL)
+            .defaultPort(5432)
+            .database('/', true)
+            .missingDatabaseMessage("Invalid PostgreSQL URL: Missing database name")
+            .build();
+
+    /**
+     * {@code jdbc:sqlserver://host[:port];databaseName=database[;key=value...]}, also accepting {@code database=}.
+     */
+    public static final UrlGrammar SQLSERVER = UrlGrammar.builder(DbType.SQLSERVER)
+            .defaultPort(1433)
+            .properties(';', ';')
+            .databaseProperty("databaseName", "database")
+            .missingDatabaseMessage("Invalid SQL Server URL: Missing databaseName property")
+            .build();
+
+    /**
+     * {@code mongodb://[user:password@]host[:port][,...][/[database]][?key=value&...]}. Without a database the
+     * drivers authenticate against {@code admin}, which is used here as well.
+     */
+    public static final UrlGrammar MONGODB = UrlGrammar.builder(DbType.MONGODB)
+            .defaultPort(27017)
+            .credentials()
+            .optionalDatabase('/', "admin")
+            .build();
+
+    /**
+     * {@code mongodb+srv://[user:password@]host[/[database]][?key=value&...]}: a single DNS seed list name.
+     */
+    public static final UrlGrammar MONGODB_SRV = UrlGrammar.builder(DbType.MONGODB_SRV)
+            .defaultPort(27017)
+            .maxHosts(1)
+            .credentials()
+            .optionalDatabase('/', "admin")
+            .build();
+
+    private static final List<UrlGrammar> ALL = List.of(MYSQL, CASSANDRA, POSTGRESQL, SQLSERVER, MONGODB, MONGODB_SRV);
+
+    private Dialects() {
+    }
+
+    public static List<UrlGrammar> all() {
+        return ALL;
+    }
+}
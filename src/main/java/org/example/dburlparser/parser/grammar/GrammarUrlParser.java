@@ -0,0 +1,98 @@
+package org.example.dburlparser.parser.grammar;
+
+import org.example.dburlparser.metrics.ParseInstrumentation;
+import org.example.dburlparser.metrics.ParseListener;
+import org.example.dburlparser.model.DbConnectionInfo;
+import org.example.dburlparser.model.HostInfo;
+import org.example.dburlparser.model.ParseErrorCode;
+import org.example.dburlparser.model.PropertyMap;
+import org.example.dburlparser.model.UrlFormat;
+import org.example.dburlparser.parser.DbUrlParser;
+import org.example.dburlparser.parser.ParseResult;
+import org.example.dburlparser.parser.UrlTokenizer;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Parser for any dialect described by a {@link UrlGrammar}. The grammar's compiled tables locate the
+ * credentials, host list, database and properties in one scan; hosts and properties then come from the
+ * same {@link UrlTokenizer} spans, lazy views and interning as every other parser.
+ */
+public class GrammarUrlParser implements DbUrlParser {
+    private final UrlGrammar grammar;
+
+    public GrammarUrlParser(UrlGrammar grammar) {
+        this.grammar = grammar;
+    }
+
+    public UrlGrammar grammar() {
+        return grammar;
+    }
+
+    @Override
+    public ParseResult tryParse(CharSequence url) {
+        ParseListener listener = ParseInstrumentation.listener();
+        if (listener == null) {
+            return parseUrl(url);
+        }
+        return ParseInstrumentation.record(listener, grammar.type(), UrlFormat.STANDARD, url, this::parseUrl);
+    }
+
+    private ParseResult parseUrl(CharSequence url) {
+        UrlTokenizer tokens = new UrlTokenizer(url, grammar.prefixLength());
+        grammar.scan(tokens);
+
+        int separator = tokens.separator();
+        int mainEnd = tokens.mainEnd();
+        int queryStart = tokens.queryStart();
+        Map<String, String> properties = queryStart < 0
+                ? PropertyMap.EMPTY : tokens.params(queryStart, grammar.pairSeparator());
+
+        String database = database(tokens, properties);
+        if (database == null) {
+            return ParseResult.failure(ParseErrorCode.MISSING_DATABASE, grammar.missingDatabaseMessage(),
+                    separator < 0 ? mainEnd : separator + 1);
+        }
+
+        int hostsStart = tokens.position();
+        List<HostInfo> hosts = tokens.hosts(hostsStart, separator < 0 ? mainEnd : separator, grammar.defaultPort());
+        if (hosts == null) {
+            return tokens.failure();
+        }
+        if (hosts.size() > grammar.maxHosts()) {
+            return tooManyHosts(hostsStart);
+        }
+        return ParseResult.success(new DbConnectionInfo(grammar.type(), hosts, database, properties));
+    }
+
+    /**
+     * The database named by the URL or its default, or {@code null} if a required database is missing.
+     */
+    private String database(UrlTokenizer tokens, Map<String, String> properties) {
+        if (grammar.databaseProperties().length > 0) {
+            return tokens.name(databaseProperty(properties));
+        }
+        int separator = tokens.separator();
+        int start = separator + 1;
+        if (separator >= 0 && (start < tokens.mainEnd() || grammar.databaseRequired() && !grammar.databaseNonEmpty())) {
+            return tokens.text(start, tokens.mainEnd());
+        }
+        return grammar.databaseRequired() ? null : tokens.name(grammar.defaultDatabase());
+    }
+
+    private ParseResult tooManyHosts(int offset) {
+        return ParseResult.failure(ParseErrorCode.INVALID_FORMAT,
+                "Invalid " + grammar.type() + " URL: at most " + grammar.maxHosts() + " host(s) allowed", offset);
+    }
+
+    private String databaseProperty(Map<String, String> properties) {
+        for (String key : grammar.databaseProperties()) {
+            String value = properties.get(key);
+            if (value != null && !value.isEmpty()) {
+                return value;
+            }
+        }
+        return null;
+    }
+}
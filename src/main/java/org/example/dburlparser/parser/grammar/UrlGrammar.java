@@ -0,0 +1,233 @@
+package org.example.dburlparser.parser.grammar;
+
+import org.example.dburlparser.model.DbType;
+import org.example.dburlparser.parser.UrlTokenizer;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Declarative description of a {@code prefix[credentials@]hosts[/database][?properties]} URL dialect,
+ * compiled by {@link Builder#build()} into the character-class and transition tables that
+ * {@link UrlTokenizer#scanMainPart(byte[], byte[])} runs. {@code String} URLs take the equivalent
+ * {@code indexOf} scan over the same separators instead. {@link GrammarUrlParser} drives every dialect
+ * through that scan, so a new dialect is a few lines in {@link Dialects} rather than another
+ * hand-written parser, and gets the fast path without tuning of its own.
+ */
+public final class UrlGrammar {
+    // Character classes; 0 is every character without a transition.
+    private static final byte CREDENTIALS = 1;
+    private static final byte DATABASE = 2;
+    private static final byte PROPERTIES = 3;
+
+    private final DbType type;
+    private final int prefixLength;
+    private final int defaultPort;
+    private final int maxHosts;
+    private final boolean databaseRequired;
+    private final boolean databaseNonEmpty;
+    private final String defaultDatabase;
+    private final String[] databaseProperties;
+    private final char pairSeparator;
+    private final String missingDatabaseMessage;
+    private final char credentials;
+    private final char databaseSeparator;
+    private final char propertiesSeparator;
+    private final byte[] classes = new byte[128];
+    private final byte[] transitions = new byte[2 * UrlTokenizer.SCAN_CLASSES];
+
+    private UrlGrammar(Builder builder) {
+        this.type = builder.type;
+        this.prefixLength = builder.type.getPrefix().length();
+        this.defaultPort = builder.defaultPort;
+        this.maxHosts = builder.maxHosts;
+        this.databaseRequired = builder.databaseRequired;
+        this.databaseNonEmpty = builder.databaseNonEmpty;
+        this.defaultDatabase = builder.defaultDatabase;
+        this.databaseProperties = builder.databaseProperties;
+        this.pairSeparator = builder.pairSeparator;
+        this.missingDatabaseMessage = builder.missingDatabaseMessage;
+        this.credentials = builder.credentials ? '@' : 0;
+        this.databaseSeparator = builder.databaseSeparator;
+        this.propertiesSeparator = builder.propertiesSeparator;
+
+        if (builder.credentials) {
+            classes['@'] = CREDENTIALS;
+            transitions[UrlTokenizer.SCAN_IN_HOSTS + CREDENTIALS] = UrlTokenizer.SCAN_END_CREDENTIALS;
+        }
+        if (databaseSeparator != 0) {
+            classes[databaseSeparator] = DATABASE;
+            transitions[UrlTokenizer.SCAN_IN_HOSTS + DATABASE] = UrlTokenizer.SCAN_SEPARATOR;
+        }
+        classes[propertiesSeparator] = PROPERTIES;
+        transitions[UrlTokenizer.SCAN_IN_HOSTS + PROPERTIES] = UrlTokenizer.SCAN_END_MAIN;
+        transitions[UrlTokenizer.SCAN_IN_DATABASE + PROPERTIES] = UrlTokenizer.SCAN_END_MAIN;
+    }
+
+    public static Builder builder(DbType type) {
+        return new Builder(type);
+    }
+
+    public DbType type() {
+        return type;
+    }
+
+    public int defaultPort() {
+        return defaultPort;
+    }
+
+    public int maxHosts() {
+        return maxHosts;
+    }
+
+    public boolean databaseRequired() {
+        return databaseRequired;
+    }
+
+    boolean databaseNonEmpty() {
+        return databaseNonEmpty;
+    }
+
+    String defaultDatabase() {
+        return defaultDatabase;
+    }
+
+    String[] databaseProperties() {
+        return databaseProperties;
+    }
+
+    /**
+     * The properties whose first non-empty value names the database, in order; empty if the database
+     * follows the {@link #databaseSeparator()}.
+     */
+    public List<String> databasePropertyKeys() {
+        return List.of(databaseProperties);
+    }
+
+    /**
+     * The character before the database, or {@code '\0'} if the database is a property.
+     */
+    public char databaseSeparator() {
+        return databaseSeparator;
+    }
+
+    public char propertiesSeparator() {
+        return propertiesSeparator;
+    }
+
+    public char pairSeparator() {
+        return pairSeparator;
+    }
+
+    String missingDatabaseMessage() {
+        return missingDatabaseMessage;
+    }
+
+    int prefixLength() {
+        return prefixLength;
+    }
+
+    /**
+     * Locates the host list, database separator and main part end of {@code tokens}' URL: with the
+     * transition tables in one pass, or for a {@code String} with a vectorised search per separator.
+     */
+    void scan(UrlTokenizer tokens) {
+        if (tokens.isString()) {
+            tokens.scanMainPart(credentials, databaseSeparator, propertiesSeparator);
+        } else {
+            tokens.scanMainPart(classes, transitions);
+        }
+    }
+
+    /**
+     * Fluent description of a dialect. Defaults: no credentials, database after {@code '/'} and required,
+     * properties after {@code '?'} separated by {@code '&'}, any number of hosts.
+     */
+    public static final class Builder {
+        private final DbType type;
+        private int defaultPort;
+        private int maxHosts = Integer.MAX_VALUE;
+        private boolean credentials;
+        private char databaseSeparator = '/';
+        private boolean databaseRequired = true;
+        private boolean databaseNonEmpty;
+        private String defaultDatabase;
+        private String[] databaseProperties = new String[0];
+        private char propertiesSeparator = '?';
+        private char pairSeparator = '&';
+        private String missingDatabaseMessage;
+
+        private Builder(DbType type) {
+            this.type = Objects.requireNonNull(type);
+            this.missingDatabaseMessage = "Invalid " + type + " URL: Missing database name";
+        }
+
+        public Builder defaultPort(int port) {
+            this.defaultPort = port;
+            return this;
+        }
+
+        public Builder maxHosts(int maxHosts) {
+            this.maxHosts = maxHosts;
+            return this;
+        }
+
+        /**
+         * Skips an optional {@code user[:password]@} before the host list.
+         */
+        public Builder credentials() {
+            this.credentials = true;
+            return this;
+        }
+
+        /**
+         * The database must follow the host list after {@code separator}; with {@code nonEmpty} it must also
+         * have at least one character.
+         */
+        public Builder database(char separator, boolean nonEmpty) {
+            this.databaseSeparator = separator;
+            this.databaseRequired = true;
+            this.databaseNonEmpty = nonEmpty;
+            return this;
+        }
+
+        /**
+         * The database may follow the host list after {@code separator}; {@code defaultDatabase} is used when
+         * it is absent or empty.
+         */
+        public Builder optionalDatabase(char separator, String defaultDatabase) {
+            this.databaseSeparator = separator;
+            this.databaseRequired = false;
+            this.defaultDatabase = Objects.requireNonNull(defaultDatabase);
+            return this;
+        }
+
+        /**
+         * The database is the value of the first of {@code keys} present among the properties.
+         */
+        public Builder databaseProperty(String... keys) {
+            this.databaseSeparator = 0;
+            this.databaseRequired = true;
+            this.databaseProperties = keys.clone();
+            return this;
+        }
+
+        public Builder properties(char separator, char pairSeparator) {
+            this.propertiesSeparator = separator;
+            this.pairSeparator = pairSeparator;
+            return this;
+        }
+
+        public Builder missingDatabaseMessage(String message) {
+            this.missingDatabaseMessage = message;
+            return this;
+        }
+
+        public UrlGrammar build() {
+            if (databaseSeparator >= 128 || propertiesSeparator >= 128 || propertiesSeparator == databaseSeparator) {
+                throw new IllegalStateException("Separators must be distinct ASCII characters");
+            }
+            return new UrlGrammar(this);
+        }
+    }
+}
@@ -1,123 +1,277 @@
 package org.example.dburlparser.parser.impl.sql;
 
-import org.example.dburlparser.model.DbType;
+import org.example.dburlparser.metrics.ParseInstrumentation;
+import org.example.dburlparser.metrics.ParseListener;
 import org.example.dburlparser.model.DbConnectionInfo;
+import org.example.dburlparser.model.DbType;
 import org.example.dburlparser.model.HostInfo;
+import org.example.dburlparser.model.ParseErrorCode;
+import org.example.dburlparser.model.PropertyMap;
+import org.example.dburlparser.model.UrlFormat;
 import org.example.dburlparser.parser.DbUrlParser;
+import org.example.dburlparser.parser.ParseResult;
+import org.example.dburlparser.parser.UrlParseException;
+import org.example.dburlparser.parser.UrlTokenizer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
 import java.util.*;
+import java.util.concurrent.TimeUnit;
 
 public class OracleUrlParser implements DbUrlParser {
-    private static final Logger logger = LoggerFactory.getLogger(OracleUrlParser.class);
     private static final int DEFAULT_PORT = 1521;
     private static final String ERROR_MESSAGE = "Invalid Oracle Service Name URL";
     private static final String INVALID_ORACLE_SID_URL = "Invalid Oracle SID URL";
+    private static final String INVALID_ORACLE_TNS_URL = "Invalid Oracle TNS URL";
     private static final String MISSING_SERVICE_NAME_OR_SID = "Invalid Oracle TNS URL: Missing SERVICE_NAME or SID";
 
+    private final TnsNames tnsNames;
+    private final boolean tnsAdmin;
+
+    /**
+     * A parser for inline descriptors only; {@code @ALIAS} URLs are rejected as SID URLs.
+     */
+    public OracleUrlParser() {
+        this(null);
+    }
+
+    /**
+     * A parser that also resolves {@code jdbc:oracle:thin:@ALIAS} URLs through {@code tnsNames}, if not {@code null}.
+     */
+    public OracleUrlParser(TnsNames tnsNames) {
+        this(tnsNames, false);
+    }
+
+    private OracleUrlParser(TnsNames tnsNames, boolean tnsAdmin) {
+        this.tnsNames = tnsNames;
+        this.tnsAdmin = tnsAdmin;
+    }
+
+    /**
+     * A parser that resolves aliases through {@link TnsNames#fromTnsAdmin()}, as the Oracle driver does. The file
+     * is located and indexed on the first URL that could be an alias, once per JVM, and then re-indexed by alias
+     * lookups when it changed, checked at most every ten seconds, without a watcher thread. If it cannot be read
+     * at first, a warning is logged and aliases are parsed as by {@link #OracleUrlParser()}; if it cannot be read
+     * later, the aliases read before stay in use.
+     */
+    public static OracleUrlParser fromTnsAdmin() {
+        return new OracleUrlParser(null, true);
+    }
+
     @Override
-    public DbConnectionInfo parse(String url) {
-        logger.info("Parsing Oracle DB URL");
-        String prefix = DbType.ORACLE.getPrefix();
-        String rawUrl = url.substring(prefix.length()).trim();
-
-        if (rawUrl.startsWith("(")) {
-            return parseTnsFormat(rawUrl);
-        } else if (rawUrl.startsWith("//")) {
-            return parseServiceNameFormat(rawUrl);
+    public ParseResult tryParse(CharSequence url) {
+        UrlTokenizer tokens = new UrlTokenizer(url, DbType.ORACLE.getPrefix().length());
+        UrlFormat format = detectFormat(tokens);
+
+        ParseListener listener = ParseInstrumentation.listener();
+        if (listener == null) {
+            return parse(url, tokens, format);
+        }
+        return ParseInstrumentation.record(listener, DbType.ORACLE, format, url, u -> parse(u, tokens, format));
+    }
+
+    private UrlFormat detectFormat(UrlTokenizer tokens) {
+        if (tokens.startsWith("(")) {
+            return UrlFormat.ORACLE_TNS;
+        } else if (tokens.startsWith("//")) {
+            return UrlFormat.ORACLE_SERVICE_NAME;
+        } else if (isAlias(tokens) && tnsNames() != null) {
+            return UrlFormat.ORACLE_TNS_ALIAS;
         } else {
-            return parseSidFormat(rawUrl);
+            return UrlFormat.ORACLE_SID;
         }
     }
 
-    private DbConnectionInfo parseSidFormat(String url) {
-        logger.debug("Parsing SID format");
-        String[] urlParts = url.split("\\?", 2);
-        String mainPart = urlParts[0];
-        Map<String, String> properties = (urlParts.length > 1) ? parseParams(urlParts[1]) : new HashMap<>();
+    /**
+     * Whether {@code url} is a {@code jdbc:oracle:thin:@ALIAS} URL, whose result depends on a
+     * {@code tnsnames.ora} rather than on the URL alone.
+     */
+    public static boolean isTnsAlias(CharSequence url) {
+        if (DbType.getDbType(url) != DbType.ORACLE) {
+            return false;
+        }
+        UrlTokenizer tokens = new UrlTokenizer(url, DbType.ORACLE.getPrefix().length());
+        return !tokens.startsWith("(") && !tokens.startsWith("//") && isAlias(tokens);
+    }
 
-        String[] parts = mainPart.split(":");
-        if (parts.length < 3) {
-            logger.error(INVALID_ORACLE_SID_URL);
-            throw new IllegalArgumentException(INVALID_ORACLE_SID_URL);
+    private TnsNames tnsNames() {
+        return tnsAdmin ? TnsAdmin.names() : tnsNames;
+    }
+
+    /**
+     * Whether the main part is a bare name: not empty and without the {@code ':'} of {@code host:port:sid}.
+     */
+    private static boolean isAlias(UrlTokenizer tokens) {
+        tokens.scanMainPart(':', tokens.position());
+        return tokens.separator() < 0 && tokens.mainEnd() > tokens.position();
+    }
+
+    private ParseResult parse(CharSequence url, UrlTokenizer tokens, UrlFormat format) {
+        return switch (format) {
+            case ORACLE_TNS -> parseTnsFormat(url, tokens);
+            case ORACLE_SERVICE_NAME -> parseServiceNameFormat(tokens);
+            case ORACLE_TNS_ALIAS -> parseAliasFormat(tokens);
+            default -> parseSidFormat(tokens);
+        };
+    }
+
+    private ParseResult parseSidFormat(UrlTokenizer tokens) {
+        int hostsStart = tokens.position();
+        tokens.scanMainPart(':', hostsStart);
+        int mainEnd = tokens.mainEnd();
+
+        // host:port:sid - as with split(":"), a trailing run of empty tokens does not count as a SID
+        int firstColon = tokens.separator();
+        int secondColon = firstColon < 0 ? -1 : tokens.indexOf(':', firstColon + 1, mainEnd);
+        if (secondColon < 0 || !tokens.containsOtherThan(':', secondColon + 1, mainEnd)) {
+            return ParseResult.failure(ParseErrorCode.INVALID_FORMAT, INVALID_ORACLE_SID_URL, mainEnd);
         }
 
-        String hostsWithPorts = parts[0];
-        String database = parts[2];
+        int thirdColon = tokens.indexOf(':', secondColon + 1, mainEnd);
+        String database = tokens.text(secondColon + 1, thirdColon < 0 ? mainEnd : thirdColon);
+        Map<String, String> properties = queryParams(tokens);
 
-        List<HostInfo> hosts = parseHosts(hostsWithPorts, DEFAULT_PORT);
-        return new DbConnectionInfo(DbType.ORACLE, hosts, database, properties);
+        // host:port, with the default port if it is empty
+        List<HostInfo> hosts = tokens.hosts(hostsStart, secondColon, DEFAULT_PORT);
+        if (hosts == null) {
+            return tokens.failure();
+        }
+        return ParseResult.success(new DbConnectionInfo(DbType.ORACLE, hosts, database, properties));
     }
 
-    private DbConnectionInfo parseServiceNameFormat(String url) {
-        logger.debug("Parsing Service Name format");
-        String[] urlParts = url.split("\\?", 2);
-        String mainPart = urlParts[0];
-        Map<String, String> properties = (urlParts.length > 1) ? parseParams(urlParts[1]) : new HashMap<>();
+    private ParseResult parseServiceNameFormat(UrlTokenizer tokens) {
+        tokens.advance(2);
+        int hostsStart = tokens.position();
+        tokens.scanMainPart('/', hostsStart);
+        int mainEnd = tokens.mainEnd();
 
-        String[] parts = mainPart.split("/");
-        if (parts.length < 4) {
-            logger.error(ERROR_MESSAGE);
-            throw new IllegalArgumentException(ERROR_MESSAGE);
+        // //hosts/service - anything after a further '/' is ignored
+        int slash = tokens.separator();
+        if (slash < 0 || !tokens.containsOtherThan('/', slash + 1, mainEnd)) {
+            return ParseResult.failure(ParseErrorCode.INVALID_FORMAT, ERROR_MESSAGE, mainEnd);
         }
 
-        String hostsWithPorts = parts[2];
-        String database = parts[3];
+        int nextSlash = tokens.indexOf('/', slash + 1, mainEnd);
+        String database = tokens.text(slash + 1, nextSlash < 0 ? mainEnd : nextSlash);
+        Map<String, String> properties = queryParams(tokens);
 
-        List<HostInfo> hosts = parseHosts(hostsWithPorts, DEFAULT_PORT);
-        return new DbConnectionInfo(DbType.ORACLE, hosts, database, properties);
+        List<HostInfo> hosts = tokens.hosts(hostsStart, slash, DEFAULT_PORT);
+        if (hosts == null) {
+            return tokens.failure();
+        }
+        return ParseResult.success(new DbConnectionInfo(DbType.ORACLE, hosts, database, properties));
     }
 
-    private DbConnectionInfo parseTnsFormat(String url) {
-        logger.debug("Parsing TNS format");
-        List<HostInfo> hosts = new ArrayList<>();
-        String database = "";
-        Map<String, String> properties = new HashMap<>();
+    private Map<String, String> queryParams(UrlTokenizer tokens) {
+        int queryStart = tokens.queryStart();
+        return queryStart < 0 ? PropertyMap.EMPTY : tokens.params(queryStart);
+    }
 
-        int queryIndex = url.indexOf('?');
-        if (queryIndex != -1) {
-            properties = parseParams(url.substring(queryIndex + 1));
-            url = url.substring(0, queryIndex);
-            logger.debug("Extracted query parameters");
+    /**
+     * Parses the connect descriptor of a TNS format URL such as
+     * {@code jdbc:oracle:thin:@(DESCRIPTION=...)}, exposing every address, address list and
+     * descriptor attribute ({@code FAILOVER}, {@code LOAD_BALANCE}, {@code CONNECT_TIMEOUT}, ...).
+     *
+     * @throws IllegalArgumentException if the URL is not in TNS format or the descriptor is malformed
+     */
+    public TnsDescriptor parseDescriptor(CharSequence url) {
+        UrlTokenizer tokens = new UrlTokenizer(url, DbType.ORACLE.getPrefix().length());
+        if (!tokens.startsWith("(")) {
+            throw new UrlParseException(ParseErrorCode.INVALID_FORMAT, INVALID_ORACLE_TNS_URL);
         }
+        return new TnsDescriptorParser(url, tokens.position(), tokens.end()).parseDescriptor();
+    }
 
-        int startIndex = 0;
-        while ((startIndex = url.indexOf("(HOST=", startIndex)) != -1) {
-            try {
-                int endIndex = url.indexOf(")", startIndex);
-                String host = url.substring(startIndex + 6, endIndex).trim();
-
-                startIndex = url.indexOf("(PORT=", endIndex);
-                int port = DEFAULT_PORT;
-                if (startIndex != -1) {
-                    endIndex = url.indexOf(")", startIndex);
-                    port = Integer.parseInt(url.substring(startIndex + 6, endIndex).trim());
-                }
+    private ParseResult parseTnsFormat(CharSequence url, UrlTokenizer tokens) {
+        TnsDescriptorParser descriptorParser = new TnsDescriptorParser(url, tokens.position(), tokens.end());
+        TnsDescriptor descriptor = descriptorParser.tryParseDescriptor();
+        if (descriptor == null) {
+            return descriptorParser.failure();
+        }
 
-                hosts.add(new HostInfo(host, port));
-                startIndex = endIndex;
-            } catch (Exception e) {
-                logger.error("Error parsing TNS host/port", e);
-                throw new IllegalArgumentException("Invalid Oracle TNS URL", e);
+        Map<String, String> properties = PropertyMap.EMPTY;
+        int rest = descriptorParser.position();
+        if (rest < tokens.end()) {
+            if (url.charAt(rest) != '?') {
+                return ParseResult.failure(ParseErrorCode.MALFORMED_DESCRIPTOR,
+                        INVALID_ORACLE_TNS_URL + ": unexpected input after descriptor at offset " + rest, rest);
             }
+            properties = tokens.params(rest + 1);
         }
 
-        if (url.contains("(SERVICE_NAME=")) {
-            database = extractValue(url, "(SERVICE_NAME=");
-        } else if (url.contains("(SID=")) {
-            database = extractValue(url, "(SID=");
-        } else {
-            logger.error(MISSING_SERVICE_NAME_OR_SID);
-            throw new IllegalArgumentException(MISSING_SERVICE_NAME_OR_SID);
+        return toConnectionInfo(tokens, descriptor, properties);
+    }
+
+    /**
+     * Parses {@code ALIAS?properties} with the descriptor {@link #tnsNames} holds for the alias. The main part
+     * has already been scanned by {@link #isAlias}.
+     */
+    private ParseResult parseAliasFormat(UrlTokenizer tokens) {
+        TnsNames tnsNames = tnsNames();
+        int aliasStart = tokens.position();
+        String alias = tokens.text(aliasStart, tokens.mainEnd());
+        TnsNames.Entry entry = tnsNames.entry(alias);
+        if (entry == null) {
+            return tnsNames.unknownAlias(alias, aliasStart);
+        }
+        TnsDescriptor descriptor = entry.descriptor();
+        if (descriptor == null) {
+            ParseResult.Failure failure = entry.failure();
+            return ParseResult.failure(failure.code(),
+                    "Invalid entry for TNS alias '" + alias + "' in " + tnsNames.file() + ": " + failure.message(),
+                    aliasStart);
+        }
+        return toConnectionInfo(tokens, descriptor, queryParams(tokens));
+    }
+
+    private static ParseResult toConnectionInfo(UrlTokenizer tokens, TnsDescriptor descriptor,
+                                                Map<String, String> properties) {
+        String database = tokens.name(descriptor.serviceName() != null ? descriptor.serviceName() : descriptor.sid());
+        if (database == null) {
+            return ParseResult.failure(ParseErrorCode.MISSING_SERVICE_NAME, MISSING_SERVICE_NAME_OR_SID,
+                    tokens.position());
         }
-        return new DbConnectionInfo(DbType.ORACLE, hosts, database, properties);
+
+        List<HostInfo> hosts = new ArrayList<>();
+        for (TnsDescriptor.AddressList addressList : descriptor.addressLists()) {
+            for (TnsDescriptor.Address address : addressList.addresses()) {
+                if (address.host() != null) {
+                    hosts.add(tokens.host(address.host(), address.port()));
+                }
+            }
+        }
+        return ParseResult.success(new DbConnectionInfo(DbType.ORACLE, hosts, database, properties));
     }
 
-    private String extractValue(String url, String key) {
-        int startIndex = url.indexOf(key);
-        if (startIndex == -1) return "";
-        int endIndex = url.indexOf(")", startIndex);
-        return url.substring(startIndex + key.length(), endIndex).trim();
+    /**
+     * The {@code $TNS_ADMIN} file of {@link #fromTnsAdmin()} parsers, loaded when first needed rather than when
+     * the parser is created, so that a missing or broken file never fails the class that creates it.
+     */
+    private static final class TnsAdmin {
+        private static final Logger LOGGER = LoggerFactory.getLogger(OracleUrlParser.class);
+        private static final long REFRESH_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(10);
+        private static final TnsNames NAMES = load();
+
+        static TnsNames names() {
+            TnsNames names = NAMES;
+            if (names != null) {
+                try {
+                    names.refreshIfDue(REFRESH_INTERVAL_NANOS);
+                } catch (IOException | RuntimeException e) {
+                    LOGGER.warn("Cannot re-read {}, keeping the aliases read before: {}", names.file(), e.getMessage());
+                }
+            }
+            return names;
+        }
+
+        private static TnsNames load() {
+            try {
+                return TnsNames.fromTnsAdmin();
+            } catch (RuntimeException e) {
+                LOGGER.warn("Cannot load tnsnames.ora, TNS aliases will not be resolved: {}", e.getMessage());
+                return null;
+            }
+        }
     }
 }
@@ -0,0 +1,108 @@
+package org.example.dburlparser.parser.impl.sql;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalInt;
+
+/**
+ * Parsed Oracle {@code (DESCRIPTION=...)} connect descriptor.
+ * <p>
+ * Keyword names are upper-cased. Parameters that are not modelled explicitly are kept by name; nested ones,
+ * such as {@code (SECURITY=(SSL_SERVER_CERT_DN=...))}, are flattened to dotted keys like
+ * {@code SECURITY.SSL_SERVER_CERT_DN}.
+ *
+ * @param addressLists address lists in declaration order; {@code ADDRESS} entries placed directly under
+ *                     {@code DESCRIPTION} form an implicit list without parameters
+ * @param connectData  the {@code CONNECT_DATA} entries, e.g. {@code SERVICE_NAME}, {@code SID}, {@code SERVER}
+ * @param parameters   the remaining {@code DESCRIPTION} level entries, e.g. {@code FAILOVER}, {@code RETRY_COUNT}
+ */
+public record TnsDescriptor(List<AddressList> addressLists, Map<String, String> connectData, Map<String, String> parameters) {
+
+    public TnsDescriptor {
+        addressLists = List.copyOf(addressLists);
+        connectData = Map.copyOf(connectData);
+        parameters = Map.copyOf(parameters);
+    }
+
+    /**
+     * All addresses of every address list, in declaration order.
+     */
+    public List<Address> addresses() {
+        List<Address> addresses = new ArrayList<>();
+        for (AddressList list : addressLists) {
+            addresses.addAll(list.addresses());
+        }
+        return addresses;
+    }
+
+    public String serviceName() {
+        return connectData.get("SERVICE_NAME");
+    }
+
+    public String sid() {
+        return connectData.get("SID");
+    }
+
+    public boolean failover() {
+        return isOn(parameters.get("FAILOVER"));
+    }
+
+    public boolean loadBalance() {
+        return isOn(parameters.get("LOAD_BALANCE"));
+    }
+
+    /**
+     * The raw {@code CONNECT_TIMEOUT} value, which may carry a unit such as {@code "10 ms"}, or {@code null}.
+     */
+    public String connectTimeout() {
+        return parameters.get("CONNECT_TIMEOUT");
+    }
+
+    public OptionalInt retryCount() {
+        String value = parameters.get("RETRY_COUNT");
+        if (value == null) {
+            return OptionalInt.empty();
+        }
+        try {
+            return OptionalInt.of(Integer.parseInt(value));
+        } catch (NumberFormatException e) {
+            return OptionalInt.empty();
+        }
+    }
+
+    static boolean isOn(String value) {
+        return value != null && (value.equalsIgnoreCase("on") || value.equalsIgnoreCase("yes")
+                || value.equalsIgnoreCase("true"));
+    }
+
+    /**
+     * One {@code ADDRESS_LIST}, with its own {@code FAILOVER} / {@code LOAD_BALANCE} settings in {@code parameters}.
+     */
+    public record AddressList(List<Address> addresses, Map<String, String> parameters) {
+
+        public AddressList {
+            addresses = List.copyOf(addresses);
+            parameters = Map.copyOf(parameters);
+        }
+
+        public boolean failover() {
+            return isOn(parameters.get("FAILOVER"));
+        }
+
+        public boolean loadBalance() {
+            return isOn(parameters.get("LOAD_BALANCE"));
+        }
+    }
+
+    /**
+     * One {@code ADDRESS}. {@code host} is {@code null} for protocols without one, such as IPC;
+     * {@code port} falls back to 1521 when absent.
+     */
+    public record Address(String protocol, String host, int port, Map<String, String> parameters) {
+
+        public Address {
+            parameters = Map.copyOf(parameters);
+        }
+    }
+}
@@ -0,0 +1,334 @@
+package org.example.dburlparser.parser.impl.sql;
+
+import org.example.dburlparser.model.ParseErrorCode;
+import org.example.dburlparser.parser.ParseResult;
+import org.example.dburlparser.parser.UrlTokenizer;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Single-pass recursive-descent parser for Oracle connect descriptors:
+ * <pre>
+ * node  := '(' NAME '=' ( value | node+ ) ')'
+ * value := any characters except '(' and ')'
+ * </pre>
+ * Whitespace around names, values and parentheses is ignored and names are case-insensitive.
+ * Each {@code ADDRESS} keeps its own {@code HOST} and {@code PORT}, so entries can never be paired
+ * across addresses. The parser reads each character once and stops after the closing parenthesis of
+ * the root {@code DESCRIPTION}; {@link #position()} then points past any trailing whitespace.
+ * <p>
+ * {@link #tryParseDescriptor()} reports malformed input by returning {@code null} with the reason in
+ * {@link #failure()}; every production below does the same and its caller stops on {@code null}/{@code false}.
+ */
+public final class TnsDescriptorParser {
+    private static final String INVALID_TNS_URL = "Invalid Oracle TNS URL: ";
+    private static final int MAX_DEPTH = 32;
+    private static final int DEFAULT_PORT = 1521;
+
+    private final CharSequence text;
+    private final int end;
+    private int position;
+    private ParseResult.Failure failure;
+
+    public TnsDescriptorParser(CharSequence text, int from, int to) {
+        this.text = text;
+        this.position = from;
+        this.end = to;
+    }
+
+    public static TnsDescriptor parse(String descriptor) {
+        TnsDescriptorParser parser = new TnsDescriptorParser(descriptor, 0, descriptor.length());
+        TnsDescriptor result = parser.parseDescriptor();
+        if (parser.position() != descriptor.length()) {
+            parser.fail("unexpected trailing input");
+            throw parser.failure.toException();
+        }
+        return result;
+    }
+
+    /**
+     * Offset just past the parsed descriptor and any whitespace following it.
+     */
+    public int position() {
+        return position;
+    }
+
+    /**
+     * Why {@link #tryParseDescriptor()} returned {@code null}.
+     */
+    public ParseResult.Failure failure() {
+        return failure;
+    }
+
+    /**
+     * Parses one {@code (DESCRIPTION=...)} starting at the current position.
+     *
+     * @throws IllegalArgumentException if the descriptor is malformed
+     */
+    public TnsDescriptor parseDescriptor() {
+        TnsDescriptor descriptor = tryParseDescriptor();
+        if (descriptor == null) {
+            throw failure.toException();
+        }
+        return descriptor;
+    }
+
+    /**
+     * Parses one {@code (DESCRIPTION=...)} starting at the current position, or returns {@code null}
+     * and records {@link #failure()} if it is malformed.
+     */
+    public TnsDescriptor tryParseDescriptor() {
+        String name = openNode();
+        if (name == null) {
+            return null;
+        }
+        if (!name.equals("DESCRIPTION") || !nextIsNode()) {
+            return fail("expected (DESCRIPTION=(...))");
+        }
+        List<TnsDescriptor.AddressList> addressLists = new ArrayList<>();
+        List<TnsDescriptor.Address> bareAddresses = null;
+        int bareListIndex = -1;
+        Map<String, String> connectData = new HashMap<>();
+        Map<String, String> parameters = new HashMap<>();
+
+        while (nextIsNode()) {
+            String child = openNode();
+            if (child == null) {
+                return null;
+            }
+            switch (child) {
+                case "ADDRESS_LIST" -> {
+                    TnsDescriptor.AddressList addressList = parseAddressList();
+                    if (addressList == null) {
+                        return null;
+                    }
+                    addressLists.add(addressList);
+                }
+                case "ADDRESS" -> {
+                    TnsDescriptor.Address address = parseAddress();
+                    if (address == null) {
+                        return null;
+                    }
+                    if (bareAddresses == null) {
+                        // The implicit list keeps the position of its first address; filled in below.
+                        bareAddresses = new ArrayList<>();
+                        bareListIndex = addressLists.size();
+                        addressLists.add(null);
+                    }
+                    bareAddresses.add(address);
+                }
+                case "CONNECT_DATA" -> {
+                    if (!parseNested(connectData, "", 1)) {
+                        return null;
+                    }
+                }
+                default -> {
+                    if (!parseEntry(parameters, child, 1)) {
+                        return null;
+                    }
+                }
+            }
+        }
+        if (!closeNode()) {
+            return null;
+        }
+        skipWhitespace();
+
+        if (bareAddresses != null) {
+            addressLists.set(bareListIndex, new TnsDescriptor.AddressList(bareAddresses, Map.of()));
+        }
+        return new TnsDescriptor(addressLists, connectData, parameters);
+    }
+
+    private TnsDescriptor.AddressList parseAddressList() {
+        List<TnsDescriptor.Address> addresses = new ArrayList<>();
+        Map<String, String> parameters = new HashMap<>();
+        if (!nextIsNode()) {
+            return fail("expected (ADDRESS=...)");
+        }
+        while (nextIsNode()) {
+            String child = openNode();
+            if (child == null) {
+                return null;
+            }
+            if (child.equals("ADDRESS")) {
+                TnsDescriptor.Address address = parseAddress();
+                if (address == null) {
+                    return null;
+                }
+                addresses.add(address);
+            } else if (!parseEntry(parameters, child, 2)) {
+                return null;
+            }
+        }
+        if (!closeNode()) {
+            return null;
+        }
+        return new TnsDescriptor.AddressList(addresses, parameters);
+    }
+
+    private TnsDescriptor.Address parseAddress() {
+        String protocol = null;
+        String host = null;
+        int port = DEFAULT_PORT;
+        Map<String, String> parameters = new HashMap<>();
+        if (!nextIsNode()) {
+            return fail("expected (HOST=...)");
+        }
+        while (nextIsNode()) {
+            String child = openNode();
+            if (child == null) {
+                return null;
+            }
+            switch (child) {
+                case "PROTOCOL" -> protocol = readValueAndClose();
+                case "HOST" -> host = readValueAndClose();
+                case "PORT" -> {
+                    int portStart = position;
+                    String value = readValueAndClose();
+                    if (value == null) {
+                        return null;
+                    }
+                    long parsed = UrlTokenizer.parseDecimal(value, 0, value.length());
+                    if (parsed == UrlTokenizer.NOT_A_NUMBER) {
+                        position = portStart;
+                        return fail(ParseErrorCode.INVALID_PORT, "invalid PORT '" + value + "'");
+                    }
+                    port = (int) parsed;
+                }
+                default -> {
+                    if (!parseEntry(parameters, child, 3)) {
+                        return null;
+                    }
+                }
+            }
+            if (failure != null) {
+                return null;
+            }
+        }
+        if (!closeNode()) {
+            return null;
+        }
+        return new TnsDescriptor.Address(protocol, host, port, parameters);
+    }
+
+    /**
+     * Parses the body of an entry whose name has been read: either a plain value or nested entries.
+     */
+    private boolean parseEntry(Map<String, String> into, String name, int depth) {
+        if (nextIsNode()) {
+            return parseNested(into, name + ".", depth + 1);
+        }
+        String value = readValueAndClose();
+        if (value == null) {
+            return false;
+        }
+        into.put(name, value);
+        return true;
+    }
+
+    /**
+     * Parses nested entries up to and including the closing parenthesis of their parent,
+     * flattening them into {@code into} under {@code prefix}.
+     */
+    private boolean parseNested(Map<String, String> into, String prefix, int depth) {
+        if (depth > MAX_DEPTH) {
+            fail("descriptor nested too deeply");
+            return false;
+        }
+        while (nextIsNode()) {
+            String name = openNode();
+            if (name == null || !parseEntry(into, prefix + name, depth)) {
+                return false;
+            }
+        }
+        return closeNode();
+    }
+
+    /**
+     * Consumes {@code '(' NAME '='} and returns the upper-cased name.
+     */
+    private String openNode() {
+        skipWhitespace();
+        if (!expect('(')) {
+            return null;
+        }
+        skipWhitespace();
+        int nameStart = position;
+        while (position < end) {
+            char c = text.charAt(position);
+            if (c == '=' || c == '(' || c == ')' || c <= ' ') {
+                break;
+            }
+            position++;
+        }
+        if (position == nameStart) {
+            return fail("expected keyword");
+        }
+        String name = UrlTokenizer.substring(text, nameStart, position).toUpperCase(Locale.ROOT);
+        skipWhitespace();
+        return expect('=') ? name : null;
+    }
+
+    /**
+     * Reads a plain value and its closing parenthesis. Surrounding whitespace is trimmed.
+     */
+    private String readValueAndClose() {
+        skipWhitespace();
+        int valueStart = position;
+        int valueEnd = position;
+        while (position < end) {
+            char c = text.charAt(position);
+            if (c == ')') {
+                position++;
+                return UrlTokenizer.substring(text, valueStart, valueEnd);
+            }
+            if (c == '(') {
+                break;
+            }
+            position++;
+            if (c > ' ') {
+                valueEnd = position;
+            }
+        }
+        return fail("expected ')'");
+    }
+
+    private boolean closeNode() {
+        skipWhitespace();
+        return expect(')');
+    }
+
+    private boolean nextIsNode() {
+        skipWhitespace();
+        return position < end && text.charAt(position) == '(';
+    }
+
+    private void skipWhitespace() {
+        while (position < end && text.charAt(position) <= ' ') {
+            position++;
+        }
+    }
+
+    private boolean expect(char c) {
+        if (position >= end || text.charAt(position) != c) {
+            fail("expected '" + c + "'");
+            return false;
+        }
+        position++;
+        return true;
+    }
+
+    private <T> T fail(String message) {
+        return fail(ParseErrorCode.MALFORMED_DESCRIPTOR, message);
+    }
+
+    private <T> T fail(ParseErrorCode code, String message) {
+        failure = ParseResult.failure(code, INVALID_TNS_URL + message + " at offset " + position, position);
+        return null;
+    }
+}
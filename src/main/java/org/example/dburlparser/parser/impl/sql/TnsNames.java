@@ -0,0 +1,474 @@
+package org.example.dburlparser.parser.impl.sql;
+
+import org.example.dburlparser.model.ParseErrorCode;
+import org.example.dburlparser.parser.AsciiSequence;
+import org.example.dburlparser.parser.ParseResult;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Alias lookup over a {@code tnsnames.ora} file, for URLs such as {@code jdbc:oracle:thin:@SALES}.
+ * <p>
+ * The file is memory-mapped and scanned once into an index from alias to the byte range of its connect
+ * descriptor; nothing is decoded at that point. A descriptor is parsed straight out of the mapping with
+ * {@link TnsDescriptorParser} the first time one of its aliases is looked up, and the result, or the reason it
+ * is malformed, is kept with the index entry. Lookups after the first cost one hash map probe.
+ * <p>
+ * {@link #refresh()} re-indexes the file if its size, modification time or identity changed, and
+ * {@link #watch(Path)} does so whenever a {@link WatchService} reports a change. Re-indexing carries the parsed
+ * descriptor of every entry whose bytes hash the same over to the new index, so only new and edited entries
+ * are parsed again. Lookups never block on a refresh: they read whichever index was last published.
+ * <p>
+ * Entries are {@code ALIAS[, ALIAS...] = (DESCRIPTION=...)} with the alias at the start of a line; aliases are
+ * case-insensitive and a later entry overrides an earlier one of the same name. Lines starting with {@code #}
+ * outside a descriptor are comments. Top-level parameters without a descriptor, such as {@code IFILE}, are
+ * skipped. The file should be replaced rather than truncated in place: a descriptor that changes while it is
+ * being parsed is reported as a failure until the next refresh instead of being cached.
+ */
+public final class TnsNames implements Closeable {
+    /**
+     * Oracle's system property for the directory holding {@code tnsnames.ora}; the {@code TNS_ADMIN}
+     * environment variable is used when it is not set.
+     */
+    public static final String TNS_ADMIN_PROPERTY = "oracle.net.tns_admin";
+    public static final String FILE_NAME = "tnsnames.ora";
+
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private final Path file;
+    private volatile Index index;
+    private volatile WatchService watchService;
+    // System.nanoTime() from which refreshIfDue checks the file again.
+    private final AtomicLong nextCheck;
+
+    private TnsNames(Path file, Index index) {
+        this.file = file;
+        this.index = index;
+        this.nextCheck = new AtomicLong(System.nanoTime());
+    }
+
+    /**
+     * Maps and indexes {@code file}. The index only changes on {@link #refresh()}.
+     */
+    public static TnsNames open(Path file) throws IOException {
+        return new TnsNames(file, Index.load(file, null));
+    }
+
+    /**
+     * Maps and indexes {@code file} and re-indexes it on a daemon thread whenever it changes, until
+     * {@link #close()}.
+     */
+    public static TnsNames watch(Path file) throws IOException {
+        TnsNames names = open(file);
+        names.startWatching();
+        return names;
+    }
+
+    /**
+     * {@link #fromTnsAdmin(boolean) fromTnsAdmin(false)}.
+     */
+    public static TnsNames fromTnsAdmin() {
+        return fromTnsAdmin(false);
+    }
+
+    /**
+     * The {@code tnsnames.ora} in the directory named by {@value #TNS_ADMIN_PROPERTY} or {@code TNS_ADMIN}, or
+     * {@code null} if neither is set or the directory has no such file. With {@code watch} it is re-indexed on
+     * every change until {@link #close()}, as with {@link #watch(Path)}.
+     *
+     * @throws UncheckedIOException if the file exists but cannot be read
+     */
+    public static TnsNames fromTnsAdmin(boolean watch) {
+        String directory = System.getProperty(TNS_ADMIN_PROPERTY);
+        if (directory == null || directory.isBlank()) {
+            directory = System.getenv("TNS_ADMIN");
+        }
+        if (directory == null || directory.isBlank()) {
+            return null;
+        }
+        Path file = Path.of(directory.strip(), FILE_NAME);
+        if (!Files.isRegularFile(file)) {
+            return null;
+        }
+        try {
+            return watch ? watch(file) : open(file);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public Path file() {
+        return file;
+    }
+
+    /**
+     * Number of aliases in the current index.
+     */
+    public int size() {
+        return index.entries.size();
+    }
+
+    /**
+     * The upper-cased aliases of the current index.
+     */
+    public Set<String> aliases() {
+        return Collections.unmodifiableSet(index.entries.keySet());
+    }
+
+    public boolean contains(String alias) {
+        return index.entries.containsKey(alias.toUpperCase(Locale.ROOT));
+    }
+
+    /**
+     * The connect descriptor of {@code alias}, parsed on first use.
+     *
+     * @throws IllegalArgumentException if the alias is unknown or its descriptor is malformed
+     */
+    public TnsDescriptor resolve(String alias) {
+        Entry entry = entry(alias);
+        if (entry == null) {
+            throw unknownAlias(alias, 0).toException();
+        }
+        TnsDescriptor descriptor = entry.descriptor();
+        if (descriptor == null) {
+            throw entry.failure().toException();
+        }
+        return descriptor;
+    }
+
+    /**
+     * The index entry of {@code alias}, or {@code null} if the current index has none.
+     */
+    Entry entry(String alias) {
+        return index.entries.get(alias.toUpperCase(Locale.ROOT));
+    }
+
+    ParseResult.Failure unknownAlias(String alias, int offset) {
+        return ParseResult.failure(ParseErrorCode.UNKNOWN_ALIAS,
+                "Unknown TNS alias '" + alias + "' in " + file, offset);
+    }
+
+    /**
+     * Re-indexes the file if it changed since it was last indexed and returns whether it did. If the file
+     * cannot be read, the current index stays in place and the exception is thrown.
+     */
+    public synchronized boolean refresh() throws IOException {
+        Index current = index;
+        BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+        if (current.isUpToDate(attributes)) {
+            return false;
+        }
+        index = Index.load(file, current);
+        return true;
+    }
+
+    /**
+     * {@link #refresh()} if {@code intervalNanos} have passed since the last such check, for users that poll
+     * on lookups instead of running a watcher thread. The caller that claims a due check runs it; others
+     * return {@code false} at once.
+     */
+    boolean refreshIfDue(long intervalNanos) throws IOException {
+        long now = System.nanoTime();
+        long due = nextCheck.get();
+        if (now - due < 0 || !nextCheck.compareAndSet(due, now + intervalNanos)) {
+            return false;
+        }
+        return refresh();
+    }
+
+    private void startWatching() throws IOException {
+        Path directory = file.toAbsolutePath().getParent();
+        WatchService service = directory.getFileSystem().newWatchService();
+        directory.register(service, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+        watchService = service;
+        Thread.ofPlatform().daemon().name("tnsnames-watcher").start(() -> watchLoop(service));
+    }
+
+    private void watchLoop(WatchService service) {
+        Path name = file.getFileName();
+        try {
+            while (true) {
+                WatchKey key = service.take();
+                boolean changed = false;
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    changed |= event.kind() == StandardWatchEventKinds.OVERFLOW || name.equals(event.context());
+                }
+                key.reset();
+                if (changed) {
+                    try {
+                        refresh();
+                    } catch (IOException | RuntimeException e) {
+                        // Mid-replacement or unreadable: keep the current index until the next event.
+                    }
+                }
+            }
+        } catch (ClosedWatchServiceException | InterruptedException e) {
+            // Closed.
+        }
+    }
+
+    /**
+     * Stops watching the file. The current index stays usable.
+     */
+    @Override
+    public void close() throws IOException {
+        WatchService service = watchService;
+        if (service != null) {
+            watchService = null;
+            service.close();
+        }
+    }
+
+    /**
+     * One indexed file: its mapping, the entries found in it and the attributes it had when it was mapped.
+     */
+    private record Index(Map<String, Entry> entries, FileTime modified, long size, Object fileKey) {
+
+        static Index load(Path file, Index previous) throws IOException {
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                // Attributes are read before the content, so a write racing with the mapping triggers another refresh.
+                BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+                long size = channel.size();
+                if (size > Integer.MAX_VALUE) {
+                    throw new IOException(file + " is too large: " + size + " bytes");
+                }
+                ByteBuffer bytes = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+                Map<String, Entry> entries = scan(bytes, previous == null ? Map.of() : previous.entries);
+                return new Index(entries, attributes.lastModifiedTime(), attributes.size(), attributes.fileKey());
+            }
+        }
+
+        boolean isUpToDate(BasicFileAttributes attributes) {
+            return attributes.size() == size && attributes.lastModifiedTime().equals(modified)
+                    && Objects.equals(attributes.fileKey(), fileKey);
+        }
+    }
+
+    /**
+     * Indexes every {@code names = (descriptor)} entry of {@code bytes}, reusing the parsed descriptor of
+     * entries in {@code previous} with the same name, length and hash.
+     */
+    private static Map<String, Entry> scan(ByteBuffer bytes, Map<String, Entry> previous) {
+        AsciiSequence text = AsciiSequence.of(bytes);
+        Map<String, Entry> entries = new HashMap<>(Math.max(16, previous.size() * 4 / 3 + 1));
+        int size = bytes.limit();
+        int i = 0;
+        while (i < size) {
+            byte b = bytes.get(i);
+            if (b <= ' ') {
+                i++;
+                continue;
+            }
+            if (b == '#') {
+                i = lineEnd(bytes, i);
+                continue;
+            }
+            int namesStart = i;
+            while (i < size && (b = bytes.get(i)) != '=' && b != '\n' && b != '(' && b != ')' && b != '#') {
+                i++;
+            }
+            if (i == size || b != '=') {
+                i = nextEntry(bytes, i);
+                continue;
+            }
+            int namesEnd = i;
+            i = skipBlank(bytes, i + 1);
+            if (i == size || bytes.get(i) != '(') {
+                i = nextEntry(bytes, i);
+                continue;
+            }
+
+            int start = i;
+            int depth = 0;
+            long hash = FNV_OFFSET;
+            for (; i < size; i++) {
+                b = bytes.get(i);
+                hash = (hash ^ (b & 0xFF)) * FNV_PRIME;
+                if (b == '(') {
+                    depth++;
+                } else if (b == ')' && --depth == 0) {
+                    i++;
+                    break;
+                }
+            }
+            if (depth != 0) {
+                // Unbalanced up to the end of the file, e.g. while it is being written.
+                break;
+            }
+            Entry entry = null;
+            for (String name : names(bytes, namesStart, namesEnd)) {
+                if (entry == null) {
+                    Entry before = previous.get(name);
+                    entry = before != null && before.sameBytes(i - start, hash)
+                            ? before.movedTo(text, start) : new Entry(text, start, i - start, hash);
+                }
+                entries.put(name, entry);
+            }
+        }
+        return entries;
+    }
+
+    private static String[] names(ByteBuffer bytes, int from, int to) {
+        byte[] raw = new byte[to - from];
+        bytes.get(from, raw);
+        String[] names = new String(raw, StandardCharsets.ISO_8859_1).split(",");
+        int count = 0;
+        for (String name : names) {
+            String alias = name.strip();
+            if (!alias.isEmpty()) {
+                names[count++] = alias.toUpperCase(Locale.ROOT);
+            }
+        }
+        return Arrays.copyOf(names, count);
+    }
+
+    private static int lineEnd(ByteBuffer bytes, int from) {
+        int i = from;
+        while (i < bytes.limit() && bytes.get(i) != '\n') {
+            i++;
+        }
+        return i;
+    }
+
+    /**
+     * Skips whitespace, line breaks and comment lines.
+     */
+    private static int skipBlank(ByteBuffer bytes, int from) {
+        int i = from;
+        while (i < bytes.limit()) {
+            byte b = bytes.get(i);
+            if (b == '#') {
+                i = lineEnd(bytes, i);
+            } else if (b <= ' ') {
+                i++;
+            } else {
+                break;
+            }
+        }
+        return i;
+    }
+
+    /**
+     * After a malformed entry, skips to the next line that starts with a name in its first column.
+     */
+    private static int nextEntry(ByteBuffer bytes, int from) {
+        int i = lineEnd(bytes, from);
+        while (i < bytes.limit()) {
+            i++;
+            if (i < bytes.limit() && bytes.get(i) > ' ' && bytes.get(i) != '(' && bytes.get(i) != ')') {
+                return i;
+            }
+            i = lineEnd(bytes, i);
+        }
+        return i;
+    }
+
+    /**
+     * The byte range of one descriptor in a mapping, and its parse result once looked up. All aliases of a
+     * {@code A, B = (...)} entry share one instance.
+     */
+    static final class Entry {
+        private final AsciiSequence text;
+        private final int start;
+        private final int length;
+        private final long hash;
+        // TnsDescriptor or ParseResult.Failure once parsed; a race parses twice with the same result.
+        private volatile Object resolved;
+
+        private Entry(AsciiSequence text, int start, int length, long hash) {
+            this.text = text;
+            this.start = start;
+            this.length = length;
+            this.hash = hash;
+        }
+
+        /**
+         * The descriptor, or {@code null} with the reason in {@link #failure()}.
+         */
+        TnsDescriptor descriptor() {
+            Object result = resolved;
+            if (result == null) {
+                result = parse();
+            }
+            return result instanceof TnsDescriptor descriptor ? descriptor : null;
+        }
+
+        /**
+         * Why {@link #descriptor()} returned {@code null}.
+         */
+        ParseResult.Failure failure() {
+            Object result = resolved;
+            if (result == null) {
+                result = parse();
+            }
+            return result instanceof ParseResult.Failure failure ? failure : null;
+        }
+
+        private Object parse() {
+            Object result;
+            try {
+                TnsDescriptorParser parser = new TnsDescriptorParser(text, start, start + length);
+                TnsDescriptor descriptor = parser.tryParseDescriptor();
+                result = descriptor != null ? descriptor : parser.failure();
+                if (hash(text, start, length) != hash) {
+                    return changedWhileReading();
+                }
+            } catch (InternalError e) {
+                // The mapped file was truncated under us.
+                return changedWhileReading();
+            }
+            resolved = result;
+            return result;
+        }
+
+        private ParseResult.Failure changedWhileReading() {
+            return ParseResult.failure(ParseErrorCode.MALFORMED_DESCRIPTOR,
+                    "Invalid Oracle TNS URL: entry changed while it was read", start);
+        }
+
+        boolean sameBytes(int length, long hash) {
+            return this.length == length && this.hash == hash;
+        }
+
+        /**
+         * This entry, found at {@code start} of a new mapping with the same bytes, keeping its parse result.
+         */
+        Entry movedTo(AsciiSequence text, int start) {
+            Entry moved = new Entry(text, start, length, hash);
+            moved.resolved = resolved;
+            return moved;
+        }
+
+        private static long hash(AsciiSequence text, int start, int length) {
+            long hash = FNV_OFFSET;
+            for (int i = start; i < start + length; i++) {
+                hash = (hash ^ text.charAt(i)) * FNV_PRIME;
+            }
+            return hash;
+        }
+    }
+}
@@ -0,0 +1,182 @@
+package org.example.dburlparser.parser.intern;
+
+import org.example.dburlparser.model.HostInfo;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Concurrent pool of canonical strings and {@link HostInfo} instances, held through weak references
+ * so that an entry disappears once no parsed result uses it any more.
+ * <p>
+ * Lookups take a span of the source URL rather than a finished string: the key compares its characters
+ * in place against the pooled value, so a hit allocates no substring and returns the shared instance.
+ * Only a miss copies the span and publishes it with {@code putIfAbsent}, so concurrent parsers always
+ * agree on a single canonical instance.
+ */
+public final class InternPool {
+    private final ConcurrentHashMap<Object, Ref> strings = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Object, Ref> hosts = new ConcurrentHashMap<>();
+    private final ReferenceQueue<Object> cleared = new ReferenceQueue<>();
+
+    /**
+     * Returns the canonical string equal to {@code s.substring(from, to)}.
+     */
+    public String intern(CharSequence s, int from, int to) {
+        int hash = hash(s, from, to);
+        Ref ref = strings.get(new StringKey(s, from, to, hash));
+        if (ref != null && ref.get() instanceof String value) {
+            return value;
+        }
+        return (String) publish(strings, s.subSequence(from, to).toString(), hash);
+    }
+
+    public String intern(String s) {
+        return intern(s, 0, s.length());
+    }
+
+    /**
+     * Returns the canonical {@link HostInfo} for the host name {@code s.substring(from, to)} and {@code port}.
+     */
+    public HostInfo host(CharSequence s, int from, int to, int port) {
+        int hash = hostHash(hash(s, from, to), port);
+        Ref ref = hosts.get(new HostKey(s, from, to, port, hash));
+        if (ref != null && ref.get() instanceof HostInfo value) {
+            return value;
+        }
+        return (HostInfo) publish(hosts, new HostInfo(intern(s, from, to), port), hash);
+    }
+
+    public HostInfo host(String host, int port) {
+        return host(host, 0, host.length(), port);
+    }
+
+    /**
+     * Number of live pooled strings and hosts, after dropping entries whose values were collected.
+     */
+    public int size() {
+        expungeCleared();
+        return strings.size() + hosts.size();
+    }
+
+    private Object publish(ConcurrentHashMap<Object, Ref> pool, Object value, int hash) {
+        expungeCleared();
+        Ref ref = new Ref(value, hash, pool, cleared);
+        while (true) {
+            Ref existing = pool.putIfAbsent(ref, ref);
+            if (existing == null) {
+                return value;
+            }
+            Object canonical = existing.get();
+            if (canonical != null) {
+                return canonical;
+            }
+            // Collected between the lookup and now; its queue entry will remove it, retry alongside it.
+            pool.remove(existing, existing);
+        }
+    }
+
+    private void expungeCleared() {
+        Reference<?> reference;
+        while ((reference = cleared.poll()) != null) {
+            Ref ref = (Ref) reference;
+            ref.pool.remove(ref, ref);
+        }
+    }
+
+    /**
+     * Same value as {@code s.substring(from, to).hashCode()}.
+     */
+    private static int hash(CharSequence s, int from, int to) {
+        int h = 0;
+        for (int i = from; i < to; i++) {
+            h = 31 * h + s.charAt(i);
+        }
+        return h;
+    }
+
+    private static int hostHash(int hostHash, int port) {
+        return 31 * hostHash + port;
+    }
+
+    private static boolean regionEquals(CharSequence s, int from, int to, String value) {
+        int length = to - from;
+        if (value.length() != length) {
+            return false;
+        }
+        if (s instanceof String string) {
+            return string.regionMatches(from, value, 0, length);
+        }
+        for (int i = 0; i < length; i++) {
+            if (s.charAt(from + i) != value.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Map key and value at once. Two refs are equal while their values are; a cleared ref only equals itself,
+     * which is enough for {@link #expungeCleared()} to find and remove it.
+     */
+    private static final class Ref extends WeakReference<Object> {
+        private final int hash;
+        private final ConcurrentHashMap<Object, Ref> pool;
+
+        private Ref(Object value, int hash, ConcurrentHashMap<Object, Ref> pool, ReferenceQueue<Object> queue) {
+            super(value, queue);
+            this.hash = hash;
+            this.pool = pool;
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (o == this) {
+                return true;
+            }
+            if (!(o instanceof Ref other) || other.hash != hash) {
+                return false;
+            }
+            Object value = get();
+            return value != null && value.equals(other.get());
+        }
+    }
+
+    /*
+     * Lookup-only keys. ConcurrentHashMap calls equals on the key passed to get(), with the stored Ref as
+     * argument, so these only need to recognise a Ref holding a matching value.
+     */
+
+    private record StringKey(CharSequence s, int from, int to, int hash) {
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Ref ref && ref.hash == hash && ref.get() instanceof String value
+                    && regionEquals(s, from, to, value);
+        }
+    }
+
+    private record HostKey(CharSequence s, int from, int to, int port, int hash) {
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Ref ref && ref.hash == hash && ref.get() instanceof HostInfo value
+                    && value.port() == port && regionEquals(s, from, to, value.host());
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package org.example.dburlparser.parser.intern;
+
+/**
+ * Global switch for the parsers' interning mode.
+ * <p>
+ * While a pool is set, every parse canonicalises host names, {@link org.example.dburlparser.model.HostInfo}
+ * instances, database names and property keys through it, so large inventories of parsed results share
+ * one copy of each instead of holding a fresh {@code String} per record. With no pool set (the default)
+ * the only cost is one volatile read per parse.
+ */
+public final class Interning {
+    private static volatile InternPool pool;
+
+    private Interning() {
+    }
+
+    public static InternPool pool() {
+        return pool;
+    }
+
+    /**
+     * Turns interning on with {@code newPool}, replacing any previous pool; {@code null} turns it off.
+     */
+    public static void setPool(InternPool newPool) {
+        pool = newPool;
+    }
+}
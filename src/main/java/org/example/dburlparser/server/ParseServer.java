@@ -0,0 +1,270 @@
+package org.example.dburlparser.server;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.example.dburlparser.DbUrlParserFactory;
+import org.example.dburlparser.io.JsonRenderer;
+import org.example.dburlparser.io.OutputFormat;
+import org.example.dburlparser.model.DbConnectionInfo;
+import org.example.dburlparser.parser.ParseResult;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * HTTP front end to {@link DbUrlParserFactory} on the JDK's {@code com.sun.net.httpserver}, so services on
+ * other runtimes can share the parsers. Every exchange runs on its own virtual thread.
+ * <ul>
+ *   <li>{@code GET /parse?url=<percent-encoded url>}, or {@code POST /parse} with the URL as the body:
+ *   {@code 200} with the {@link JsonRenderer#appendConnectionInfo JSON rendering} of the result, or
+ *   {@code 400} with {@code {"error":...,"code":...,"offset":...}}.</li>
+ *   <li>{@code POST /batch} with an NDJSON body of one JSON string per line (a bare URL is accepted too):
+ *   {@code 200} with a chunked NDJSON body of one {@link OutputFormat#NDJSON} record per non-blank line, in
+ *   order. Lines are parsed and written as they arrive, so a batch of any size needs a constant amount of
+ *   memory and clients can read results while still sending.</li>
+ * </ul>
+ * A {@code POST /parse} body longer than {@value #MAX_URL_BODY} bytes is answered with {@code 413}.
+ * <p>
+ * The exchange flushes the response headers before the body, so with Nagle's algorithm every response on a
+ * keep-alive connection waits for the client's delayed ACK. Run the JVM with
+ * {@code -Dsun.net.httpserver.nodelay=true}, as {@code Main --serve} does; the JDK reads it once, before the
+ * first server starts.
+ */
+public final class ParseServer implements Closeable {
+    private static final String JSON = "application/json";
+    private static final String NDJSON = "application/x-ndjson";
+    private static final int BACKLOG = 1024;
+    private static final int BUFFER_SIZE = 1 << 16;
+    // Far longer than any URL, including TNS descriptors with many addresses.
+    static final int MAX_URL_BODY = 1 << 16;
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+
+    private ParseServer(HttpServer server, ExecutorService executor) {
+        this.server = server;
+        this.executor = executor;
+    }
+
+    /**
+     * Binds {@code address} (port {@code 0} picks a free port) and starts serving.
+     */
+    public static ParseServer start(InetSocketAddress address) throws IOException {
+        HttpServer server = HttpServer.create(address, BACKLOG);
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        server.setExecutor(executor);
+        server.createContext("/parse", ParseServer::handleParse);
+        server.createContext("/batch", ParseServer::handleBatch);
+        server.start();
+        return new ParseServer(server, executor);
+    }
+
+    public InetSocketAddress address() {
+        return server.getAddress();
+    }
+
+    public int port() {
+        return server.getAddress().getPort();
+    }
+
+    /**
+     * Stops accepting connections and waits up to a second for exchanges in progress to finish.
+     */
+    @Override
+    public void close() {
+        server.stop(1);
+        executor.close();
+    }
+
+    private static void handleParse(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            String url;
+            switch (exchange.getRequestMethod()) {
+                case "GET" -> url = queryParameter(exchange.getRequestURI().getRawQuery(), "url");
+                case "POST" -> {
+                    byte[] posted = exchange.getRequestBody().readNBytes(MAX_URL_BODY + 1);
+                    if (posted.length > MAX_URL_BODY) {
+                        send(exchange, 413, JSON, ("{\"error\":\"URL longer than " + MAX_URL_BODY + " bytes\"}\n")
+                                .getBytes(StandardCharsets.UTF_8));
+                        return;
+                    }
+                    url = new String(posted, StandardCharsets.UTF_8).strip();
+                }
+                default -> {
+                    methodNotAllowed(exchange, "GET, POST");
+                    return;
+                }
+            }
+            StringBuilder body = new StringBuilder(256);
+            int status;
+            if (url == null || url.isEmpty()) {
+                status = 400;
+                body.append("{\"error\":\"Missing url\"}");
+            } else {
+                switch (DbUrlParserFactory.tryParse(url)) {
+                    case ParseResult.Success success -> {
+                        status = 200;
+                        JsonRenderer.appendConnectionInfo(body, success.info());
+                    }
+                    case ParseResult.Failure failure -> {
+                        status = 400;
+                        body.append("{\"error\":");
+                        JsonRenderer.appendString(body, failure.message());
+                        body.append(",\"code\":\"").append(failure.code().name())
+                                .append("\",\"offset\":").append(failure.offset()).append('}');
+                    }
+                }
+            }
+            body.append('\n');
+            send(exchange, status, JSON, body.toString().getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    private static void handleBatch(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            if (!exchange.getRequestMethod().equals("POST")) {
+                methodNotAllowed(exchange, "POST");
+                return;
+            }
+            exchange.getResponseHeaders().set("Content-Type", NDJSON);
+            exchange.sendResponseHeaders(200, 0);
+            BufferedReader reader = new BufferedReader(
+                    new InputStreamReader(exchange.getRequestBody(), StandardCharsets.UTF_8), BUFFER_SIZE);
+            Writer writer = new BufferedWriter(
+                    new OutputStreamWriter(exchange.getResponseBody(), StandardCharsets.UTF_8), BUFFER_SIZE);
+            StringBuilder record = new StringBuilder(256);
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                String url = ndjsonUrl(line.strip());
+                DbConnectionInfo info = null;
+                String error = null;
+                if (url == null) {
+                    error = "Malformed NDJSON line";
+                    url = line;
+                } else {
+                    switch (DbUrlParserFactory.tryParse(url)) {
+                        case ParseResult.Success success -> info = success.info();
+                        case ParseResult.Failure failure -> error = failure.message();
+                    }
+                }
+                record.setLength(0);
+                OutputFormat.NDJSON.appendRecord(record, url, info, error);
+                writer.append(record);
+                if (!reader.ready()) {
+                    // Nothing more buffered: hand the results so far to the client instead of waiting for the next line.
+                    writer.flush();
+                }
+            }
+            writer.flush();
+        }
+    }
+
+    private static void methodNotAllowed(HttpExchange exchange, String allowed) throws IOException {
+        exchange.getResponseHeaders().set("Allow", allowed);
+        exchange.sendResponseHeaders(405, -1);
+    }
+
+    private static void send(HttpExchange exchange, int status, String contentType, byte[] body) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", contentType);
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    /**
+     * The percent-decoded value of {@code name} in a raw query string, or {@code null}.
+     */
+    static String queryParameter(String rawQuery, String name) {
+        if (rawQuery == null) {
+            return null;
+        }
+        int from = 0;
+        while (from <= rawQuery.length()) {
+            int end = rawQuery.indexOf('&', from);
+            if (end < 0) {
+                end = rawQuery.length();
+            }
+            if (rawQuery.startsWith(name, from) && from + name.length() < end
+                    && rawQuery.charAt(from + name.length()) == '=') {
+                return URLDecoder.decode(rawQuery.substring(from + name.length() + 1, end), StandardCharsets.UTF_8);
+            }
+            from = end + 1;
+        }
+        return null;
+    }
+
+    /**
+     * The URL of one batch line: the value of a JSON string, or the line itself if it is not quoted.
+     * Returns {@code null} for a malformed JSON string.
+     */
+    static String ndjsonUrl(String line) {
+        if (line.charAt(0) != '"') {
+            return line;
+        }
+        if (line.length() < 2 || line.charAt(line.length() - 1) != '"') {
+            return null;
+        }
+        int end = line.length() - 1;
+        if (line.indexOf('\\', 1) < 0) {
+            return line.indexOf('"', 1) == end ? line.substring(1, end) : null;
+        }
+        StringBuilder sb = new StringBuilder(end);
+        for (int i = 1; i < end; i++) {
+            char c = line.charAt(i);
+            if (c == '"') {
+                return null;
+            }
+            if (c != '\\') {
+                sb.append(c);
+                continue;
+            }
+            if (++i >= end) {
+                return null;
+            }
+            switch (line.charAt(i)) {
+                case '"' -> sb.append('"');
+                case '\\' -> sb.append('\\');
+                case '/' -> sb.append('/');
+                case 'b' -> sb.append('\b');
+                case 'f' -> sb.append('\f');
+                case 'n' -> sb.append('\n');
+                case 'r' -> sb.append('\r');
+                case 't' -> sb.append('\t');
+                case 'u' -> {
+                    if (i + 4 >= end) {
+                        return null;
+                    }
+                    int code = 0;
+                    for (int j = 1; j <= 4; j++) {
+                        int digit = Character.digit(line.charAt(i + j), 16);
+                        if (digit < 0) {
+                            return null;
+                        }
+                        code = code << 4 | digit;
+                    }
+                    sb.append((char) code);
+                    i += 4;
+                }
+                default -> {
+                    return null;
+                }
+            }
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,95 @@
+package org.example.dburlparser;
+
+import org.example.dburlparser.model.DbType;
+import org.example.dburlparser.model.ParseErrorCode;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BatchUrlParserTest {
+
+    private static List<String> inventory(int size) {
+        List<String> urls = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            urls.add(switch (i % 4) {
+                case 0 -> "jdbc:mysql://host" + i + ":3306/db" + i + "?useSSL=true";
+                case 1 -> "jdbc:cassandra://node" + i + "/ks" + i;
+                case 2 -> "jdbc:oracle:thin:@//ora" + i + ":1521/svc" + i;
+                default -> "jdbc:mysql://host" + i;
+            });
+        }
+        return urls;
+    }
+
+    @Test
+    void testParseAllKeepsOrderAndCapturesFailures() {
+        List<String> urls = inventory(10_000);
+
+        ForkJoinPool pool = new ForkJoinPool(4);
+        List<BatchParseResult> results;
+        try {
+            results = BatchUrlParser.parseAll(urls, pool);
+        } finally {
+            pool.shutdown();
+        }
+
+        assertEquals(urls.size(), results.size());
+        for (int i = 0; i < urls.size(); i++) {
+            BatchParseResult result = results.get(i);
+            assertEquals(urls.get(i), result.url());
+            if (i % 4 == 3) {
+                assertFalse(result.isSuccess());
+                assertEquals("Invalid MySQL URL: Missing database name", result.error());
+                assertEquals(ParseErrorCode.MISSING_DATABASE, result.failure().code());
+            } else {
+                assertTrue(result.isSuccess());
+                assertEquals(expectedDatabase(i), result.info().database());
+            }
+        }
+    }
+
+    @Test
+    void testParseAllRecordsUnsupportedAndNullUrls() {
+        List<String> urls = new ArrayList<>();
+        urls.add("jdbc:db2://localhost/db");
+        urls.add(null);
+        urls.add("jdbc:cassandra://host1:invalidPort/keyspace");
+
+        List<BatchParseResult> results = BatchUrlParser.parseAll(urls);
+
+        assertEquals("Unsupported database type.", results.get(0).error());
+        assertEquals(ParseErrorCode.UNSUPPORTED_TYPE, results.get(0).failure().code());
+        assertEquals(ParseErrorCode.UNKNOWN, results.get(1).failure().code());
+        assertEquals(ParseErrorCode.INVALID_PORT, results.get(2).failure().code());
+        assertEquals("jdbc:cassandra://host1:".length(), results.get(2).failure().offset());
+    }
+
+    @Test
+    void testParseAllStreamPreservesOrder() {
+        List<String> urls = inventory(2_000);
+
+        List<BatchParseResult> results = BatchUrlParser.parseAll(urls.stream()).toList();
+
+        assertEquals(urls, results.stream().map(BatchParseResult::url).toList());
+        assertEquals(DbType.CASSANDRA, results.get(1).info().type());
+    }
+
+    @Test
+    void testParseAllEmpty() {
+        assertTrue(BatchUrlParser.parseAll(List.of()).isEmpty());
+        assertEquals(0, BatchUrlParser.parseAll(Stream.<String>empty()).count());
+    }
+
+    private static String expectedDatabase(int i) {
+        return switch (i % 4) {
+            case 0 -> "db" + i;
+            case 1 -> "ks" + i;
+            default -> "svc" + i;
+        };
+    }
+}
@@ -0,0 +1,54 @@
+package org.example.dburlparser;
+
+import org.example.dburlparser.model.DbConnectionInfo;
+import org.example.dburlparser.model.DbType;
+import org.example.dburlparser.model.HostInfo;
+import org.example.dburlparser.parser.impl.nosql.CassandraUrlParser;
+import org.example.dburlparser.parser.impl.sql.BaseUrlParser;
+import org.example.dburlparser.parser.impl.sql.OracleUrlParser;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DbUrlParserFactoryTest {
+
+    @Test
+    void testGetDbTypeByPrefix() {
+        assertEquals(DbType.MYSQL, DbType.getDbType("jdbc:mysql://localhost/db"));
+        assertEquals(DbType.CASSANDRA, DbType.getDbType("jdbc:cassandra://localhost/ks"));
+        assertEquals(DbType.ORACLE, DbType.getDbType("jdbc:oracle:thin:@localhost:1521:orcl"));
+        assertEquals(DbType.ORACLE, DbType.getDbType("jdbc:oracle:thin:@"));
+    }
+
+    @Test
+    void testGetDbTypeUnknown() {
+        assertEquals(DbType.UNKNOWN, DbType.getDbType(""));
+        assertEquals(DbType.UNKNOWN, DbType.getDbType("jdbc:"));
+        assertEquals(DbType.UNKNOWN, DbType.getDbType("jdbc:mysql:/localhost/db"));
+        assertEquals(DbType.UNKNOWN, DbType.getDbType("jdbc:db2://localhost/db"));
+        assertEquals(DbType.UNKNOWN, DbType.getDbType("JDBC:MYSQL://localhost/db"));
+    }
+
+    @Test
+    void testGetParserReturnsSharedInstances() {
+        assertInstanceOf(BaseUrlParser.class, DbUrlParserFactory.getParser("jdbc:mysql://localhost/db"));
+        assertInstanceOf(CassandraUrlParser.class, DbUrlParserFactory.getParser("jdbc:cassandra://localhost/ks"));
+        assertInstanceOf(OracleUrlParser.class, DbUrlParserFactory.getParser("jdbc:oracle:thin:@localhost:1521:orcl"));
+        assertSame(DbUrlParserFactory.getParser("jdbc:mysql://a/db"), DbUrlParserFactory.getParser("jdbc:mysql://b/db"));
+    }
+
+    @Test
+    void testGetParserUnsupported() {
+        assertThrows(IllegalArgumentException.class, () -> DbUrlParserFactory.getParser("jdbc:db2://localhost/db"));
+    }
+
+    @Test
+    void testParse() {
+        DbConnectionInfo expected = new DbConnectionInfo(DbType.MYSQL, List.of(new HostInfo("localhost", 3307)), "db", Map.of("useSSL", "true"));
+        assertEquals(expected, DbUrlParserFactory.parse("jdbc:mysql://localhost:3307/db?useSSL=true"));
+        assertThrows(IllegalArgumentException.class, () -> DbUrlParserFactory.parse("jdbc:db2://localhost/db"));
+    }
+}
@@ -0,0 +1,78 @@
+package org.example.dburlparser;
+
+import org.example.dburlparser.model.ConnectionDiff;
+import org.example.dburlparser.model.HostInfo;
+import org.example.dburlparser.model.ParseErrorCode;
+import org.example.dburlparser.model.WellKnownProperty;
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IncrementalParserTest {
+
+    @Test
+    void testReparseSharesUnchangedParts() {
+        ParsedUrl previous = ParsedUrl.parse("jdbc:mysql://db1:3306,db2:3306/orders?useSSL=true");
+
+        IncrementalParser.Reparse hostsOnly = IncrementalParser.reparse(previous,
+                "jdbc:mysql://db1:3306,db3:3306/orders?useSSL=true");
+        IncrementalParser.Reparse propertiesOnly = IncrementalParser.reparse(previous,
+                "jdbc:mysql://db1:3306,db2:3306/orders?useSSL=false");
+
+        assertEquals(List.of(new HostInfo("db3", 3306)), hostsOnly.diff().addedHosts());
+        assertSame(previous.info().properties(), hostsOnly.current().info().properties());
+        assertSame(previous.info().database(), hostsOnly.current().info().database());
+        assertEquals(Map.of("useSSL", "false"), propertiesOnly.diff().changedProperties());
+        assertSame(previous.info().hosts(), propertiesOnly.current().info().hosts());
+        assertFalse(propertiesOnly.current().info().getBoolean(WellKnownProperty.USE_SSL, true));
+    }
+
+    @Test
+    void testUnchangedConnectionKeepsPreviousInfo() {
+        ParsedUrl previous = ParsedUrl.parse("jdbc:mysql://db1/orders?a=1&b=2");
+
+        IncrementalParser.Reparse same = IncrementalParser.reparse(previous, previous.url());
+        IncrementalParser.Reparse reformatted = IncrementalParser.reparse(previous, "jdbc:mysql://db1:3306/orders?b=2&a=1");
+
+        assertSame(previous, same.current());
+        assertSame(ConnectionDiff.NONE, same.diff());
+        assertSame(previous.info(), reformatted.current().info());
+        assertEquals("jdbc:mysql://db1:3306/orders?b=2&a=1", reformatted.current().url());
+        assertTrue(reformatted.diff().isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> IncrementalParser.reparse(previous, "jdbc:mysql://db1"));
+    }
+
+    @Test
+    void testReload() {
+        Map<String, String> urls = new LinkedHashMap<>();
+        urls.put("orders", "jdbc:mysql://db1/orders");
+        urls.put("events", "jdbc:cassandra://n1,n2/events");
+        urls.put("legacy", "jdbc:oracle:thin:@ora:1521:LEGACY");
+        IncrementalParser.Reload<String> initial = IncrementalParser.reload(Map.of(), urls);
+        assertEquals(urls.keySet(), initial.added());
+
+        Map<String, String> next = new LinkedHashMap<>(urls);
+        next.put("events", "jdbc:cassandra://n1,n2,n3/events");
+        next.remove("legacy");
+        next.put("orders", "jdbc:mysql://db1");
+        next.put("billing", "jdbc:postgresql://pg/billing");
+        IncrementalParser.Reload<String> reload = IncrementalParser.reload(initial.current(), next);
+
+        assertEquals(Set.of("events"), reload.changed().keySet());
+        assertEquals(List.of(new HostInfo("n3", 9042)), reload.changed().get("events").addedHosts());
+        assertEquals(Set.of("billing"), reload.added());
+        assertEquals(Set.of("legacy"), reload.removed());
+        assertEquals(ParseErrorCode.MISSING_DATABASE, reload.failed().get("orders").code());
+        assertSame(initial.current().get("orders"), reload.current().get("orders"));
+        assertFalse(reload.current().containsKey("legacy"));
+
+        IncrementalParser.Reload<String> unchanged = IncrementalParser.reload(reload.current(), next);
+        assertEquals(Set.of("orders"), unchanged.failed().keySet());
+        assertTrue(unchanged.changed().isEmpty());
+    }
+}
@@ -0,0 +1,208 @@
+package org.example.dburlparser;
+
+import org.example.dburlparser.model.DbType;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ParsingProcessorTest {
+
+    @Test
+    void testParallelParsingKeepsOrder() throws Exception {
+        List<String> urls = new ArrayList<>();
+        for (int i = 0; i < 20_000; i++) {
+            urls.add(i % 5 == 4 ? "jdbc:mysql://host" + i : "jdbc:mysql://host" + i + "/db" + i);
+        }
+        ExecutorService workers = Executors.newFixedThreadPool(4);
+        ParsingProcessor processor = new ParsingProcessor(workers, 64);
+        Collector collector = new Collector(Long.MAX_VALUE);
+        processor.subscribe(collector);
+
+        try (SubmissionPublisher<String> publisher = new SubmissionPublisher<>()) {
+            publisher.subscribe(processor);
+            urls.forEach(publisher::submit);
+        }
+        collector.completion.get(30, TimeUnit.SECONDS);
+        workers.shutdown();
+
+        assertEquals(urls.size(), collector.results.size());
+        for (int i = 0; i < urls.size(); i++) {
+            BatchParseResult result = collector.results.get(i);
+            assertEquals(urls.get(i), result.url());
+            assertEquals(i % 5 != 4, result.isSuccess());
+        }
+        assertEquals("db0", collector.results.getFirst().info().database());
+        assertEquals("Invalid MySQL URL: Missing database name", collector.results.get(4).error());
+    }
+
+    @Test
+    void testSubscriberDemandThrottlesUpstream() {
+        ListPublisher upstream = new ListPublisher(List.of(
+                "jdbc:mysql://h1/a", "jdbc:mysql://h2", "jdbc:cassandra://n1/ks", "jdbc:mysql://h3/c",
+                "jdbc:mysql://h4/d", "jdbc:mysql://h5/e", "jdbc:mysql://h6/f", "jdbc:mysql://h7/g"));
+        ParsingProcessor processor = new ParsingProcessor(null, 4);
+        Collector collector = new Collector(0);
+        processor.subscribe(collector);
+        upstream.subscribe(processor);
+
+        assertEquals(4, upstream.requested);
+        assertTrue(collector.results.isEmpty());
+
+        collector.subscription.request(3);
+        assertEquals(3, collector.results.size());
+        assertFalse(collector.results.get(1).isSuccess());
+        assertEquals(DbType.CASSANDRA, collector.results.get(2).info().type());
+        // Three delivered frees three slots, which is enough to top the window up again.
+        assertEquals(7, upstream.requested);
+
+        collector.subscription.request(10);
+        assertEquals(8, collector.results.size());
+        assertTrue(collector.completion.isDone());
+    }
+
+    @Test
+    void testUpstreamErrorAfterBufferedResults() {
+        ParsingProcessor processor = new ParsingProcessor();
+        Collector collector = new Collector(Long.MAX_VALUE);
+        processor.subscribe(collector);
+        processor.onSubscribe(new Flow.Subscription() {
+            @Override
+            public void request(long n) {
+            }
+
+            @Override
+            public void cancel() {
+            }
+        });
+
+        processor.onNext("jdbc:mysql://h1/a");
+        processor.onError(new IllegalStateException("source failed"));
+
+        assertEquals(1, collector.results.size());
+        assertEquals("source failed", failure(collector.completion).getMessage());
+    }
+
+    @Test
+    void testCancelAndProtocolErrors() {
+        ListPublisher upstream = new ListPublisher(List.of("jdbc:mysql://h1/a", "jdbc:mysql://h2/b"));
+        ParsingProcessor processor = new ParsingProcessor(null, 2);
+        Collector collector = new Collector(1);
+        processor.subscribe(collector);
+        upstream.subscribe(processor);
+
+        collector.subscription.cancel();
+        assertTrue(upstream.cancelled);
+        assertEquals(1, collector.results.size());
+
+        Collector second = new Collector(1);
+        processor.subscribe(second);
+        assertInstanceOf(IllegalStateException.class, failure(second.completion));
+
+        ParsingProcessor other = new ParsingProcessor();
+        Collector invalid = new Collector(0);
+        other.subscribe(invalid);
+        invalid.subscription.request(0);
+        assertInstanceOf(IllegalArgumentException.class, failure(invalid.completion));
+    }
+
+    private static Throwable failure(CompletableFuture<Void> completion) {
+        return completion.handle((ignored, failure) -> failure).join();
+    }
+
+    /**
+     * Records results and requests {@code initialDemand} on subscribe.
+     */
+    private static final class Collector implements Flow.Subscriber<BatchParseResult> {
+        private final long initialDemand;
+        private final List<BatchParseResult> results = new ArrayList<>();
+        private final CompletableFuture<Void> completion = new CompletableFuture<>();
+        private Flow.Subscription subscription;
+
+        private Collector(long initialDemand) {
+            this.initialDemand = initialDemand;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            if (initialDemand > 0) {
+                subscription.request(initialDemand);
+            }
+        }
+
+        @Override
+        public void onNext(BatchParseResult item) {
+            results.add(item);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            completion.completeExceptionally(throwable);
+        }
+
+        @Override
+        public void onComplete() {
+            completion.complete(null);
+        }
+    }
+
+    /**
+     * Synchronous publisher that emits on the requesting thread and records the total demand it received.
+     */
+    private static final class ListPublisher implements Flow.Publisher<String> {
+        private final List<String> items;
+        private long requested;
+        private boolean cancelled;
+
+        private ListPublisher(List<String> items) {
+            this.items = items;
+        }
+
+        @Override
+        public void subscribe(Flow.Subscriber<? super String> subscriber) {
+            subscriber.onSubscribe(new Subscription(subscriber));
+        }
+
+        private final class Subscription implements Flow.Subscription {
+            private final Flow.Subscriber<? super String> subscriber;
+            private int next;
+            private boolean emitting;
+            private boolean completed;
+
+            private Subscription(Flow.Subscriber<? super String> subscriber) {
+                this.subscriber = subscriber;
+            }
+
+            @Override
+            public void request(long n) {
+                requested += n;
+                if (emitting) {
+                    return;
+                }
+                emitting = true;
+                while (next < Math.min(requested, items.size()) && !cancelled) {
+                    subscriber.onNext(items.get(next++));
+                }
+                if (next == items.size() && !cancelled && !completed) {
+                    completed = true;
+                    subscriber.onComplete();
+                }
+                emitting = false;
+            }
+
+            @Override
+            public void cancel() {
+                cancelled = true;
+            }
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package org.example.dburlparser.io;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UrlFileParserTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testReadLinesAcrossWindowBoundaries() throws IOException {
+        List<String> expected = new ArrayList<>();
+        StringBuilder content = new StringBuilder();
+        for (int i = 0; i < 200; i++) {
+            String line = "jdbc:mysql://host" + i + "/db" + "x".repeat(i % 37);
+            expected.add(line);
+            content.append(line).append(i % 3 == 0 ? "\r\n" : "\n");
+        }
+        content.append("last-line-without-terminator");
+        expected.add("last-line-without-terminator");
+        Path file = Files.writeString(tempDir.resolve("urls.txt"), content);
+
+        // A window smaller than most lines forces both re-mapping and window growth.
+        try (MappedLineReader reader = new MappedLineReader(file, 16)) {
+            assertEquals(expected, reader.lines().toList());
+            assertEquals(Files.size(file), reader.position());
+        }
+    }
+
+    @Test
+    void testReadEmptyFile() throws IOException {
+        Path file = Files.writeString(tempDir.resolve("empty.txt"), "");
+        try (MappedLineReader reader = new MappedLineReader(file)) {
+            assertNull(reader.readLine());
+        }
+    }
+
+    @Test
+    void testParseWritesNdjson() throws IOException {
+        Path file = Files.writeString(tempDir.resolve("urls.txt"),
+                "jdbc:mysql://localhost:3307/db\n\njdbc:mysql://localhost\n");
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        UrlFileParser.Summary summary = UrlFileParser.parse(file, OutputFormat.NDJSON, Channels.newChannel(out));
+
+        assertEquals(2, summary.urls());
+        assertEquals(1, summary.failures());
+        assertEquals(Files.size(file), summary.bytes());
+        assertEquals("""
+                {"url":"jdbc:mysql://localhost:3307/db","type":"MYSQL","hosts":[{"host":"localhost","port":3307}],"database":"db","properties":{}}
+                {"url":"jdbc:mysql://localhost","error":"Invalid MySQL URL: Missing database name"}
+                """, out.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void testParseWritesCsv() throws IOException {
+        Path file = Files.writeString(tempDir.resolve("urls.txt"),
+                "jdbc:cassandra://h1,h2:9043/ks?consistency=QUORUM\njdbc:db2://x/y\n");
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        UrlFileParser.parse(file, OutputFormat.CSV, Channels.newChannel(out));
+
+        assertEquals("""
+                url,type,hosts,database,properties,error
+                "jdbc:cassandra://h1,h2:9043/ks?consistency=QUORUM",CASSANDRA,h1:9042|h2:9043,ks,consistency=QUORUM,
+                jdbc:db2://x/y,,,,,Unsupported database type.
+                """, out.toString(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,208 @@
+package org.example.dburlparser.io;
+
+import org.example.dburlparser.DbUrlParserFactory;
+import org.example.dburlparser.model.DbConnectionInfo;
+import org.example.dburlparser.model.DbType;
+import org.example.dburlparser.model.HostInfo;
+import org.example.dburlparser.model.UrlFormat;
+import org.junit.jupiter.api.Test;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UrlFormatterTest {
+    private static final String[] NAMES = {"db", "primary", "replica-2", "10.0.0.7", "bücher", "データ", "🐘pg"};
+    private static final String[] KEYS = {"useSSL", "connectTimeout", "sslmode", "applicationName", "encrypt", "w"};
+    private static final String[] VALUES = {"true", "5000", "require", "billing-ä", "", "majority", "sql_mode=ANSI"};
+    // Samples the URL may not be able to hold, depending on where they are written.
+    private static final String[] UNSAFE = {"a,b", "x:y", "orders/x", "p q", "(t)", "u@v", "k;w", "s?t", "a=b",
+            "sql_mode=ANSI&x=1", "tab\t", ""};
+
+    @Test
+    void testFormatsEveryTypeAndForm() {
+        assertEquals("jdbc:mysql://db1,db2:3307/orders?useSSL=true",
+                UrlFormatter.format(info(DbType.MYSQL, List.of(new HostInfo("db1", 3306), new HostInfo("db2", 3307)),
+                        "orders", Map.of("useSSL", "true"))));
+        assertEquals("jdbc:sqlserver://sql1:1434;databaseName=reports;encrypt=true",
+                UrlFormatter.format(info(DbType.SQLSERVER, List.of(new HostInfo("sql1", 1434)), "reports",
+                        Map.of("encrypt", "true"))));
+        assertEquals("mongodb+srv://cluster0.example.com/admin",
+                UrlFormatter.format(info(DbType.MONGODB_SRV, List.of(new HostInfo("cluster0.example.com", 27017)),
+                        "admin", Map.of())));
+
+        DbConnectionInfo oracle = info(DbType.ORACLE, List.of(new HostInfo("ora1", 1521)), "hr", Map.of("a", "b"));
+        assertEquals("jdbc:oracle:thin:@//ora1/hr?a=b", UrlFormatter.format(oracle));
+        assertEquals("jdbc:oracle:thin:@ora1:1521:hr?a=b", UrlFormatter.format(oracle, UrlFormat.ORACLE_SID));
+        assertEquals("jdbc:oracle:thin:@(DESCRIPTION=(ADDRESS=(PROTOCOL=TCP)(HOST=ora1)(PORT=1521))"
+                + "(CONNECT_DATA=(SERVICE_NAME=hr)))?a=b", UrlFormatter.format(oracle, UrlFormat.ORACLE_TNS));
+    }
+
+    @Test
+    void testSqlServerDatabaseReplacesItsProperty() {
+        Map<String, String> properties = new LinkedHashMap<>();
+        properties.put("encrypt", "true");
+        properties.put("databaseName", "old");
+        String url = UrlFormatter.format(info(DbType.SQLSERVER, List.of(new HostInfo("sql1", 1433)), "new",
+                properties));
+        assertEquals("jdbc:sqlserver://sql1;databaseName=new;encrypt=true", url);
+        assertEquals("new", DbUrlParserFactory.parse(url).database());
+    }
+
+    @Test
+    void testRejectsWhatTheFormCannotHold() {
+        DbConnectionInfo two = info(DbType.ORACLE, List.of(new HostInfo("a", 1521), new HostInfo("b", 1521)), "hr",
+                Map.of());
+        assertThrows(IllegalArgumentException.class, () -> UrlFormatter.format(two, UrlFormat.ORACLE_SID));
+        assertThrows(IllegalArgumentException.class, () -> UrlFormatter.format(two, UrlFormat.ORACLE_TNS_ALIAS));
+        assertThrows(IllegalArgumentException.class, () -> UrlFormatter.format(two, UrlFormat.STANDARD));
+        DbConnectionInfo mysql = info(DbType.MYSQL, List.of(new HostInfo("db", 3306)), null, Map.of());
+        assertThrows(IllegalArgumentException.class, () -> UrlFormatter.format(mysql));
+        assertThrows(IllegalArgumentException.class, () -> UrlFormatter.format(mysql, UrlFormat.ORACLE_TNS));
+    }
+
+    @Test
+    void testRejectsValuesTheParserWouldSplit() {
+        Map<String, String> properties = new LinkedHashMap<>();
+        properties.put("useSSL", "true");
+        properties.put("sessionVariables", "sql_mode=ANSI&x=1");
+        List<HostInfo> hosts = List.of(new HostInfo("db2", 3307));
+        assertThrows(IllegalArgumentException.class,
+                () -> UrlFormatter.format(info(DbType.MYSQL, hosts, "orders", properties)));
+        assertThrows(IllegalArgumentException.class,
+                () -> UrlFormatter.format(info(DbType.MYSQL, hosts, "orders/x", Map.of())));
+        assertThrows(IllegalArgumentException.class,
+                () -> UrlFormatter.format(info(DbType.MYSQL, List.of(new HostInfo("db 2", 3307)), "orders", Map.of())));
+        assertThrows(IllegalArgumentException.class, () -> UrlFormatter.format(
+                info(DbType.SQLSERVER, List.of(new HostInfo("sql1", 1433)), "a;b", Map.of())));
+        DbConnectionInfo oracle = info(DbType.ORACLE, List.of(new HostInfo("ora1", 1521)), "hr)", Map.of());
+        assertThrows(IllegalArgumentException.class, () -> UrlFormatter.format(oracle, UrlFormat.ORACLE_TNS));
+        ByteBuffer buffer = ByteBuffer.allocate(128);
+        assertThrows(IllegalArgumentException.class, () -> UrlFormatter.formatTo(buffer, oracle, UrlFormat.ORACLE_SID));
+        assertEquals(0, buffer.position());
+
+        // Only the first '=' of a pair separates, so the value may hold more.
+        properties.put("sessionVariables", "sql_mode=ANSI");
+        String url = UrlFormatter.format(info(DbType.MYSQL, hosts, "orders", properties));
+        assertEquals("jdbc:mysql://db2:3307/orders?useSSL=true&sessionVariables=sql_mode=ANSI", url);
+        assertEquals(properties, DbUrlParserFactory.parse(url).properties());
+    }
+
+    @Test
+    void testWritesExactlyTheMeasuredBytes() {
+        DbConnectionInfo info = info(DbType.POSTGRESQL, List.of(new HostInfo("データ", 5433)), "bücher",
+                Map.of("app", "🐘"));
+        String url = UrlFormatter.format(info);
+        assertEquals(url.length(), UrlFormatter.length(info, UrlFormat.STANDARD));
+
+        ByteBuffer small = ByteBuffer.allocate(UrlFormatter.encodedLength(info, UrlFormat.STANDARD) - 1);
+        assertThrows(BufferOverflowException.class, () -> UrlFormatter.formatTo(small, info, UrlFormat.STANDARD));
+        assertEquals(0, small.position());
+
+        ByteBuffer buffer = ByteBuffer.allocateDirect(64).position(3);
+        int written = UrlFormatter.formatTo(buffer, info, UrlFormat.STANDARD);
+        byte[] expected = url.getBytes(StandardCharsets.UTF_8);
+        assertEquals(expected.length, written);
+        assertEquals(3 + written, buffer.position());
+        byte[] actual = new byte[written];
+        buffer.get(3, actual);
+        assertArrayEquals(expected, actual);
+    }
+
+    @Test
+    void testParsingTheFormattedUrlRoundTrips() {
+        SplittableRandom random = new SplittableRandom(25L);
+        int rejected = 0;
+        for (int i = 0; i < 2000; i++) {
+            DbType type = DbType.values()[random.nextInt(DbType.values().length)];
+            if (type == DbType.UNKNOWN) {
+                continue;
+            }
+            UrlFormat format = UrlFormatter.defaultFormat(type);
+            if (type == DbType.ORACLE) {
+                format = List.of(UrlFormat.ORACLE_SID, UrlFormat.ORACLE_SERVICE_NAME, UrlFormat.ORACLE_TNS)
+                        .get(random.nextInt(3));
+            }
+            boolean unsafe = random.nextInt(4) == 0;
+            DbConnectionInfo info = randomInfo(type, format, unsafe, random);
+
+            String url;
+            try {
+                url = UrlFormatter.format(info, format);
+            } catch (IllegalArgumentException e) {
+                // Whatever is written must read back equal; only a result with an unsafe sample may be refused.
+                assertTrue(unsafe, info + ": " + e.getMessage());
+                rejected++;
+                continue;
+            }
+            assertEquals(info, DbUrlParserFactory.parse(url), url);
+            assertEquals(url.length(), UrlFormatter.length(info, format), url);
+            byte[] bytes = UrlFormatter.formatBytes(info, format);
+            assertArrayEquals(url.getBytes(StandardCharsets.UTF_8), bytes, url);
+            assertEquals(bytes.length, UrlFormatter.encodedLength(info, format), url);
+            assertEquals("x" + url, UrlFormatter.formatTo(new StringBuilder("x"), info, format).toString());
+        }
+        assertTrue(rejected > 0);
+    }
+
+    /**
+     * A random result; if {@code unsafe}, one host name, the database, a key or a value is an {@link #UNSAFE}
+     * sample.
+     */
+    private static DbConnectionInfo randomInfo(DbType type, UrlFormat format, boolean unsafe,
+                                               SplittableRandom random) {
+        int field = unsafe ? random.nextInt(4) : -1;
+        int hostCount = format == UrlFormat.ORACLE_SID || type == DbType.SQLSERVER || type == DbType.MONGODB_SRV
+                ? 1 : 1 + random.nextInt(4);
+        List<HostInfo> hosts = new ArrayList<>();
+        for (int h = 0; h < hostCount; h++) {
+            int port = random.nextBoolean() ? defaultPort(type) : 1 + random.nextInt(65535);
+            hosts.add(new HostInfo(pick(NAMES, random) + h, port));
+        }
+        if (field == 0) {
+            int h = random.nextInt(hostCount);
+            hosts.set(h, new HostInfo(pick(UNSAFE, random), hosts.get(h).port()));
+        }
+        String database = field == 1 ? pick(UNSAFE, random) : pick(NAMES, random).replace('.', '_');
+        Map<String, String> properties = new LinkedHashMap<>();
+        if (type == DbType.SQLSERVER) {
+            properties.put("databaseName", database);
+        }
+        for (int p = random.nextInt(5); p > 0; p--) {
+            properties.put(pick(KEYS, random), pick(VALUES, random));
+        }
+        if (field == 2) {
+            properties.put(pick(UNSAFE, random), pick(VALUES, random));
+        } else if (field == 3) {
+            properties.put(pick(KEYS, random), pick(UNSAFE, random));
+        }
+        return info(type, hosts, database, properties);
+    }
+
+    private static int defaultPort(DbType type) {
+        return switch (type) {
+            case MYSQL -> 3306;
+            case POSTGRESQL -> 5432;
+            case SQLSERVER -> 1433;
+            case ORACLE -> 1521;
+            case CASSANDRA -> 9042;
+            default -> 27017;
+        };
+    }
+
+    private static String pick(String[] values, SplittableRandom random) {
+        return values[random.nextInt(values.length)];
+    }
+
+    private static DbConnectionInfo info(DbType type, List<HostInfo> hosts, String database,
+                                         Map<String, String> properties) {
+        return new DbConnectionInfo(type, hosts, database, properties);
+    }
+}
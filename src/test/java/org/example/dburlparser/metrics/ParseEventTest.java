@@ -0,0 +1,67 @@
+package org.example.dburlparser.metrics;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.example.dburlparser.DbUrlParserFactory;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ParseEventTest {
+    @TempDir
+    Path dir;
+
+    @Test
+    void testRecordingReceivesParseAndFailureEvents() throws IOException {
+        assertNull(ParseInstrumentation.listener());
+        Path file = dir.resolve("parse.jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(ParseEvent.NAME);
+            recording.enable(ParseFailureEvent.NAME);
+            recording.start();
+            assertNotNull(ParseInstrumentation.listener());
+
+            DbUrlParserFactory.parse("jdbc:mysql://db1,db2:3307/orders?useSSL=true&connectTimeout=5000");
+            DbUrlParserFactory.parse("jdbc:oracle:thin:@(DESCRIPTION=(ADDRESS=(PROTOCOL=TCP)(HOST=h)(PORT=1521))"
+                    + "(CONNECT_DATA=(SERVICE_NAME=orders)))");
+            DbUrlParserFactory.tryParse("jdbc:postgresql://pg1:abc/orders");
+            DbUrlParserFactory.tryParse("jdbc:unknown://x");
+
+            recording.stop();
+            recording.dump(file);
+        }
+        assertNull(ParseInstrumentation.listener());
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+        List<RecordedEvent> parses = events.stream()
+                .filter(e -> e.getEventType().getName().equals(ParseEvent.NAME)).toList();
+        List<RecordedEvent> failures = events.stream()
+                .filter(e -> e.getEventType().getName().equals(ParseFailureEvent.NAME)).toList();
+        assertEquals(4, parses.size());
+        assertEquals(2, failures.size());
+
+        RecordedEvent mysql = parses.get(0);
+        assertEquals("MYSQL", mysql.getString("dbType"));
+        assertEquals("STANDARD", mysql.getString("format"));
+        assertEquals(2, mysql.getInt("hostCount"));
+        assertEquals(2, mysql.getInt("propertyCount"));
+        assertTrue(mysql.getBoolean("success"));
+        assertFalse(mysql.getDuration().isNegative());
+        assertEquals("ORACLE_TNS", parses.get(1).getString("format"));
+        assertFalse(parses.get(2).getBoolean("success"));
+        assertEquals("UNKNOWN", parses.get(3).getString("dbType"));
+
+        RecordedEvent port = failures.get(0);
+        assertEquals("POSTGRESQL", port.getString("dbType"));
+        assertEquals("INVALID_PORT", port.getString("code"));
+        assertEquals(22, port.getInt("offset"));
+        assertNotNull(port.getStackTrace());
+        assertEquals("UNSUPPORTED_TYPE", failures.get(1).getString("code"));
+    }
+}
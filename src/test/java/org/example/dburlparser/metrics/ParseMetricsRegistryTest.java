@@ -0,0 +1,109 @@
+package org.example.dburlparser.metrics;
+
+import org.example.dburlparser.DbUrlParserFactory;
+import org.example.dburlparser.model.DbType;
+import org.example.dburlparser.model.ParseErrorCode;
+import org.example.dburlparser.model.UrlFormat;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ParseMetricsRegistryTest {
+    private ParseMetricsRegistry metrics;
+
+    @BeforeEach
+    void attach() {
+        metrics = new ParseMetricsRegistry();
+        ParseInstrumentation.setListener(metrics);
+    }
+
+    @AfterEach
+    void detach() {
+        ParseInstrumentation.setListener(null);
+    }
+
+    private static void parseQuietly(String url) {
+        try {
+            DbUrlParserFactory.parse(url);
+        } catch (IllegalArgumentException ignored) {
+            // counted by the registry
+        }
+    }
+
+    @Test
+    void testCountsPerTypeAndFormat() {
+        parseQuietly("jdbc:mysql://localhost:3306/db");
+        parseQuietly("jdbc:mysql://localhost:3306/db?useSSL=true");
+        parseQuietly("jdbc:oracle:thin:@localhost:1521:orcl");
+        parseQuietly("jdbc:oracle:thin:@//localhost:1521/svc");
+        parseQuietly("jdbc:oracle:thin:@(DESCRIPTION=(ADDRESS=(HOST=h)(PORT=1521))(CONNECT_DATA=(SID=x)))");
+
+        MetricsSnapshot snapshot = metrics.snapshot();
+        assertEquals(2, snapshot.successCount(DbType.MYSQL, UrlFormat.STANDARD));
+        assertEquals(1, snapshot.successCount(DbType.ORACLE, UrlFormat.ORACLE_SID));
+        assertEquals(1, snapshot.successCount(DbType.ORACLE, UrlFormat.ORACLE_SERVICE_NAME));
+        assertEquals(1, snapshot.successCount(DbType.ORACLE, UrlFormat.ORACLE_TNS));
+        assertFalse(snapshot.successes().containsKey(DbType.CASSANDRA));
+        assertEquals(2, snapshot.latencyNanos().get(DbType.MYSQL).count());
+        assertEquals(3, snapshot.inputLength().get(DbType.ORACLE).count());
+    }
+
+    @Test
+    void testFailuresByReason() {
+        parseQuietly("jdbc:mysql://localhost:3306");
+        parseQuietly("jdbc:cassandra://host1:invalidPort/keyspace");
+        parseQuietly("jdbc:cassandra:///keyspace");
+        parseQuietly("jdbc:oracle:thin:@(DESCRIPTION=(ADDRESS=(HOST=h)))");
+        parseQuietly("jdbc:oracle:thin:@(DESCRIPTION=(ADDRESS=(HOST=h)(PORT=1521)");
+        parseQuietly("jdbc:db2://localhost/db");
+
+        MetricsSnapshot snapshot = metrics.snapshot();
+        assertEquals(1, snapshot.failureCount(DbType.MYSQL, ParseErrorCode.MISSING_DATABASE));
+        assertEquals(1, snapshot.failureCount(DbType.CASSANDRA, ParseErrorCode.INVALID_PORT));
+        assertEquals(1, snapshot.failureCount(DbType.CASSANDRA, ParseErrorCode.INVALID_HOST));
+        assertEquals(1, snapshot.failureCount(DbType.ORACLE, ParseErrorCode.MISSING_SERVICE_NAME));
+        assertEquals(1, snapshot.failureCount(DbType.ORACLE, ParseErrorCode.MALFORMED_DESCRIPTOR));
+        assertEquals(1, snapshot.failureCount(DbType.UNKNOWN, ParseErrorCode.UNSUPPORTED_TYPE));
+    }
+
+    @Test
+    void testPrometheusExport() {
+        parseQuietly("jdbc:cassandra://host1/ks");
+        parseQuietly("jdbc:cassandra://host1");
+
+        String text = metrics.exportPrometheus();
+        assertTrue(text.contains("dburl_parse_success_total{type=\"CASSANDRA\",format=\"STANDARD\"} 1\n"));
+        assertTrue(text.contains("dburl_parse_failure_total{type=\"CASSANDRA\",reason=\"MISSING_DATABASE\"} 1\n"));
+        assertTrue(text.contains("dburl_parse_latency_nanoseconds_count{type=\"CASSANDRA\"} 2\n"));
+        assertTrue(text.contains("dburl_parse_input_length_chars_bucket{type=\"CASSANDRA\",le=\"+Inf\"} 2\n"));
+    }
+
+    @Test
+    void testNothingRecordedWithoutListener() {
+        ParseInstrumentation.setListener(null);
+        parseQuietly("jdbc:mysql://localhost:3306/db");
+
+        assertTrue(metrics.snapshot().successes().isEmpty());
+    }
+
+    @Test
+    void testHistogramBuckets() {
+        Log2Histogram histogram = new Log2Histogram();
+        histogram.record(0);
+        histogram.record(1);
+        histogram.record(3);
+        histogram.record(1000);
+
+        Log2Histogram.Snapshot snapshot = histogram.snapshot();
+        assertEquals(4, snapshot.count());
+        assertEquals(1004, snapshot.sum());
+        assertEquals(1, snapshot.counts()[0]);
+        assertEquals(1, snapshot.counts()[1]);
+        assertEquals(1, snapshot.counts()[2]);
+        assertEquals(1, snapshot.counts()[10]);
+        assertEquals(4, snapshot.quantileUpperBound(0.75));
+        assertEquals(1024, snapshot.quantileUpperBound(1.0));
+    }
+}
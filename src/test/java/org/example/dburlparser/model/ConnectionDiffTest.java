@@ -0,0 +1,61 @@
+package org.example.dburlparser.model;
+
+import org.example.dburlparser.DbUrlParserFactory;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConnectionDiffTest {
+
+    @Test
+    void testHostChanges() {
+        ConnectionDiff diff = diff("jdbc:mysql://a:3306,b:3306,c:3306/db", "jdbc:mysql://a:3306,b:3307,d:3306/db");
+
+        assertEquals(List.of(new HostInfo("d", 3306)), diff.addedHosts());
+        assertEquals(List.of(new HostInfo("c", 3306)), diff.removedHosts());
+        assertEquals(List.of(new ConnectionDiff.PortChange("b", 3306, 3307)), diff.portChanges());
+        assertFalse(diff.hostOrderChanged());
+        assertTrue(diff.hostsChanged());
+        assertFalse(diff.propertiesChanged());
+        assertFalse(diff.databaseChanged());
+    }
+
+    @Test
+    void testHostOrderAndDuplicates() {
+        ConnectionDiff reordered = diff("jdbc:mysql://a,b,c/db", "jdbc:mysql://c,a,b/db");
+        ConnectionDiff duplicate = diff("jdbc:mysql://a,b/db", "jdbc:mysql://a,b,a/db");
+
+        assertTrue(reordered.hostOrderChanged());
+        assertTrue(reordered.addedHosts().isEmpty());
+        assertTrue(reordered.removedHosts().isEmpty());
+        assertEquals(List.of(new HostInfo("a", 3306)), duplicate.addedHosts());
+        assertFalse(duplicate.hostOrderChanged());
+    }
+
+    @Test
+    void testPropertyAndDatabaseChanges() {
+        ConnectionDiff diff = diff("jdbc:mysql://a/db1?useSSL=true&serverTimezone=UTC&autoReconnect=true",
+                "jdbc:mysql://a/db2?autoReconnect=true&useSSL=false&connectTimeout=500");
+
+        assertTrue(diff.databaseChanged());
+        assertEquals(Map.of("connectTimeout", "500"), diff.addedProperties());
+        assertEquals(Set.of("serverTimezone"), diff.removedProperties());
+        assertEquals(Map.of("useSSL", "false"), diff.changedProperties());
+        assertFalse(diff.hostsChanged());
+    }
+
+    @Test
+    void testEquivalentUrlsHaveNoDiff() {
+        assertSame(ConnectionDiff.NONE, diff("jdbc:mysql://a/db?x=1&y=2", "jdbc:mysql://a:3306/db?y=2&x=1"));
+        assertSame(ConnectionDiff.NONE, diff("jdbc:oracle:thin:@h:1521:ORCL", "jdbc:oracle:thin:@h:1521:ORCL"));
+        assertTrue(diff("jdbc:mysql://a/db", "jdbc:postgresql://a:3306/db").typeChanged());
+    }
+
+    private static ConnectionDiff diff(String previous, String current) {
+        return ConnectionDiff.between(DbUrlParserFactory.parse(previous), DbUrlParserFactory.parse(current));
+    }
+}
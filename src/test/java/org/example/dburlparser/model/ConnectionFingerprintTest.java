@@ -0,0 +1,90 @@
+package org.example.dburlparser.model;
+
+import org.example.dburlparser.DbUrlParserFactory;
+import org.example.dburlparser.parser.intern.InternPool;
+import org.example.dburlparser.parser.intern.Interning;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConnectionFingerprintTest {
+    private static final String[][] EQUIVALENT = {
+            {"jdbc:mysql://b:3306,a:3307/app?useSSL=true&serverTimezone=UTC",
+                    "jdbc:mysql://a:3307,b/app?serverTimezone=UTC&useSSL=true"},
+            {"jdbc:cassandra://n2,n1:9042/ks?consistency=QUORUM",
+                    "jdbc:cassandra://n1,n2:9042/ks?consistency=ONE&consistency=QUORUM"},
+            {"jdbc:oracle:thin:@db:1521:orcl",
+                    "jdbc:oracle:thin:@//db/orcl",
+                    "jdbc:oracle:thin:@(DESCRIPTION=(ADDRESS=(PROTOCOL=TCP)(HOST=db))(CONNECT_DATA=(SERVICE_NAME=orcl)))"},
+    };
+
+    @Test
+    void testEquivalentFormsShareCanonicalUrlAndFingerprint() {
+        for (String[] forms : EQUIVALENT) {
+            DbConnectionInfo first = DbUrlParserFactory.parse(forms[0]);
+            for (String form : forms) {
+                DbConnectionInfo info = DbUrlParserFactory.parse(form);
+                assertEquals(first.canonicalUrl(), info.canonicalUrl(), form);
+                assertEquals(first.fingerprint(), info.fingerprint(), form);
+                assertEquals(first.fingerprint(), DbUrlParserFactory.fingerprint(form), form);
+            }
+        }
+        assertEquals("jdbc:mysql://a:3307,b:3306/app?serverTimezone=UTC&useSSL=true",
+                DbUrlParserFactory.parse(EQUIVALENT[0][0]).canonicalUrl());
+        assertEquals("jdbc:oracle:thin:@//db:1521/orcl", DbUrlParserFactory.parse(EQUIVALENT[2][0]).canonicalUrl());
+        // An SRV record name takes no port.
+        assertEquals("mongodb+srv://cluster0.example.net/admin?w=majority",
+                DbUrlParserFactory.parse("mongodb+srv://cluster0.example.net/?w=majority").canonicalUrl());
+    }
+
+    @Test
+    void testCanonicalUrlIsAFixedPoint() {
+        for (String[] forms : EQUIVALENT) {
+            for (String form : forms) {
+                DbConnectionInfo info = DbUrlParserFactory.parse(form);
+                DbConnectionInfo reparsed = DbUrlParserFactory.parse(info.canonicalUrl());
+
+                assertEquals(info.canonicalUrl(), reparsed.canonicalUrl(), form);
+                assertEquals(info.fingerprint(), reparsed.fingerprint(), form);
+            }
+        }
+    }
+
+    @Test
+    void testDifferentConnectionsDiffer() {
+        String[] urls = {
+                "jdbc:mysql://a:3306/app", "jdbc:mysql://a:3307/app", "jdbc:mysql://b:3306/app",
+                "jdbc:mysql://a:3306/app2", "jdbc:mysql://a:3306/app?x=1", "jdbc:mysql://a:3306/app?x=2",
+                "jdbc:mysql://a,a/app", "jdbc:cassandra://a:3306/app", "jdbc:oracle:thin:@//a:3306/app",
+        };
+        for (int i = 0; i < urls.length; i++) {
+            for (int j = i + 1; j < urls.length; j++) {
+                assertNotEquals(DbUrlParserFactory.fingerprint(urls[i]), DbUrlParserFactory.fingerprint(urls[j]),
+                        urls[i] + " vs " + urls[j]);
+            }
+        }
+    }
+
+    @Test
+    void testFingerprintDoesNotDependOnRepresentation() {
+        String url = EQUIVALENT[0][0];
+        DbConnectionInfo lazy = DbUrlParserFactory.parse(url);
+        byte[] bytes = url.getBytes(StandardCharsets.US_ASCII);
+        DbConnectionInfo eager = new DbConnectionInfo(DbType.MYSQL,
+                List.of(new HostInfo("a", 3307), new HostInfo("b", 3306)), "app",
+                Map.of("serverTimezone", "UTC", "useSSL", "true"));
+
+        assertEquals(eager.fingerprint(), lazy.fingerprint());
+        assertEquals(eager.fingerprint(), DbUrlParserFactory.parse(bytes, 0, bytes.length).fingerprint());
+        Interning.setPool(new InternPool());
+        try {
+            assertEquals(eager.fingerprint(), DbUrlParserFactory.parse(url).fingerprint());
+        } finally {
+            Interning.setPool(null);
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package org.example.dburlparser.model;
+
+import org.example.dburlparser.DbUrlParserFactory;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DbConnectionInfoTest {
+    private static final String URL = "jdbc:mysql://db1:3306,db2/inventory?useSSL=true&serverTimezone=UTC&flag";
+
+    @Test
+    void testParsersReturnLazyViews() {
+        DbConnectionInfo info = DbUrlParserFactory.parse(URL);
+
+        assertInstanceOf(HostSpanList.class, info.hosts());
+        assertInstanceOf(QueryStringMap.class, info.properties());
+        assertEquals(2, info.hosts().size());
+    }
+
+    @Test
+    void testLazyViewsEqualEagerRecord() {
+        DbConnectionInfo lazy = DbUrlParserFactory.parse(URL);
+        DbConnectionInfo eager = new DbConnectionInfo(DbType.MYSQL,
+                List.of(new HostInfo("db1", 3306), new HostInfo("db2", 3306)), "inventory",
+                Map.of("useSSL", "true", "serverTimezone", "UTC"));
+
+        assertEquals(eager, lazy);
+        assertEquals(lazy, eager);
+        assertEquals(eager.hashCode(), lazy.hashCode());
+    }
+
+    @Test
+    void testLazyViewsAreImmutable() {
+        DbConnectionInfo info = DbUrlParserFactory.parse(URL);
+
+        assertThrows(UnsupportedOperationException.class, () -> info.properties().put("a", "b"));
+        assertThrows(UnsupportedOperationException.class, () -> info.hosts().add(new HostInfo("h", 1)));
+        assertThrows(UnsupportedOperationException.class, () -> info.properties().entrySet().clear());
+    }
+
+    @Test
+    void testQueryStringMapDecodesOnLookup() {
+        String url = "x?a=1&b=2&a=3&c";
+        Map<String, String> view = new QueryStringMap(url, 2, url.length());
+
+        assertEquals("3", view.get("a"));
+        assertTrue(view.containsKey("b"));
+        assertFalse(view.containsKey("c"));
+        assertEquals(new HashMap<>(Map.of("a", "3", "b", "2")), view);
+    }
+
+    @Test
+    void testHostSpanListMaterialisesFromOffsets() {
+        String url = "h1:1,host2";
+        List<HostInfo> hosts = new HostSpanList(url, new int[]{0, 2, 1, 5, 10, 9042});
+
+        assertEquals(List.of(new HostInfo("h1", 1), new HostInfo("host2", 9042)), hosts);
+        assertSame(hosts.get(1), hosts.get(1));
+    }
+
+    @Test
+    void testTypedWellKnownProperties() {
+        DbConnectionInfo mysql = DbUrlParserFactory.parse(URL + "&autoReconnect=false");
+        DbConnectionInfo oracle = DbUrlParserFactory.parse("jdbc:oracle:thin:@h:1521:orcl?defaultRowPrefetch=50");
+
+        assertTrue(mysql.getBoolean(WellKnownProperty.USE_SSL, false));
+        assertFalse(mysql.getBoolean(WellKnownProperty.AUTO_RECONNECT, true));
+        assertEquals("UTC", mysql.getString(WellKnownProperty.SERVER_TIMEZONE));
+        assertNull(mysql.getString(WellKnownProperty.CONSISTENCY));
+        assertEquals(50, oracle.getInt(WellKnownProperty.DEFAULT_ROW_PREFETCH, 10));
+        assertEquals(10, oracle.getInt(WellKnownProperty.CONNECT_TIMEOUT, 10));
+        assertEquals(-1, mysql.getInt(WellKnownProperty.DEFAULT_ROW_PREFETCH, -1));
+    }
+
+    @Test
+    void testCopiesOtherCollections() {
+        List<HostInfo> hosts = new ArrayList<>(List.of(new HostInfo("h", 1)));
+        DbConnectionInfo info = new DbConnectionInfo(DbType.MYSQL, hosts, "db", new HashMap<>());
+        hosts.clear();
+
+        assertEquals(1, info.hosts().size());
+    }
+}
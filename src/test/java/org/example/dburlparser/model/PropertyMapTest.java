@@ -0,0 +1,86 @@
+package org.example.dburlparser.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PropertyMapTest {
+
+    @Test
+    void testSmallMapMatchesHashMap() {
+        Map<String, String> expected = new HashMap<>(Map.of("a", "1", "b", "2", "c", "3"));
+        PropertyMap map = PropertyMap.copyOf(expected);
+
+        assertEquals(expected, map);
+        assertEquals(map, expected);
+        assertEquals(expected.hashCode(), map.hashCode());
+        assertNull(map.get("d"));
+        assertNull(map.get(42));
+    }
+
+    @Test
+    void testLargeMapIsIndexed() {
+        PropertyMap.Builder builder = new PropertyMap.Builder();
+        Map<String, String> expected = new HashMap<>();
+        for (int i = 0; i < 100; i++) {
+            builder.put("key" + i, "value" + i);
+            expected.put("key" + i, "value" + i);
+        }
+        PropertyMap map = builder.build();
+
+        assertEquals(expected, map);
+        assertEquals("value63", map.get("key63"));
+        assertFalse(map.containsKey("key100"));
+    }
+
+    @Test
+    void testLaterDuplicatesWin() {
+        assertEquals(Map.of("a", "3", "b", "2"), QueryStringMap.split("a=1&b=2&a=3", 0, 11));
+
+        PropertyMap.Builder builder = new PropertyMap.Builder();
+        for (int i = 0; i < 40; i++) {
+            builder.put("key" + (i % 20), "value" + i);
+        }
+        PropertyMap map = builder.build();
+
+        assertEquals(20, map.size());
+        assertEquals("value39", map.get("key19"));
+    }
+
+    @Test
+    void testIsImmutable() {
+        PropertyMap map = PropertyMap.copyOf(Map.of("a", "1"));
+
+        assertThrows(UnsupportedOperationException.class, () -> map.put("b", "2"));
+        assertThrows(UnsupportedOperationException.class, () -> map.remove("a"));
+        assertThrows(UnsupportedOperationException.class, () -> map.entrySet().clear());
+        assertThrows(UnsupportedOperationException.class, () -> PropertyMap.EMPTY.entrySet().clear());
+        assertThrows(NullPointerException.class, () -> new PropertyMap.Builder().put("a", null));
+    }
+
+    @Test
+    void testWellKnownValuesAreParsedOnce() {
+        String query = "useSSL=TRUE&autoReconnect=maybe&defaultRowPrefetch=-20&oracle.net.CONNECT_TIMEOUT=99999999999";
+        PropertyMap map = QueryStringMap.split(query, 0, query.length());
+
+        assertTrue(map.getBoolean(WellKnownProperty.USE_SSL, false));
+        assertTrue(map.getBoolean(WellKnownProperty.AUTO_RECONNECT, true));
+        assertEquals(-20, map.getInt(WellKnownProperty.DEFAULT_ROW_PREFETCH, 0));
+        assertEquals(7, map.getInt(WellKnownProperty.CONNECT_TIMEOUT, 7));
+        assertEquals("maybe", map.get("autoReconnect"));
+        assertThrows(IllegalArgumentException.class, () -> map.getInt(WellKnownProperty.USE_SSL, 0));
+    }
+
+    @Test
+    void testPerfectHashRecognisesEveryKey() {
+        for (WellKnownProperty property : WellKnownProperty.values()) {
+            assertSame(property, WellKnownProperty.forKey(property.key()));
+            assertNull(WellKnownProperty.forKey(property.key().toUpperCase() + "x"));
+        }
+        assertNull(WellKnownProperty.forKey(""));
+        assertNull(WellKnownProperty.forKey("useSQL"));
+    }
+}
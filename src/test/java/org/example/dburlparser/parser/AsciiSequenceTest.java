@@ -0,0 +1,110 @@
+package org.example.dburlparser.parser;
+
+import org.example.dburlparser.DbUrlParserFactory;
+import org.example.dburlparser.model.DbConnectionInfo;
+import org.example.dburlparser.model.DbType;
+import org.example.dburlparser.parser.intern.InternPool;
+import org.example.dburlparser.parser.intern.Interning;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AsciiSequenceTest {
+    private static final String[] URLS = {
+            "jdbc:mysql://db1.example.com:3306,db2.example.com:3307/mydb?useSSL=true&serverTimezone=UTC",
+            "  jdbc:cassandra://user:pw@node1,node2:9043/keyspace1?consistency=QUORUM ",
+            "jdbc:oracle:thin:@localhost:1521:orcl",
+            "jdbc:oracle:thin:@//db:1522/service?a=b",
+            "jdbc:oracle:thin:@(DESCRIPTION=(ADDRESS=(PROTOCOL=TCP)(HOST=h1)(PORT=1521))"
+                    + "(CONNECT_DATA=(SERVICE_NAME=svc)))?user=scott",
+            "jdbc:mysql://localhost:3306",
+            "jdbc:cassandra://host1:invalidPort/keyspace",
+            "jdbc:oracle:thin:@(DESCRIPTION=(ADDRESS=(HOST=h)(PORT=x)))",
+            "jdbc:db2://localhost/db",
+    };
+
+    @Test
+    void testByteInputMatchesStringInput() {
+        for (String url : URLS) {
+            byte[] bytes = ("##" + url + "##").getBytes(StandardCharsets.US_ASCII);
+            int len = url.length();
+            ParseResult expected = DbUrlParserFactory.tryParse(url);
+
+            assertEquals(expected, DbUrlParserFactory.tryParse(bytes, 2, len), url);
+            assertEquals(expected, DbUrlParserFactory.tryParse(ByteBuffer.wrap(bytes, 2, len)), url);
+            assertEquals(expected, DbUrlParserFactory.tryParse(direct(url)), url);
+            assertEquals(expected, DbUrlParserFactory.tryParse(new StringBuilder(url)), url);
+        }
+    }
+
+    @Test
+    void testResultDoesNotDependOnTheBufferAfterParsing() {
+        byte[] bytes = URLS[0].getBytes(StandardCharsets.US_ASCII);
+        DbConnectionInfo info = DbUrlParserFactory.parse(bytes, 0, bytes.length);
+        DbConnectionInfo expected = DbUrlParserFactory.parse(URLS[0]);
+
+        Arrays.fill(bytes, (byte) 'x');
+
+        assertEquals(expected, info);
+    }
+
+    @Test
+    void testBufferPositionIsUnchanged() {
+        ByteBuffer buffer = direct(URLS[0]);
+        int position = buffer.position();
+
+        DbUrlParserFactory.parse(buffer);
+
+        assertEquals(position, buffer.position());
+        assertEquals(DbType.MYSQL, DbType.getDbType(buffer));
+    }
+
+    @Test
+    void testDbTypeDetectionOnBytes() {
+        byte[] bytes = "xjdbc:oracle:thin:@h:1:s".getBytes(StandardCharsets.US_ASCII);
+
+        assertEquals(DbType.ORACLE, DbType.getDbType(bytes, 1, bytes.length - 1));
+        assertEquals(DbType.UNKNOWN, DbType.getDbType(bytes, 0, bytes.length));
+        assertEquals(DbType.UNKNOWN, DbType.getDbType(bytes, 1, 5));
+    }
+
+    @Test
+    void testInterningFromBytes() {
+        Interning.setPool(new InternPool());
+        try {
+            byte[] bytes = URLS[0].getBytes(StandardCharsets.US_ASCII);
+            DbConnectionInfo first = DbUrlParserFactory.parse(bytes, 0, bytes.length);
+            DbConnectionInfo second = DbUrlParserFactory.parse(URLS[0]);
+
+            assertSame(first.hosts().get(0), second.hosts().get(0));
+            assertEquals(first, second);
+        } finally {
+            Interning.setPool(null);
+        }
+    }
+
+    @Test
+    void testView() {
+        AsciiSequence ascii = AsciiSequence.of("abcéd".getBytes(StandardCharsets.ISO_8859_1), 1, 4);
+
+        assertEquals(4, ascii.length());
+        assertEquals('é', ascii.charAt(2));
+        assertEquals("cé", ascii.subSequence(1, 3).toString());
+        assertEquals("bcéd", ascii.toString());
+        assertThrows(IndexOutOfBoundsException.class, () -> ascii.charAt(4));
+        assertThrows(IndexOutOfBoundsException.class, () -> AsciiSequence.of(new byte[2], 1, 2));
+    }
+
+    private static ByteBuffer direct(String url) {
+        byte[] bytes = url.getBytes(StandardCharsets.US_ASCII);
+        ByteBuffer buffer = ByteBuffer.allocateDirect(bytes.length + 4);
+        buffer.position(3);
+        buffer.put(bytes);
+        buffer.position(3).limit(3 + bytes.length);
+        return buffer;
+    }
+}
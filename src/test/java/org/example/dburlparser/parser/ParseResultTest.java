@@ -0,0 +1,97 @@
+package org.example.dburlparser.parser;
+
+import org.example.dburlparser.DbUrlParserFactory;
+import org.example.dburlparser.model.DbType;
+import org.example.dburlparser.model.ParseErrorCode;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ParseResultTest {
+
+    @Test
+    void testSuccess() {
+        ParseResult result = DbUrlParserFactory.tryParse("jdbc:mysql://localhost:3306/testdb");
+
+        assertTrue(result.isSuccess());
+        ParseResult.Success success = assertInstanceOf(ParseResult.Success.class, result);
+        assertEquals(DbType.MYSQL, success.info().type());
+        assertSame(success.info(), result.orElseThrow());
+    }
+
+    @Test
+    void testUnsupportedType() {
+        ParseResult.Failure failure = failure("jdbc:db2://localhost/db");
+
+        assertEquals(ParseErrorCode.UNSUPPORTED_TYPE, failure.code());
+        assertEquals("Unsupported database type.", failure.message());
+        assertEquals(0, failure.offset());
+    }
+
+    @Test
+    void testMissingDatabaseOffset() {
+        String url = "jdbc:mysql://localhost:3306?useSSL=true";
+        ParseResult.Failure failure = failure(url);
+
+        assertEquals(ParseErrorCode.MISSING_DATABASE, failure.code());
+        assertEquals("Invalid MySQL URL: Missing database name", failure.message());
+        assertEquals(url.indexOf('?'), failure.offset());
+    }
+
+    @Test
+    void testInvalidPortOffset() {
+        String url = "jdbc:cassandra://host1:9042,host2:abc/keyspace";
+        ParseResult.Failure failure = failure(url);
+
+        assertEquals(ParseErrorCode.INVALID_PORT, failure.code());
+        assertEquals("For input string: \"abc\"", failure.message());
+        assertEquals(url.indexOf("abc"), failure.offset());
+    }
+
+    @Test
+    void testInvalidHostOffset() {
+        String url = "jdbc:mysql://host1,:3307/db";
+        ParseResult.Failure failure = failure(url);
+
+        assertEquals(ParseErrorCode.INVALID_HOST, failure.code());
+        assertEquals(url.indexOf(",:") + 1, failure.offset());
+    }
+
+    @Test
+    void testTnsFailureOffset() {
+        String url = "jdbc:oracle:thin:@(DESCRIPTION=(ADDRESS=(HOST=h)(PORT=x1))(CONNECT_DATA=(SID=s)))";
+        ParseResult.Failure failure = failure(url);
+
+        assertEquals(ParseErrorCode.INVALID_PORT, failure.code());
+        assertEquals(url.indexOf("x1"), failure.offset());
+    }
+
+    @Test
+    void testParseThrowsWhatTryParseReports() {
+        String url = "jdbc:oracle:thin:@localhost";
+        ParseResult.Failure failure = failure(url);
+
+        UrlParseException e = assertThrows(UrlParseException.class, () -> DbUrlParserFactory.parse(url));
+        assertEquals(failure.code(), e.getCode());
+        assertEquals(failure.message(), e.getMessage());
+        assertEquals(failure.offset(), e.getOffset());
+
+        assertThrows(NumberFormatException.class, () -> DbUrlParserFactory.parse("jdbc:mysql://h:99999999999/db"));
+    }
+
+    @Test
+    void testParseDecimalMatchesParseInt() {
+        for (String s : new String[]{"0", "3306", "+12", "-7", "2147483647", "-2147483648"}) {
+            assertEquals(Integer.parseInt(s), UrlTokenizer.parseDecimal(s, 0, s.length()), s);
+        }
+        for (String s : new String[]{"", "+", "-", "12a", "2147483648", "-2147483649", "1 "}) {
+            assertEquals(UrlTokenizer.NOT_A_NUMBER, UrlTokenizer.parseDecimal(s, 0, s.length()), s);
+        }
+    }
+
+    private static ParseResult.Failure failure(String url) {
+        ParseResult result = DbUrlParserFactory.tryParse(url);
+        assertFalse(result.isSuccess());
+        return assertInstanceOf(ParseResult.Failure.class, result);
+    }
+}
@@ -0,0 +1,72 @@
+package org.example.dburlparser.parser;
+
+import org.example.dburlparser.model.HostInfo;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UrlTokenizerTest {
+    private static final int PORT = 3306;
+
+    @Test
+    void testScanMainPartFindsSeparatorAndQuery() {
+        String url = "  host1:3306,host2/db/x?a=1&b=2 ";
+        UrlTokenizer tokens = new UrlTokenizer(url, 0);
+        tokens.scanMainPart('/', tokens.position());
+
+        assertEquals(2, tokens.position());
+        assertEquals(url.indexOf('/'), tokens.separator());
+        assertEquals(url.indexOf('?'), tokens.mainEnd());
+        assertEquals(url.indexOf('?') + 1, tokens.queryStart());
+        assertEquals("db/x", tokens.text(tokens.separator() + 1, tokens.mainEnd()));
+        assertEquals(Map.of("a", "1", "b", "2"), tokens.params(tokens.queryStart()));
+    }
+
+    @Test
+    void testScanMainPartWithoutQuery() {
+        UrlTokenizer tokens = new UrlTokenizer("host", 0);
+        tokens.scanMainPart('/', tokens.position());
+
+        assertEquals(-1, tokens.separator());
+        assertEquals(4, tokens.mainEnd());
+        assertEquals(-1, tokens.queryStart());
+    }
+
+    @Test
+    void testParseHostsDefaultsAndTrailingCommas() {
+        String hosts = "h1:3307,h2,h3:,";
+        List<HostInfo> expected = List.of(new HostInfo("h1", 3307), new HostInfo("h2", PORT), new HostInfo("h3", PORT));
+
+        assertEquals(expected, UrlTokenizer.parseHosts(hosts, 0, hosts.length(), PORT));
+    }
+
+    @Test
+    void testParseHostsIgnoresTokensAfterPort() {
+        String hosts = "h1:3307:extra";
+        assertEquals(List.of(new HostInfo("h1", 3307)), UrlTokenizer.parseHosts(hosts, 0, hosts.length(), PORT));
+    }
+
+    @Test
+    void testParseHostsRejectsEmptyHost() {
+        assertThrows(IllegalArgumentException.class, () -> UrlTokenizer.parseHosts("", 0, 0, PORT));
+        assertThrows(IllegalArgumentException.class, () -> UrlTokenizer.parseHosts("h1,,h2", 0, 6, PORT));
+        assertThrows(IllegalArgumentException.class, () -> UrlTokenizer.parseHosts(":3306", 0, 5, PORT));
+    }
+
+    @Test
+    void testParseHostsRejectsInvalidPort() {
+        assertThrows(NumberFormatException.class, () -> UrlTokenizer.parseHosts("h1::3306", 0, 8, PORT));
+        assertThrows(NumberFormatException.class, () -> UrlTokenizer.parseHosts("h1:abc", 0, 6, PORT));
+    }
+
+    @Test
+    void testParseParamsSkipsPairsWithoutValue() {
+        String query = "a=1&&b&c=x=y&=v&d=";
+        Map<String, String> expected = Map.of("a", "1", "c", "x=y", "", "v", "d", "");
+
+        assertEquals(expected, UrlTokenizer.parseParams(query, 0, query.length()));
+    }
+}
@@ -0,0 +1,105 @@
+package org.example.dburlparser.parser.cache;
+
+import org.example.dburlparser.DbUrlParserFactory;
+import org.example.dburlparser.model.DbConnectionInfo;
+import org.example.dburlparser.model.HostInfo;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CachingDbUrlParserTest {
+    private static final String URL = "jdbc:mysql://localhost:3306/testdb?useSSL=true";
+
+    @Test
+    void testHitReturnsCachedInstance() {
+        CachingDbUrlParser cache = new CachingDbUrlParser(DbUrlParserFactory::tryParse, 10);
+
+        DbConnectionInfo first = cache.parse(URL);
+        DbConnectionInfo second = cache.parse(URL);
+
+        assertSame(first, second);
+        assertEquals(new CacheStats(1, 1, 0, 1), cache.stats());
+        assertEquals(0.5, cache.stats().hitRate());
+    }
+
+    @Test
+    void testFailuresAreNotCached() {
+        AtomicInteger calls = new AtomicInteger();
+        CachingDbUrlParser cache = new CachingDbUrlParser(url -> {
+            calls.incrementAndGet();
+            return DbUrlParserFactory.tryParse(url);
+        }, 10);
+
+        assertThrows(IllegalArgumentException.class, () -> cache.parse("jdbc:mysql://localhost"));
+        assertThrows(IllegalArgumentException.class, () -> cache.parse("jdbc:mysql://localhost"));
+
+        assertEquals(2, calls.get());
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void testSizeIsBoundedAndEvictionsCounted() {
+        CachingDbUrlParser cache = new CachingDbUrlParser(DbUrlParserFactory::tryParse, 4);
+
+        for (int i = 0; i < 10; i++) {
+            cache.parse("jdbc:mysql://host" + i + "/db");
+        }
+
+        assertEquals(4, cache.size());
+        assertEquals(6, cache.stats().evictionCount());
+    }
+
+    @Test
+    void testRecentlyReadEntrySurvivesEviction() {
+        CachingDbUrlParser cache = new CachingDbUrlParser(DbUrlParserFactory::tryParse, 2);
+        cache.parse("jdbc:mysql://a/db");
+        cache.parse("jdbc:mysql://b/db");
+        cache.parse("jdbc:mysql://a/db");
+
+        cache.parse("jdbc:mysql://c/db");
+        cache.parse("jdbc:mysql://a/db");
+
+        assertEquals(new CacheStats(2, 3, 1, 2), cache.stats());
+    }
+
+    @Test
+    void testResultsAreImmutable() {
+        DbConnectionInfo info = new CachingDbUrlParser(DbUrlParserFactory::tryParse, 10).parse(URL);
+
+        assertThrows(UnsupportedOperationException.class, () -> info.properties().put("useSSL", "false"));
+        assertThrows(UnsupportedOperationException.class, () -> info.hosts().add(new HostInfo("evil", 1)));
+    }
+
+    @Test
+    void testConcurrentReads() throws Exception {
+        CachingDbUrlParser cache = new CachingDbUrlParser(DbUrlParserFactory::tryParse, 64);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 10_000; i++) {
+                        String url = "jdbc:cassandra://host" + (i % 100) + "/ks";
+                        assertEquals("host" + (i % 100), cache.parse(url).hosts().get(0).host());
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        CacheStats stats = cache.stats();
+        assertEquals(80_000, stats.requestCount());
+        assertTrue(cache.size() <= 64);
+    }
+}
@@ -0,0 +1,115 @@
+package org.example.dburlparser.parser.grammar;
+
+import org.example.dburlparser.DbUrlParserFactory;
+import org.example.dburlparser.model.DbConnectionInfo;
+import org.example.dburlparser.model.DbType;
+import org.example.dburlparser.model.HostInfo;
+import org.example.dburlparser.model.ParseErrorCode;
+import org.example.dburlparser.parser.ParseResult;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DialectsTest {
+
+    @Test
+    void testPostgreSql() {
+        DbConnectionInfo info = DbUrlParserFactory.parse("jdbc:postgresql://pg1,pg2:5433/orders?ssl=true&sslmode=require");
+
+        assertEquals(new DbConnectionInfo(DbType.POSTGRESQL,
+                List.of(new HostInfo("pg1", 5432), new HostInfo("pg2", 5433)), "orders",
+                Map.of("ssl", "true", "sslmode", "require")), info);
+        assertEquals(ParseErrorCode.MISSING_DATABASE, failure("jdbc:postgresql://pg1:5432/").code());
+        assertEquals(ParseErrorCode.MISSING_DATABASE, failure("jdbc:postgresql://pg1:5432").code());
+    }
+
+    @Test
+    void testSqlServer() {
+        DbConnectionInfo info = DbUrlParserFactory.parse(
+                "jdbc:sqlserver://sql1:1434;databaseName=sales;encrypt=true;");
+        DbConnectionInfo withoutPort = DbUrlParserFactory.parse("jdbc:sqlserver://sql1;database=sales");
+
+        assertEquals(new DbConnectionInfo(DbType.SQLSERVER, List.of(new HostInfo("sql1", 1434)), "sales",
+                Map.of("databaseName", "sales", "encrypt", "true")), info);
+        assertEquals(List.of(new HostInfo("sql1", 1433)), withoutPort.hosts());
+        assertEquals("sales", withoutPort.database());
+
+        ParseResult.Failure missing = failure("jdbc:sqlserver://sql1:1433;encrypt=true");
+        assertEquals(ParseErrorCode.MISSING_DATABASE, missing.code());
+        assertEquals("Invalid SQL Server URL: Missing databaseName property", missing.message());
+    }
+
+    @Test
+    void testMongoDb() {
+        DbConnectionInfo info = DbUrlParserFactory.parse(
+                "mongodb://app:s3cret@m1:27018,m2/catalog?replicaSet=rs0&authSource=admin");
+        DbConnectionInfo noDatabase = DbUrlParserFactory.parse("mongodb://m1/?replicaSet=rs0");
+
+        assertEquals(new DbConnectionInfo(DbType.MONGODB,
+                List.of(new HostInfo("m1", 27018), new HostInfo("m2", 27017)), "catalog",
+                Map.of("replicaSet", "rs0", "authSource", "admin")), info);
+        assertEquals("admin", noDatabase.database());
+        assertEquals("admin", DbUrlParserFactory.parse("mongodb://m1,m2").database());
+        assertEquals(Map.of("replicaSet", "rs0"), noDatabase.properties());
+    }
+
+    @Test
+    void testMongoDbSrv() {
+        DbConnectionInfo info = DbUrlParserFactory.parse("mongodb+srv://app:pw@cluster0.example.net/catalog?w=majority");
+
+        assertEquals(DbType.MONGODB_SRV, info.type());
+        assertEquals(List.of(new HostInfo("cluster0.example.net", 27017)), info.hosts());
+        assertEquals("catalog", info.database());
+        assertEquals(ParseErrorCode.INVALID_FORMAT, failure("mongodb+srv://a.example.net,b.example.net/db").code());
+    }
+
+    @Test
+    void testCredentialsOnlyBeforeHosts() {
+        DbConnectionInfo info = DbUrlParserFactory.parse("jdbc:cassandra://node1/ks@2?owner=ops@example.com");
+
+        assertEquals(List.of(new HostInfo("node1", 9042)), info.hosts());
+        assertEquals("ks@2", info.database());
+        assertEquals("ops@example.com", info.properties().get("owner"));
+    }
+
+    @Test
+    void testCustomGrammar() {
+        UrlGrammar grammar = UrlGrammar.builder(DbType.POSTGRESQL)
+                .defaultPort(6432)
+                .credentials()
+                .optionalDatabase('/', "postgres")
+                .build();
+        GrammarUrlParser parser = new GrammarUrlParser(grammar);
+
+        DbConnectionInfo info = parser.parse("jdbc:postgresql://u@bouncer");
+
+        assertEquals(List.of(new HostInfo("bouncer", 6432)), info.hosts());
+        assertEquals("postgres", info.database());
+        assertThrows(IllegalStateException.class,
+                () -> UrlGrammar.builder(DbType.MYSQL).properties('/', '&').build());
+    }
+
+    @Test
+    void testCanonicalUrlsReparse() {
+        String[] urls = {
+                "jdbc:postgresql://pg2:5433,pg1/orders?sslmode=require&ssl=true",
+                "jdbc:sqlserver://sql1;encrypt=true;databaseName=sales",
+                "mongodb://u:p@m2,m1:27018/catalog?replicaSet=rs0",
+                "mongodb+srv://cluster0.example.net",
+        };
+        for (String url : urls) {
+            DbConnectionInfo info = DbUrlParserFactory.parse(url);
+            DbConnectionInfo reparsed = DbUrlParserFactory.parse(info.canonicalUrl());
+
+            assertEquals(info.fingerprint(), reparsed.fingerprint(), url);
+            assertEquals(info.canonicalUrl(), reparsed.canonicalUrl(), url);
+        }
+    }
+
+    private static ParseResult.Failure failure(String url) {
+        return assertInstanceOf(ParseResult.Failure.class, DbUrlParserFactory.tryParse(url));
+    }
+}
@@ -3,6 +3,8 @@ package org.example.dburlparser.parser.impl.sql;
 import org.example.dburlparser.model.DbType;
 import org.example.dburlparser.model.DbConnectionInfo;
 import org.example.dburlparser.model.HostInfo;
+import org.example.dburlparser.model.ParseErrorCode;
+import org.example.dburlparser.parser.ParseResult;
 import org.junit.jupiter.api.Test;
 
 import java.util.List;
@@ -23,6 +25,14 @@ class OracleUrlParserTest {
         assertEquals(expected, result);
     }
 
+    @Test
+    public void testParseSidFormatUrlReadsThePort() {
+        assertEquals(List.of(new HostInfo("db", 1522)), parser.parse("jdbc:oracle:thin:@db:1522:orcl").hosts());
+        assertEquals(List.of(new HostInfo("db", PORT)), parser.parse("jdbc:oracle:thin:@db::orcl").hosts());
+        assertEquals(ParseErrorCode.INVALID_PORT,
+                ((ParseResult.Failure) parser.tryParse("jdbc:oracle:thin:@db:x:orcl")).code());
+    }
+
     @Test
     public void testParseServiceNameFormatUrl() {
         String url = "jdbc:oracle:thin:@//localhost:1521/service";
@@ -0,0 +1,116 @@
+package org.example.dburlparser.parser.impl.sql;
+
+import org.example.dburlparser.model.DbConnectionInfo;
+import org.example.dburlparser.model.DbType;
+import org.example.dburlparser.model.HostInfo;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalInt;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TnsDescriptorParserTest {
+    private static final int PORT = 1521;
+    private final OracleUrlParser parser = new OracleUrlParser();
+
+    @Test
+    void testRacDescriptorAttributes() {
+        TnsDescriptor descriptor = TnsDescriptorParser.parse("(DESCRIPTION=(CONNECT_TIMEOUT=90)(RETRY_COUNT=20)(RETRY_DELAY=3)"
+                + "(TRANSPORT_CONNECT_TIMEOUT=3)(FAILOVER=on)"
+                + "(ADDRESS_LIST=(LOAD_BALANCE=on)(ADDRESS=(PROTOCOL=TCP)(HOST=rac1)(PORT=1521))(ADDRESS=(PROTOCOL=TCP)(HOST=rac2)(PORT=1522)))"
+                + "(ADDRESS_LIST=(LOAD_BALANCE=off)(ADDRESS=(PROTOCOL=TCPS)(HOST=dr1)(PORT=2484)))"
+                + "(CONNECT_DATA=(SERVICE_NAME=sales.example.com)(SERVER=DEDICATED)(FAILOVER_MODE=(TYPE=select)(METHOD=basic))))");
+
+        assertTrue(descriptor.failover());
+        assertFalse(descriptor.loadBalance());
+        assertEquals("90", descriptor.connectTimeout());
+        assertEquals(OptionalInt.of(20), descriptor.retryCount());
+        assertEquals("3", descriptor.parameters().get("TRANSPORT_CONNECT_TIMEOUT"));
+
+        assertEquals(2, descriptor.addressLists().size());
+        assertTrue(descriptor.addressLists().get(0).loadBalance());
+        assertFalse(descriptor.addressLists().get(1).loadBalance());
+        assertEquals(List.of(
+                new TnsDescriptor.Address("TCP", "rac1", 1521, Map.of()),
+                new TnsDescriptor.Address("TCP", "rac2", 1522, Map.of()),
+                new TnsDescriptor.Address("TCPS", "dr1", 2484, Map.of())
+        ), descriptor.addresses());
+
+        assertEquals("sales.example.com", descriptor.serviceName());
+        assertNull(descriptor.sid());
+        assertEquals(Map.of("SERVICE_NAME", "sales.example.com", "SERVER", "DEDICATED",
+                "FAILOVER_MODE.TYPE", "select", "FAILOVER_MODE.METHOD", "basic"), descriptor.connectData());
+    }
+
+    @Test
+    void testWhitespaceAndLowerCaseKeywords() {
+        TnsDescriptor descriptor = TnsDescriptorParser.parse(" ( description = ( address = (protocol = tcp) ( host = db host )"
+                + "\n(port = 1600 ) )\t(connect_data=(sid= orcl )) ) ");
+
+        assertEquals(List.of(new TnsDescriptor.Address("tcp", "db host", 1600, Map.of())), descriptor.addresses());
+        assertEquals("orcl", descriptor.sid());
+    }
+
+    @Test
+    void testHostAndPortArePairedPerAddress() {
+        String url = "jdbc:oracle:thin:@(DESCRIPTION=(ADDRESS_LIST=(ADDRESS=(PROTOCOL=TCP)(HOST=host1))"
+                + "(ADDRESS=(PROTOCOL=TCP)(PORT=1600)(HOST=host2)))(CONNECT_DATA=(SERVICE_NAME=svc)))";
+
+        DbConnectionInfo expected = new DbConnectionInfo(DbType.ORACLE,
+                List.of(new HostInfo("host1", PORT), new HostInfo("host2", 1600)), "svc", Map.of());
+        assertEquals(expected, parser.parse(url));
+    }
+
+    @Test
+    void testAddressesWithoutHostAreSkipped() {
+        String url = "jdbc:oracle:thin:@(DESCRIPTION=(ADDRESS=(PROTOCOL=IPC)(KEY=extproc))"
+                + "(ADDRESS=(PROTOCOL=TCP)(HOST=h)(PORT=1521))(CONNECT_DATA=(SID=orcl)))?a=b";
+
+        DbConnectionInfo expected = new DbConnectionInfo(DbType.ORACLE, List.of(new HostInfo("h", PORT)), "orcl", Map.of("a", "b"));
+        assertEquals(expected, parser.parse(url));
+        assertEquals(Map.of("KEY", "extproc"), parser.parseDescriptor(url).addresses().get(0).parameters());
+    }
+
+    @Test
+    void testServiceNameTakesPrecedenceOverSid() {
+        TnsDescriptor descriptor = TnsDescriptorParser.parse(
+                "(DESCRIPTION=(ADDRESS=(HOST=h))(CONNECT_DATA=(SID=orcl)(SERVICE_NAME=svc)))");
+        String url = "jdbc:oracle:thin:@(DESCRIPTION=(ADDRESS=(HOST=h))(CONNECT_DATA=(SID=orcl)(SERVICE_NAME=svc)))";
+
+        assertEquals("svc", descriptor.serviceName());
+        assertEquals("svc", parser.parse(url).database());
+    }
+
+    @Test
+    void testLargeDescriptor() {
+        StringBuilder sb = new StringBuilder("jdbc:oracle:thin:@(DESCRIPTION=(FAILOVER=on)(ADDRESS_LIST=");
+        List<HostInfo> expectedHosts = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            sb.append("(ADDRESS=(PROTOCOL=TCP)(HOST=node").append(i).append(".example.com)(PORT=").append(1500 + i).append("))");
+            expectedHosts.add(new HostInfo("node" + i + ".example.com", 1500 + i));
+        }
+        sb.append(")(CONNECT_DATA=(SERVICE_NAME=big)))");
+
+        assertEquals(expectedHosts, parser.parse(sb.toString()).hosts());
+    }
+
+    @Test
+    void testMalformedDescriptors() {
+        String prefix = "jdbc:oracle:thin:@";
+        assertThrows(IllegalArgumentException.class, () -> parser.parse(prefix + "(DESCRIPTION=(ADDRESS=(HOST=h)(PORT=abc))(CONNECT_DATA=(SID=x)))"));
+        assertThrows(IllegalArgumentException.class, () -> parser.parse(prefix + "(DESCRIPTION=(ADDRESS=(HOST=h)(PORT=1521))(CONNECT_DATA=(SID=x))"));
+        assertThrows(IllegalArgumentException.class, () -> parser.parse(prefix + "(DESCRIPTION=(ADDRESS=(HOST=h)(PORT=1521)))(CONNECT_DATA=(SID=x)))"));
+        assertThrows(IllegalArgumentException.class, () -> parser.parse(prefix + "(ADDRESS=(HOST=h)(PORT=1521))"));
+        assertThrows(IllegalArgumentException.class, () -> parser.parse(prefix + "(DESCRIPTION=(ADDRESS=(HOST=(h))(CONNECT_DATA=(SID=x)))"));
+        assertThrows(IllegalArgumentException.class, () -> parser.parseDescriptor(prefix + "//host:1521/svc"));
+    }
+
+    @Test
+    void testDeepNestingIsRejected() {
+        String descriptor = "(DESCRIPTION=(X=" + "(A=".repeat(100) + "v" + ")".repeat(100) + "))";
+        assertThrows(IllegalArgumentException.class, () -> TnsDescriptorParser.parse(descriptor));
+    }
+}
@@ -0,0 +1,186 @@
+package org.example.dburlparser.parser.impl.sql;
+
+import org.example.dburlparser.model.DbConnectionInfo;
+import org.example.dburlparser.model.DbType;
+import org.example.dburlparser.model.HostInfo;
+import org.example.dburlparser.model.ParseErrorCode;
+import org.example.dburlparser.parser.ParseResult;
+import org.example.dburlparser.parser.UrlParseException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TnsNamesTest {
+    private static final String SALES = """
+            # Production
+            SALES, SALES.EXAMPLE.COM =
+              (DESCRIPTION =
+                (ADDRESS_LIST =
+                  (ADDRESS = (PROTOCOL = TCP)(HOST = rac1)(PORT = 1521))
+                  (ADDRESS = (PROTOCOL = TCP)(HOST = rac2)(PORT = 1522))
+                )
+                (CONNECT_DATA = (SERVICE_NAME = sales))
+              )
+            """;
+    private static final String HR = """
+            hr = (DESCRIPTION=(ADDRESS=(PROTOCOL=TCP)(HOST=hrdb)(PORT=1521))(CONNECT_DATA=(SID=HR)))
+            """;
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void testIndexesAliasesAndParsesOnFirstLookup() throws IOException {
+        Path file = write(SALES + "\nIFILE = /etc/other.ora\n\n" + HR + "BROKEN = (DESCRIPTION=(ADDRESS=(HOST=x)(PORT=1521)) junk)\n");
+        try (TnsNames names = TnsNames.open(file)) {
+            assertEquals(4, names.size());
+            assertTrue(names.contains("sales.example.com"));
+            assertFalse(names.contains("IFILE"));
+
+            TnsDescriptor sales = names.resolve("sales");
+            assertEquals("sales", sales.serviceName());
+            assertEquals(List.of("rac1", "rac2"), sales.addresses().stream().map(TnsDescriptor.Address::host).toList());
+            assertSame(sales, names.resolve("SALES"));
+            assertSame(sales, names.resolve("Sales.Example.Com"));
+            assertEquals("HR", names.resolve("HR").sid());
+
+            UrlParseException malformed = assertThrows(UrlParseException.class, () -> names.resolve("broken"));
+            assertEquals(ParseErrorCode.MALFORMED_DESCRIPTOR, malformed.getCode());
+            UrlParseException unknown = assertThrows(UrlParseException.class, () -> names.resolve("MISSING"));
+            assertEquals(ParseErrorCode.UNKNOWN_ALIAS, unknown.getCode());
+        }
+    }
+
+    @Test
+    void testRefreshReusesUnchangedEntries() throws IOException {
+        Path file = write(SALES + HR);
+        try (TnsNames names = TnsNames.open(file)) {
+            TnsDescriptor sales = names.resolve("SALES");
+            TnsDescriptor hr = names.resolve("HR");
+            assertFalse(names.refresh());
+
+            // A new entry in front moves both, and HR now points at another host.
+            replace(file, "NEW = (DESCRIPTION=(ADDRESS=(HOST=new)(PORT=1521))(CONNECT_DATA=(SID=N)))\n"
+                    + SALES + HR.replace("hrdb", "hrdb2"));
+            assertTrue(names.refresh());
+            assertEquals(4, names.size());
+            assertSame(sales, names.resolve("SALES"));
+            assertNotSame(hr, names.resolve("HR"));
+            assertEquals("hrdb2", names.resolve("HR").addresses().get(0).host());
+            assertEquals("new", names.resolve("NEW").addresses().get(0).host());
+        }
+    }
+
+    @Test
+    void testRefreshIfDueChecksOncePerInterval() throws IOException {
+        Path file = write(SALES);
+        try (TnsNames names = TnsNames.open(file)) {
+            replace(file, SALES + HR);
+            assertTrue(names.refreshIfDue(TimeUnit.HOURS.toNanos(1)));
+            assertTrue(names.contains("HR"));
+
+            // The next check is an hour away.
+            replace(file, HR);
+            assertFalse(names.refreshIfDue(TimeUnit.HOURS.toNanos(1)));
+            assertTrue(names.contains("SALES"));
+        }
+        try (TnsNames names = TnsNames.open(file)) {
+            replace(file, SALES);
+            assertTrue(names.refreshIfDue(0));
+            assertFalse(names.refreshIfDue(0));
+            assertFalse(names.contains("HR"));
+        }
+    }
+
+    @Test
+    void testOracleUrlParserResolvesAliases() throws IOException {
+        try (TnsNames names = TnsNames.open(write(SALES + HR))) {
+            OracleUrlParser parser = new OracleUrlParser(names);
+
+            DbConnectionInfo expected = new DbConnectionInfo(DbType.ORACLE,
+                    List.of(new HostInfo("rac1", 1521), new HostInfo("rac2", 1522)), "sales",
+                    Map.of("ReadTimeout", "3000"));
+            assertEquals(expected, parser.parse("jdbc:oracle:thin:@sales.example.com?ReadTimeout=3000"));
+            assertEquals("HR", parser.parse("jdbc:oracle:thin:@HR").database());
+            // The other formats are unaffected.
+            assertEquals("orcl", parser.parse("jdbc:oracle:thin:@localhost:1521:orcl").database());
+
+            ParseResult unknown = parser.tryParse("jdbc:oracle:thin:@ORDERS");
+            assertEquals(ParseErrorCode.UNKNOWN_ALIAS, ((ParseResult.Failure) unknown).code());
+            assertEquals(18, ((ParseResult.Failure) unknown).offset());
+            // Without a tnsnames.ora, an alias is still an invalid SID URL.
+            assertThrows(UrlParseException.class, () -> new OracleUrlParser().parse("jdbc:oracle:thin:@SALES"));
+        }
+    }
+
+    @Test
+    void testIndexesThousandsOfEntries() throws IOException {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 5000; i++) {
+            sb.append("DB").append(i).append(" =\n  (DESCRIPTION=(ADDRESS=(PROTOCOL=TCP)(HOST=host").append(i)
+                    .append(")(PORT=1521))\n    (CONNECT_DATA=(SERVICE_NAME=svc").append(i).append(")))\n\n");
+        }
+        try (TnsNames names = TnsNames.open(write(sb.toString()))) {
+            assertEquals(5000, names.size());
+            assertEquals("svc4321", names.resolve("db4321").serviceName());
+            assertEquals("host0", names.resolve("DB0").addresses().get(0).host());
+        }
+    }
+
+    @Test
+    void testWatchPicksUpReplacedFile() throws Exception {
+        Path file = write(HR);
+        try (TnsNames names = TnsNames.watch(file)) {
+            assertFalse(names.contains("SALES"));
+            replace(file, HR + SALES);
+
+            long deadline = System.nanoTime() + 30_000_000_000L;
+            while (!names.contains("SALES") && System.nanoTime() < deadline) {
+                Thread.sleep(20);
+            }
+            assertTrue(names.contains("SALES"));
+            assertEquals("sales", names.resolve("SALES").serviceName());
+        }
+    }
+
+    @Test
+    void testFromTnsAdminReadsThePropertyOnEachCall() throws IOException {
+        String previous = System.getProperty(TnsNames.TNS_ADMIN_PROPERTY);
+        try {
+            System.setProperty(TnsNames.TNS_ADMIN_PROPERTY, dir.toString());
+            assertNull(TnsNames.fromTnsAdmin());
+            write(HR);
+            try (TnsNames names = TnsNames.fromTnsAdmin()) {
+                assertEquals(dir.resolve(TnsNames.FILE_NAME), names.file());
+                assertEquals("HR", names.resolve("hr").sid());
+            }
+        } finally {
+            if (previous == null) {
+                System.clearProperty(TnsNames.TNS_ADMIN_PROPERTY);
+            } else {
+                System.setProperty(TnsNames.TNS_ADMIN_PROPERTY, previous);
+            }
+        }
+    }
+
+    private Path write(String content) throws IOException {
+        return Files.writeString(dir.resolve(TnsNames.FILE_NAME), content);
+    }
+
+    /**
+     * Replaces the file the way deployment tools do: write a new file, then rename it over the old one.
+     */
+    private void replace(Path file, String content) throws IOException {
+        Path next = Files.writeString(dir.resolve(TnsNames.FILE_NAME + ".new"), content);
+        Files.move(next, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+}
@@ -0,0 +1,117 @@
+package org.example.dburlparser.parser.intern;
+
+import org.example.dburlparser.DbUrlParserFactory;
+import org.example.dburlparser.model.DbConnectionInfo;
+import org.example.dburlparser.model.HostInfo;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.ref.Reference;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InternPoolTest {
+    private static final Logger LOGGER = LoggerFactory.getLogger(InternPoolTest.class);
+
+    private static final int RECORDS = 100_000;
+
+    @AfterEach
+    void tearDown() {
+        Interning.setPool(null);
+    }
+
+    @Test
+    void testInternReturnsCanonicalInstance() {
+        InternPool pool = new InternPool();
+        String first = pool.intern("a=useSSL&", 2, 8);
+        String second = pool.intern("?useSSL", 1, 7);
+
+        assertEquals("useSSL", first);
+        assertSame(first, second);
+        assertSame(first, pool.intern(new String("useSSL")));
+        assertNotSame(first, pool.intern("useSSL2"));
+    }
+
+    @Test
+    void testHostsAreCanonicalPerHostAndPort() {
+        InternPool pool = new InternPool();
+        HostInfo host = pool.host("db1:3306", 0, 3, 3306);
+
+        assertEquals(new HostInfo("db1", 3306), host);
+        assertSame(host, pool.host("db1", 3306));
+        assertNotSame(host, pool.host("db1", 3307));
+        assertSame(host.host(), pool.host("db1", 3307).host());
+    }
+
+    @Test
+    void testParsersShareInstancesWhileInterningIsOn() {
+        Interning.setPool(new InternPool());
+        DbConnectionInfo first = DbUrlParserFactory.parse("jdbc:mysql://db1:3306/inventory?useSSL=true");
+        DbConnectionInfo second = DbUrlParserFactory.parse("jdbc:mysql://db1:3306/inventory?useSSL=false");
+
+        assertSame(first.hosts().get(0), second.hosts().get(0));
+        assertSame(first.database(), second.database());
+        assertSame(key(first.properties()), key(second.properties()));
+        assertEquals("false", second.properties().get("useSSL"));
+    }
+
+    @Test
+    void testEntriesAreDroppedOnceUnreferenced() throws InterruptedException {
+        InternPool pool = new InternPool();
+        for (int i = 0; i < 1000; i++) {
+            pool.host("host" + i, 3306);
+        }
+        assertEquals(2000, pool.size());
+
+        for (int attempt = 0; attempt < 50 && pool.size() > 0; attempt++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+        assertEquals(0, pool.size());
+    }
+
+    @Test
+    void testInterningShrinksRecordInventory() {
+        long plain = retainedBytes(this::inventory);
+        Interning.setPool(new InternPool());
+        long interned = retainedBytes(this::inventory);
+
+        LOGGER.info("Retained heap for {} records: {} bytes plain, {} bytes interned", RECORDS, plain, interned);
+        assertTrue(interned < plain * 0.7, "interned " + interned + " vs plain " + plain);
+    }
+
+    private DbConnectionInfo[] inventory() {
+        DbConnectionInfo[] records = new DbConnectionInfo[RECORDS];
+        for (int i = 0; i < RECORDS; i++) {
+            int host = i % 64;
+            records[i] = DbUrlParserFactory.parse(i % 2 == 0
+                    ? "jdbc:mysql://db-" + host + ".example.com:3306/inventory?useSSL=true&serverTimezone=UTC"
+                    : "jdbc:cassandra://node-" + host + ".example.com:9042/metrics?consistency=QUORUM");
+        }
+        return records;
+    }
+
+    private static long retainedBytes(Supplier<Object> build) {
+        long before = usedAfterGc();
+        Object records = build.get();
+        long after = usedAfterGc();
+        Reference.reachabilityFence(records);
+        return after - before;
+    }
+
+    private static long usedAfterGc() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    private static String key(Map<String, String> properties) {
+        return properties.keySet().iterator().next();
+    }
+}
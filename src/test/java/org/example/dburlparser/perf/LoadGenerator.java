@@ -0,0 +1,111 @@
+package org.example.dburlparser.perf;
+
+import org.example.dburlparser.server.ParseServer;
+
+import java.io.BufferedInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Closed-loop HTTP/1.1 load generator for {@link ParseServer}: each connection is a keep-alive socket on its
+ * own virtual thread sending {@code GET /parse} requests back to back, cycling through the given URLs.
+ * Responses are read with a minimal parser that only understands {@code Content-Length} bodies.
+ */
+final class LoadGenerator {
+
+    private LoadGenerator() {
+    }
+
+    static Result run(InetSocketAddress address, List<String> urls, int connections, Duration duration)
+            throws Exception {
+        List<byte[]> requests = new ArrayList<>(urls.size());
+        for (String url : urls) {
+            requests.add(("GET /parse?url=" + URLEncoder.encode(url, StandardCharsets.UTF_8) + " HTTP/1.1\r\n"
+                    + "Host: localhost\r\n\r\n").getBytes(StandardCharsets.US_ASCII));
+        }
+        LongAdder ok = new LongAdder();
+        LongAdder rejected = new LongAdder();
+        long start = System.nanoTime();
+        long deadline = start + duration.toNanos();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<?>> clients = new ArrayList<>(connections);
+            for (int c = 0; c < connections; c++) {
+                int offset = c;
+                clients.add(executor.submit(() -> {
+                    try (Socket socket = new Socket(address.getAddress(), address.getPort())) {
+                        socket.setTcpNoDelay(true);
+                        OutputStream out = socket.getOutputStream();
+                        InputStream in = new BufferedInputStream(socket.getInputStream(), 1 << 14);
+                        for (int i = offset; System.nanoTime() < deadline; i++) {
+                            out.write(requests.get(i % requests.size()));
+                            out.flush();
+                            (readResponse(in) == 200 ? ok : rejected).increment();
+                        }
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> client : clients) {
+                client.get();
+            }
+        }
+        return new Result(ok.sum(), rejected.sum(), System.nanoTime() - start);
+    }
+
+    /**
+     * Reads one response and returns its status code.
+     */
+    private static int readResponse(InputStream in) throws IOException {
+        String statusLine = readLine(in);
+        int status = Integer.parseInt(statusLine.substring(9, 12));
+        int contentLength = 0;
+        String header;
+        while (!(header = readLine(in)).isEmpty()) {
+            if (header.regionMatches(true, 0, "Content-Length:", 0, 15)) {
+                contentLength = Integer.parseInt(header.substring(15).strip());
+            }
+        }
+        in.skipNBytes(contentLength);
+        return status;
+    }
+
+    private static String readLine(InputStream in) throws IOException {
+        StringBuilder sb = new StringBuilder(64);
+        int b;
+        while ((b = in.read()) != '\n') {
+            if (b < 0) {
+                throw new EOFException();
+            }
+            if (b != '\r') {
+                sb.append((char) b);
+            }
+        }
+        return sb.toString();
+    }
+
+    record Result(long ok, long rejected, long elapsedNanos) {
+
+        double requestsPerSecond() {
+            return (ok + rejected) / (elapsedNanos / 1_000_000_000.0);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d requests (%d rejected) in %.2f s: %.0f requests/s",
+                    ok + rejected, rejected, elapsedNanos / 1_000_000_000.0, requestsPerSecond());
+        }
+    }
+}
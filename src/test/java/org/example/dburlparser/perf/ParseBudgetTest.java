@@ -0,0 +1,200 @@
+package org.example.dburlparser.perf;
+
+import org.example.dburlparser.DbUrlParserFactory;
+import org.example.dburlparser.model.DbConnectionInfo;
+import org.example.dburlparser.parser.DbUrlParser;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.function.ToLongFunction;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeFalse;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Guards the parsers' steady-state cost against the budgets checked in under {@code src/test/resources/perf}:
+ * bytes allocated per {@code parse()} call, from {@link com.sun.management.ThreadMXBean}, and ns per call.
+ * All cases are warmed up until compiled and then measured in several interleaved rounds, keeping each
+ * case's best round so that a GC or a noisy neighbour in one round does not count against the parser.
+ * <p>
+ * A measurement fails when it exceeds its budget by more than the margin, a fraction set with
+ * {@code -Dperf.allocation.margin} (default 0.10) and {@code -Dperf.latency.margin} (default 1.0). Allocation
+ * is deterministic for a given JDK and is checked on every build; timings depend on the machine they were
+ * recorded on, so the latency budget is only checked under {@code mvn -Pperf test}. After an intended change,
+ * regenerate both files with {@code mvn test -Dtest=ParseBudgetTest -Dperf.budget.update=true} and commit them
+ * with the change.
+ */
+class ParseBudgetTest {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ParseBudgetTest.class);
+
+    private static final Path BUDGET_DIR = Path.of("src", "test", "resources", "perf");
+    private static final String ALLOCATION_BUDGET = "allocation-budget.properties";
+    private static final String LATENCY_BUDGET = "latency-budget.properties";
+
+    private static final int WARMUP_ITERATIONS = 200_000;
+    private static final int ROUNDS = 20;
+    private static final int ITERATIONS = 10_000;
+
+    private static final boolean UPDATE = Boolean.getBoolean("perf.budget.update");
+    private static final boolean LATENCY = Boolean.getBoolean("perf.latency");
+
+    private static final Map<String, Measurement> MEASUREMENTS = new LinkedHashMap<>();
+    private static final DbConnectionInfo[] SINK = new DbConnectionInfo[64];
+
+    @BeforeAll
+    static void measure() throws IOException {
+        Map<String, String> cases = new LinkedHashMap<>();
+        cases.put("mysql.1host", "jdbc:mysql://db1.example.com:3306/inventory");
+        cases.put("mysql.8hosts.10params", "jdbc:mysql://" + hosts("db", 8, ":3306") + "/inventory?" + params('&'));
+        cases.put("cassandra.1host", "jdbc:cassandra://node1.example.com/keyspace1");
+        cases.put("cassandra.8hosts.10params",
+                "jdbc:cassandra://app:secret@" + hosts("node", 8, ":9043") + "/keyspace1?" + params('&'));
+        cases.put("oracle.sid", "jdbc:oracle:thin:@db.example.com:1521:ORCL");
+        cases.put("oracle.service.10params", "jdbc:oracle:thin:@//db.example.com:1521/orders?" + params('&'));
+        cases.put("oracle.tns.2hosts", "jdbc:oracle:thin:@(DESCRIPTION=(ADDRESS_LIST="
+                + "(ADDRESS=(PROTOCOL=TCP)(HOST=host1)(PORT=1521))(ADDRESS=(PROTOCOL=TCP)(HOST=host2)(PORT=1522)))"
+                + "(CONNECT_DATA=(SERVICE_NAME=orders)))");
+        cases.put("postgresql.8hosts.10params",
+                "jdbc:postgresql://" + hosts("pg", 8, ":5432") + "/orders?" + params('&'));
+        cases.put("sqlserver.10params", "jdbc:sqlserver://sql1.example.com:1433;databaseName=sales;" + params(';'));
+        cases.put("mongodb.8hosts.10params",
+                "mongodb://app:secret@" + hosts("mongo", 8, ":27017") + "/catalog?" + params('&'));
+
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        threads.setThreadAllocatedMemoryEnabled(true);
+        List<String> names = List.copyOf(cases.keySet());
+        List<DbUrlParser> parsers = cases.values().stream().map(DbUrlParserFactory::getParser).toList();
+        List<String> urls = List.copyOf(cases.values());
+        // Every shape is warmed up before any is measured, so that code compiled for one case is not
+        // recompiled for the next while it is being measured.
+        for (int c = 0; c < names.size(); c++) {
+            run(parsers.get(c), urls.get(c), WARMUP_ITERATIONS);
+        }
+        long[] bytes = new long[names.size()];
+        long[] nanos = new long[names.size()];
+        Arrays.fill(bytes, Long.MAX_VALUE);
+        Arrays.fill(nanos, Long.MAX_VALUE);
+        for (int round = 0; round < ROUNDS; round++) {
+            for (int c = 0; c < names.size(); c++) {
+                long allocatedBefore = threads.getCurrentThreadAllocatedBytes();
+                long start = System.nanoTime();
+                run(parsers.get(c), urls.get(c), ITERATIONS);
+                long elapsed = System.nanoTime() - start;
+                long allocated = threads.getCurrentThreadAllocatedBytes() - allocatedBefore;
+                bytes[c] = Math.min(bytes[c], Math.round((double) allocated / ITERATIONS));
+                nanos[c] = Math.min(nanos[c], Math.round((double) elapsed / ITERATIONS));
+            }
+        }
+        for (int c = 0; c < names.size(); c++) {
+            MEASUREMENTS.put(names.get(c), new Measurement(bytes[c], nanos[c]));
+        }
+
+        StringBuilder table = new StringBuilder(String.format("%-28s %10s %10s", "parse()", "B/op", "ns/op"));
+        MEASUREMENTS.forEach((name, m) -> table.append(String.format("%n%-28s %10d %10d", name, m.bytes(), m.nanos())));
+        LOGGER.info("Steady-state parse cost:\n{}", table);
+
+        if (UPDATE) {
+            write(ALLOCATION_BUDGET, "Bytes allocated per parse() call", Measurement::bytes);
+            write(LATENCY_BUDGET, "Steady-state ns per parse() call", Measurement::nanos);
+        }
+    }
+
+    @Test
+    void testAllocationWithinBudget() {
+        assertWithinBudget(ALLOCATION_BUDGET, "B/op", Measurement::bytes, margin("perf.allocation.margin", 0.10));
+    }
+
+    @Test
+    void testLatencyWithinBudget() {
+        assumeTrue(LATENCY, "Latency budgets are only checked with -Pperf");
+        assertWithinBudget(LATENCY_BUDGET, "ns/op", Measurement::nanos, margin("perf.latency.margin", 1.0));
+    }
+
+    private static void run(DbUrlParser parser, String url, int iterations) {
+        for (int i = 0; i < iterations; i++) {
+            SINK[i & (SINK.length - 1)] = parser.parse(url);
+        }
+    }
+
+    private static void assertWithinBudget(String file, String unit, ToLongFunction<Measurement> metric,
+                                           double margin) {
+        assumeFalse(UPDATE, "Budgets are being rewritten");
+        Properties budget = load(file);
+        List<String> violations = new ArrayList<>();
+        MEASUREMENTS.forEach((name, measurement) -> {
+            String limit = budget.getProperty(name);
+            long measured = metric.applyAsLong(measurement);
+            if (limit == null) {
+                violations.add(name + ": no budget (measured " + measured + " " + unit + ")");
+            } else if (measured > Long.parseLong(limit.strip()) * (1 + margin)) {
+                violations.add(String.format("%s: %d %s exceeds budget %s %s by more than %.0f%%",
+                        name, measured, unit, limit.strip(), unit, margin * 100));
+            }
+        });
+        assertTrue(violations.isEmpty(), () -> String.join("\n", violations)
+                + "\nIf the change is intended, rerun with -Dperf.budget.update=true and commit " + file);
+    }
+
+    private static double margin(String property, double defaultMargin) {
+        String value = System.getProperty(property);
+        return value == null || value.isBlank() ? defaultMargin : Double.parseDouble(value);
+    }
+
+    private static Properties load(String file) {
+        Properties budget = new Properties();
+        try (InputStream in = ParseBudgetTest.class.getResourceAsStream("/perf/" + file)) {
+            assertNotNull(in, "Missing budget file " + BUDGET_DIR.resolve(file));
+            budget.load(in);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return budget;
+    }
+
+    private static void write(String file, String description, ToLongFunction<Measurement> metric)
+            throws IOException {
+        StringBuilder sb = new StringBuilder("# ").append(description)
+                .append(", written by ParseBudgetTest with -Dperf.budget.update=true\n");
+        MEASUREMENTS.forEach((name, m) -> sb.append(name).append('=').append(metric.applyAsLong(m)).append('\n'));
+        Files.createDirectories(BUDGET_DIR);
+        Files.writeString(BUDGET_DIR.resolve(file), sb);
+        LOGGER.info("Updated {}", BUDGET_DIR.resolve(file));
+    }
+
+    private static String hosts(String prefix, int count, String port) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 1; i <= count; i++) {
+            if (i > 1) {
+                sb.append(',');
+            }
+            sb.append(prefix).append(i).append(".example.com").append(port);
+        }
+        return sb.toString();
+    }
+
+    private static String params(char separator) {
+        StringBuilder sb = new StringBuilder("useSSL=true");
+        for (int i = 1; i < 10; i++) {
+            sb.append(separator).append("option").append(i).append("=value").append(i);
+        }
+        return sb.toString();
+    }
+
+    private record Measurement(long bytes, long nanos) {
+    }
+}
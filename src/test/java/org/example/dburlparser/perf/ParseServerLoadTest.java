@@ -0,0 +1,44 @@
+package org.example.dburlparser.perf;
+
+import org.example.dburlparser.server.ParseServer;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Drives {@link ParseServer} on localhost with {@link LoadGenerator} and checks that no request is rejected and
+ * that throughput stays above a floor. Like the latency budget of {@link ParseBudgetTest} it depends on the
+ * machine, so it only runs under {@code mvn -Pperf test}.
+ */
+class ParseServerLoadTest {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ParseServerLoadTest.class);
+
+    @Test
+    void testSustainedLoad() throws Exception {
+        assumeTrue(Boolean.getBoolean("perf.latency"), "Load is only measured with -Pperf");
+        List<String> urls = List.of(
+                "jdbc:mysql://db1.example.com:3306,db2.example.com:3307/mydb?useSSL=true&serverTimezone=UTC",
+                "jdbc:cassandra://node1.example.com,node2.example.com:9043/keyspace1?consistency=QUORUM",
+                "jdbc:oracle:thin:@db.example.com:1521:ORCL",
+                "jdbc:postgresql://pg1,pg2/orders?sslmode=require");
+
+        // As Main --serve does; without it the test measures delayed ACKs.
+        System.getProperties().putIfAbsent("sun.net.httpserver.nodelay", "true");
+        try (ParseServer server = ParseServer.start(new InetSocketAddress("127.0.0.1", 0))) {
+            LoadGenerator.run(server.address(), urls, 8, Duration.ofMillis(500));
+            LoadGenerator.Result result = LoadGenerator.run(server.address(), urls, 32, Duration.ofSeconds(2));
+            LOGGER.info("ParseServer load: {}", result);
+
+            assertEquals(0, result.rejected());
+            // A deliberately low floor: the test has to pass on a loaded single-core machine.
+            assertTrue(result.requestsPerSecond() > 1_000, result.toString());
+        }
+    }
+}
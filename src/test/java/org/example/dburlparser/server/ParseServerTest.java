@@ -0,0 +1,112 @@
+package org.example.dburlparser.server;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ParseServerTest {
+    private static ParseServer server;
+    private static HttpClient client;
+
+    @BeforeAll
+    static void start() throws IOException {
+        server = ParseServer.start(new InetSocketAddress("127.0.0.1", 0));
+        client = HttpClient.newHttpClient();
+    }
+
+    @AfterAll
+    static void stop() {
+        client.close();
+        server.close();
+    }
+
+    @Test
+    void testParseEndpoint() throws Exception {
+        HttpResponse<String> ok = get("/parse?url="
+                + URLEncoder.encode("jdbc:mysql://db1:3307/app?useSSL=true", StandardCharsets.UTF_8));
+        HttpResponse<String> posted = send(HttpRequest.newBuilder(uri("/parse"))
+                .POST(HttpRequest.BodyPublishers.ofString("jdbc:cassandra://node1/ks\n")));
+
+        assertEquals(200, ok.statusCode());
+        assertEquals("application/json", ok.headers().firstValue("Content-Type").orElse(null));
+        assertEquals("{\"type\":\"MYSQL\",\"hosts\":[{\"host\":\"db1\",\"port\":3307}],\"database\":\"app\","
+                + "\"properties\":{\"useSSL\":\"true\"}}\n", ok.body());
+        assertEquals(200, posted.statusCode());
+        assertTrue(posted.body().startsWith("{\"type\":\"CASSANDRA\",\"hosts\":[{\"host\":\"node1\",\"port\":9042}]"));
+    }
+
+    @Test
+    void testParseEndpointErrors() throws Exception {
+        HttpResponse<String> invalid = get("/parse?url=" + URLEncoder.encode("jdbc:mysql://db1", StandardCharsets.UTF_8));
+        HttpResponse<String> missing = get("/parse");
+        HttpResponse<String> wrongMethod = send(HttpRequest.newBuilder(uri("/parse"))
+                .DELETE());
+
+        assertEquals(400, invalid.statusCode());
+        assertEquals("{\"error\":\"Invalid MySQL URL: Missing database name\",\"code\":\"MISSING_DATABASE\","
+                + "\"offset\":16}\n", invalid.body());
+        assertEquals(400, missing.statusCode());
+        assertEquals(405, wrongMethod.statusCode());
+
+        HttpResponse<String> tooLarge = send(HttpRequest.newBuilder(uri("/parse"))
+                .POST(HttpRequest.BodyPublishers.ofString("jdbc:mysql://db1/" + "x".repeat(ParseServer.MAX_URL_BODY))));
+        assertEquals(413, tooLarge.statusCode());
+    }
+
+    @Test
+    void testBatchEndpointStreamsNdjson() throws Exception {
+        String body = """
+                "jdbc:mysql://db1/app"
+
+                jdbc:cassandra://node1:9043/ks
+                "jdbc:mysql://db1"
+                "jdbc:mysql://db1/a\\u0062c?x=\\"y\\""
+                "unterminated
+                """;
+        HttpResponse<String> response = send(HttpRequest.newBuilder(uri("/batch"))
+                .POST(HttpRequest.BodyPublishers.ofString(body)));
+
+        List<String> records = response.body().lines().toList();
+        assertEquals(200, response.statusCode());
+        assertEquals("application/x-ndjson", response.headers().firstValue("Content-Type").orElse(null));
+        assertEquals(5, records.size());
+        assertTrue(records.get(0).startsWith("{\"url\":\"jdbc:mysql://db1/app\",\"type\":\"MYSQL\""));
+        assertTrue(records.get(1).contains("\"port\":9043"));
+        assertEquals("{\"url\":\"jdbc:mysql://db1\",\"error\":\"Invalid MySQL URL: Missing database name\"}",
+                records.get(2));
+        assertTrue(records.get(3).contains("\"database\":\"abc\",\"properties\":{\"x\":\"\\\"y\\\"\"}"));
+        assertEquals("{\"url\":\"\\\"unterminated\",\"error\":\"Malformed NDJSON line\"}", records.get(4));
+    }
+
+    @Test
+    void testQueryParameter() {
+        assertEquals("jdbc:mysql://h/db?a=1&b=2",
+                ParseServer.queryParameter("x=1&url=jdbc%3Amysql%3A%2F%2Fh%2Fdb%3Fa%3D1%26b%3D2", "url"));
+        assertNull(ParseServer.queryParameter("urls=1&xurl=2", "url"));
+        assertNull(ParseServer.queryParameter(null, "url"));
+    }
+
+    private static HttpResponse<String> get(String path) throws Exception {
+        return send(HttpRequest.newBuilder(uri(path)).GET());
+    }
+
+    private static HttpResponse<String> send(HttpRequest.Builder request) throws Exception {
+        return client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static URI uri(String path) {
+        return URI.create("http://127.0.0.1:" + server.port() + path);
+    }
+}